@@ -0,0 +1,63 @@
+package com.example.dogmeeting.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatMessageDto JSON 직렬화/역직렬화 (STOMP 메시지 본문)
+ * ObjectMapper는 Spring Boot 기본 설정(날짜는 ISO-8601 문자열)과 같게 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatMessageDtoBenchmark {
+
+    @Param({"20", "500"})
+    public int contentLength;
+
+    private ObjectMapper objectMapper;
+    private ChatMessageDto message;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        message = ChatMessageDto.builder()
+                .messageId(8_123_456_789L)
+                .chatroomId(4_321L)
+                .senderId(1_234L)
+                .content("안녕하세요! 산책 같이 가요 ".repeat(contentLength / 15 + 1).substring(0, contentLength))
+                .type(MessageType.CHAT)
+                .timestamp(LocalDateTime.of(2025, 1, 1, 12, 30, 15, 123_000_000))
+                .senderNickname("멍멍이주인")
+                .isRead(false)
+                .build();
+        json = objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public ChatMessageDto deserialize() throws IOException {
+        return objectMapper.readValue(json, ChatMessageDto.class);
+    }
+}
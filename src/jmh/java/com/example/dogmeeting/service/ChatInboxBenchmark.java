@@ -0,0 +1,115 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.ChatInboxResponse;
+import com.example.dogmeeting.repository.ChatMessageRepository;
+import com.example.dogmeeting.repository.ChatReadWatermarkRepository;
+import com.example.dogmeeting.repository.ChatRoomRepository;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatServiceImpl 채팅 목록 조립
+ * 채팅방 수를 늘려 가며 목록 행 변환과 안 읽은 수 계산(적재된 상태, 처음 적재하는 상태)을 측정한다.
+ * 쿼리는 채팅방 수와 관계없이 목록 1회 + 적재 2회로 고정되며(ChatInboxQueryCountTest), DB 왕복 시간은 포함하지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatInboxBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final int UNREAD_PER_ROOM = 3;
+
+    @Param({"10", "100", "1000"})
+    public int roomCount;
+
+    private Path journalDir;
+    private ChatMessageJournal journal;
+    private ChatMessageRepository chatMessageRepository;
+    private ChatMessageWriteBehindService writeBehindService;
+    private ChatServiceImpl chatService;
+    private List<Long> chatroomIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> inboxRows = new ArrayList<>(roomCount);
+        List<Object[]> watermarkRows = new ArrayList<>(roomCount);
+        List<Object[]> unreadRows = new ArrayList<>(roomCount * UNREAD_PER_ROOM);
+        chatroomIds = new ArrayList<>(roomCount);
+        for (int i = 1; i <= roomCount; i++) {
+            long chatroomId = i;
+            long partnerId = 1000L + i;
+            long lastMessageId = chatroomId * 100 + UNREAD_PER_ROOM;
+            chatroomIds.add(chatroomId);
+            inboxRows.add(new Object[]{chatroomId, chatroomId, USER_ID, "나", partnerId, "상대" + i,
+                    lastMessageId, partnerId, "마지막 메시지 " + i, now.minusMinutes(i), now.minusDays(1)});
+            watermarkRows.add(new Object[]{chatroomId, chatroomId * 100});
+            for (int m = 1; m <= UNREAD_PER_ROOM; m++) {
+                unreadRows.add(new Object[]{chatroomId, chatroomId * 100 + m});
+            }
+        }
+
+        ChatRoomRepository chatRoomRepository = RepositoryFakes.fake(ChatRoomRepository.class, Map.of(
+                "findInboxRows", args -> inboxRows));
+        chatMessageRepository = RepositoryFakes.fake(ChatMessageRepository.class, Map.of(
+                "findReadWatermarks", args -> watermarkRows,
+                "findUnreadMessageIds", args -> unreadRows));
+
+        // 저널은 적재 경로에서 대기 메시지 조회에만 쓰이며 플러시 스레드는 시작하지 않는다
+        journalDir = Files.createTempDirectory("chat-inbox-benchmark");
+        journal = new ChatMessageJournal(new ObjectMapper(), journalDir.toString(), 16 * 1024 * 1024, false);
+        writeBehindService = new ChatMessageWriteBehindService(journal, null, null, 500, 200, 1000);
+
+        ChatUnreadService chatUnreadService = newUnreadService();
+        chatService = new ChatServiceImpl(chatRoomRepository, chatMessageRepository,
+                RepositoryFakes.fake(MatchRepository.class, Map.of()),
+                RepositoryFakes.fake(UserRepository.class, Map.of()),
+                null, null, writeBehindService, chatUnreadService, null);
+        // 안 읽은 수를 미리 적재해 둔 상태에서 측정
+        chatService.getChatInbox(USER_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        FileSystemUtils.deleteRecursively(journalDir);
+    }
+
+    @Benchmark
+    public List<ChatInboxResponse> inboxWithLoadedUnreadCounts() {
+        return chatService.getChatInbox(USER_ID);
+    }
+
+    @Benchmark
+    public Map<Long, Integer> unreadCountsColdLoad() {
+        return newUnreadService().getUnreadCounts(USER_ID, chatroomIds);
+    }
+
+    private ChatUnreadService newUnreadService() {
+        return new ChatUnreadService(RepositoryFakes.fake(ChatReadWatermarkRepository.class, Map.of()),
+                chatMessageRepository, writeBehindService, 100_000, Duration.ofMinutes(30), 1000);
+    }
+}
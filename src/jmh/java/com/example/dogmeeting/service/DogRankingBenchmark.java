@@ -0,0 +1,138 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.DogRankingResponse;
+import com.example.dogmeeting.entity.Dog;
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.repository.DogRepository;
+import com.example.dogmeeting.repository.SwipeRepository;
+import com.example.dogmeeting.repository.UserLikeCountRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DogServiceImpl 랭킹 응답 조립
+ * 랭킹 인덱스 조회, 대표 강아지 조회(인메모리 리포지토리), Presigned URL(캐시 적중) 설정, DTO 변환까지 측정한다.
+ * DB 왕복 시간은 포함하지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DogRankingBenchmark {
+
+    private static final String[] CITIES = {"서울특별시", "부산광역시", "대구광역시", "인천광역시", "경기도"};
+
+    @Param({"10000"})
+    public int userCount;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private S3Presigner presigner;
+    private DogServiceImpl dogService;
+    private int deepPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<Long, Dog> mainDogs = new HashMap<>();
+        List<Object[]> likeCounts = new ArrayList<>();
+        for (int i = 1; i <= userCount; i++) {
+            long userId = i;
+            String city = CITIES[i % CITIES.length];
+            User user = User.builder()
+                    .id(userId)
+                    .userId("user" + i)
+                    .nickname("닉네임" + i)
+                    .gender(i % 2 == 0 ? "MALE" : "FEMALE")
+                    .city(city)
+                    .district("중구")
+                    .build();
+            String photoKey = BenchmarkFixtures.dogImageKey(i);
+            // 3마리 중 1마리는 변형 도입 이전 사진(원본만 있음)
+            boolean hasVariants = i % 3 != 0;
+            mainDogs.put(userId, Dog.builder()
+                    .id(userId * 10)
+                    .user(user)
+                    .name("강아지" + i)
+                    .breed("진돗개")
+                    .age(1 + i % 15)
+                    .gender("MALE")
+                    .description("산책을 좋아해요")
+                    .photoUrl(photoKey)
+                    .photoMediumUrl(hasVariants ? photoKey.replace(".jpg", "_medium.jpg") : null)
+                    .photoThumbnailUrl(hasVariants ? photoKey.replace(".jpg", "_thumb.jpg") : null)
+                    .build());
+            likeCounts.add(new Object[]{userId, city, (long) (1 + (i * 7919L) % 5000)});
+        }
+
+        DogRepository dogRepository = RepositoryFakes.fake(DogRepository.class, Map.of(
+                "findMainDogsWithOwnerByUserIds", args -> {
+                    @SuppressWarnings("unchecked")
+                    Collection<Long> userIds = (Collection<Long>) args[0];
+                    List<Dog> dogs = new ArrayList<>(userIds.size());
+                    for (Long userId : userIds) {
+                        Dog dog = mainDogs.get(userId);
+                        if (dog != null) {
+                            dogs.add(dog);
+                        }
+                    }
+                    return dogs;
+                }));
+        UserLikeCountRepository userLikeCountRepository = RepositoryFakes.fake(UserLikeCountRepository.class, Map.of(
+                "count", args -> (long) likeCounts.size(),
+                "findAllPositiveWithCity", args -> likeCounts));
+        SwipeRepository swipeRepository = RepositoryFakes.fake(SwipeRepository.class, Map.of());
+        UserRepository userRepository = RepositoryFakes.fake(UserRepository.class, Map.of());
+
+        LikeRankingService likeRankingService = new LikeRankingService(userLikeCountRepository, swipeRepository, event -> { });
+        likeRankingService.loadOnStartup();
+
+        presigner = BenchmarkFixtures.presigner();
+        S3FileUploadService fileUploadService = BenchmarkFixtures.fileUploadService(presigner,
+                new PresignedUrlCache(userCount * 3L, 0.5));
+        dogService = new DogServiceImpl(dogRepository, userRepository, userLikeCountRepository, fileUploadService,
+                likeRankingService, event -> { }, null, null, null);
+
+        deepPage = userCount / pageSize / 2;
+        // 운영 환경처럼 Presigned URL 캐시가 채워진 상태에서 측정
+        for (int page = 0; page * pageSize < userCount; page++) {
+            dogService.getAllDogsRanking(page, pageSize);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        presigner.close();
+    }
+
+    @Benchmark
+    public List<DogRankingResponse> allDogsRankingFirstPage() {
+        return dogService.getAllDogsRanking(0, pageSize);
+    }
+
+    @Benchmark
+    public List<DogRankingResponse> allDogsRankingDeepPage() {
+        return dogService.getAllDogsRanking(deepPage, pageSize);
+    }
+
+    @Benchmark
+    public List<DogRankingResponse> topDogsInRegion() {
+        return dogService.getTopDogsInRegion(CITIES[0], pageSize);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.dogmeeting.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 이미지 형식/크기 판별 (S3FileUploadService.prepareImage 검증 단계)
+ * ImageHeaderSniffer의 헤더 파싱을 ImageIO 리더로 크기만 읽는 방식, 전체 디코딩과 비교한다.
+ * JPEG는 휴대폰 사진처럼 SOF 앞에 64KB EXIF 세그먼트를 둔다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ImageHeaderSnifferBenchmark {
+
+    private static final int EXIF_BYTES = 64 * 1024;
+
+    @Param({"jpg", "png"})
+    public String format;
+
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BufferedImage image = new BufferedImage(2000, 1500, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, 2000, 1500, Color.DARK_GRAY));
+        graphics.fillRect(0, 0, 2000, 1500);
+        graphics.dispose();
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(image, format, encoded);
+        content = format.equals("jpg") ? withExifSegment(encoded.toByteArray()) : encoded.toByteArray();
+    }
+
+    @Benchmark
+    public ImageHeaderSniffer.ImageInfo sniffHeader() throws IOException {
+        return ImageHeaderSniffer.sniff(content);
+    }
+
+    @Benchmark
+    public long imageIoReaderSize() throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return (long) reader.getWidth(0) * reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    @Benchmark
+    public BufferedImage imageIoDecode() throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(content));
+    }
+
+    // SOI 뒤에 내용 없는 APP1(Exif) 세그먼트를 넣는다
+    private static byte[] withExifSegment(byte[] jpeg) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(jpeg.length + EXIF_BYTES);
+        out.write(jpeg, 0, 2);
+        int length = EXIF_BYTES - 2;
+        out.write(0xFF);
+        out.write(0xE1);
+        out.write(length >> 8);
+        out.write(length);
+        out.writeBytes(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        out.writeBytes(new byte[length - 2 - 6]);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+}
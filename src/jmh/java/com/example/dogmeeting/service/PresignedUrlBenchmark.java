@@ -0,0 +1,72 @@
+package com.example.dogmeeting.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * S3FileUploadService.generatePresignedGetUrl
+ * cacheHit: 캐시에 있는 키를 돌아가며 조회, cacheMiss: 캐시를 비운 뒤 조회 (서명 + 캐시 저장)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PresignedUrlBenchmark {
+
+    private static final Duration DURATION = Duration.ofHours(1);
+
+    @Param({"1024"})
+    public int keyCount;
+
+    private S3Presigner presigner;
+    private PresignedUrlCache cache;
+    private S3FileUploadService fileUploadService;
+    private String[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        presigner = BenchmarkFixtures.presigner();
+        cache = new PresignedUrlCache(keyCount * 2L, 0.5);
+        fileUploadService = BenchmarkFixtures.fileUploadService(presigner, cache);
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = BenchmarkFixtures.dogImageKey(i);
+            fileUploadService.generatePresignedGetUrl(keys[i], DURATION);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        presigner.close();
+    }
+
+    @Benchmark
+    public String cacheHit() {
+        return fileUploadService.generatePresignedGetUrl(nextKey(), DURATION);
+    }
+
+    @Benchmark
+    public String cacheMiss() {
+        String key = nextKey();
+        cache.invalidate(key);
+        return fileUploadService.generatePresignedGetUrl(key, DURATION);
+    }
+
+    private String nextKey() {
+        String key = keys[next];
+        next = next + 1 == keys.length ? 0 : next + 1;
+        return key;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.dogmeeting.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * RegionService 조회 (회원 가입/정보 수정 시 지역 검증, 지역 API)
+ * 카탈로그의 모든 시/도, 구/군 조합을 돌아가며 조회한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegionServiceBenchmark {
+
+    private RegionService regionService;
+    private String[][] regions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        regionService = new RegionService(Jackson2ObjectMapperBuilder.json().build());
+        regionService.loadCatalogue();
+
+        // 요청 본문에서 역직렬화된 문자열처럼 카탈로그와 다른 인스턴스로 조회한다
+        regions = regionService.getAllRegions().stream()
+                .flatMap(region -> region.districts().isEmpty()
+                        ? Stream.<String[]>of(new String[]{new String(region.city()), null})
+                        : region.districts().stream()
+                                .map(district -> new String[]{new String(region.city()), new String(district)}))
+                .toArray(String[][]::new);
+    }
+
+    @Benchmark
+    public RegionService.RegionCode resolve() {
+        String[] region = nextRegion();
+        return regionService.resolve(region[0], region[1]);
+    }
+
+    @Benchmark
+    public Optional<RegionService.RegionCode> findUnknownDistrict() {
+        return regionService.find(nextRegion()[0], "없는구");
+    }
+
+    @Benchmark
+    public List<String> districtsByCity() {
+        return regionService.getDistrictsByCity(nextRegion()[0]);
+    }
+
+    @Benchmark
+    public RegionService.CachedJson districtsJson() {
+        return regionService.getDistrictsJson(nextRegion()[0]);
+    }
+
+    @Benchmark
+    public String fullAddress() {
+        String[] region = nextRegion();
+        return regionService.getFullAddress(region[0], region[1]);
+    }
+
+    private String[] nextRegion() {
+        String[] region = regions[next];
+        next = next + 1 == regions.length ? 0 : next + 1;
+        return region;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.dogmeeting.service;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 벤치마크용 인메모리 리포지토리
+ * Spring Data 리포지토리 인터페이스를 동적 프록시로 구현하며, 벤치마크 대상 경로가 호출하는 메서드만
+ * 이름으로 등록해 응답한다. 등록하지 않은 메서드가 호출되면 측정 경로가 바뀐 것이므로 바로 실패한다.
+ */
+final class RepositoryFakes {
+
+    private RepositoryFakes() {
+    }
+
+    static <T> T fake(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (self, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> self == args[0];
+                            case "hashCode" -> System.identityHashCode(self);
+                            default -> repositoryType.getSimpleName() + " (in-memory)";
+                        };
+                    }
+                    Function<Object[], Object> handler = methods.get(method.getName());
+                    if (handler == null) {
+                        throw new UnsupportedOperationException(
+                                repositoryType.getSimpleName() + "." + method.getName() + "는 벤치마크에서 지원하지 않습니다.");
+                    }
+                    return handler.apply(args);
+                });
+        return repositoryType.cast(proxy);
+    }
+}
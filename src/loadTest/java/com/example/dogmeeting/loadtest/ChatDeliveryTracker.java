@@ -0,0 +1,111 @@
+package com.example.dogmeeting.loadtest;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STOMP 메시지 전달 집계
+ * 발행 시각(System.nanoTime)을 메시지 본문에 넣어 보내고, 구독 세션이 받을 때 종단 간 지연을 계산한다.
+ * 발행 시점의 채팅방 구독 세션 수만큼 전달되어야 하므로, 그 합계와 실제 수신 수의 차이를 유실로 본다.
+ * 측정 시작 시각(measureFrom) 이전에 발행한 메시지는 집계하지 않는다.
+ */
+public class ChatDeliveryTracker {
+
+    private static final String CONTENT_PREFIX = "lt:";
+
+    private volatile long warmupEnd = Long.MAX_VALUE;
+    private final AtomicIntegerArray subscribers;
+    private final EndpointStats latencies = new EndpointStats();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong sendFailures = new AtomicLong();
+    private final AtomicLong expectedDeliveries = new AtomicLong();
+    private final AtomicLong receivedDeliveries = new AtomicLong();
+    private final AtomicLong sessionErrors = new AtomicLong();
+
+    public ChatDeliveryTracker(int rooms) {
+        this.subscribers = new AtomicIntegerArray(rooms);
+    }
+
+    /**
+     * 워밍업 종료 시각(System.nanoTime)을 정한다. 세션 연결이 끝난 뒤 호출한다.
+     */
+    public void measureFrom(long warmupEnd) {
+        this.warmupEnd = warmupEnd;
+    }
+
+    public void subscribed(int room) {
+        subscribers.incrementAndGet(room);
+    }
+
+    public void unsubscribed(int room) {
+        subscribers.decrementAndGet(room);
+    }
+
+    /**
+     * 발행할 메시지 본문을 만들고 발행을 기록한다.
+     */
+    public String published(int room) {
+        long now = System.nanoTime();
+        if (now >= warmupEnd) {
+            sent.incrementAndGet();
+            expectedDeliveries.addAndGet(subscribers.get(room));
+        }
+        return CONTENT_PREFIX + now;
+    }
+
+    public void publishFailed(String content) {
+        if (sentAt(content) >= warmupEnd) {
+            sendFailures.incrementAndGet();
+        }
+    }
+
+    public void received(String content) {
+        long now = System.nanoTime();
+        long sentAt = sentAt(content);
+        if (sentAt < warmupEnd) {
+            return;
+        }
+        receivedDeliveries.incrementAndGet();
+        synchronized (latencies) {
+            latencies.record(now - sentAt, 200);
+        }
+    }
+
+    public void sessionError() {
+        sessionErrors.incrementAndGet();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getSendFailures() {
+        return sendFailures.get();
+    }
+
+    public long getExpectedDeliveries() {
+        return expectedDeliveries.get();
+    }
+
+    public long getReceivedDeliveries() {
+        return receivedDeliveries.get();
+    }
+
+    public long getSessionErrors() {
+        return sessionErrors.get();
+    }
+
+    public double latencyPercentileMillis(double percentile) {
+        synchronized (latencies) {
+            return latencies.percentileMillis(percentile);
+        }
+    }
+
+    // 부하 테스트가 보낸 메시지가 아니면(입장 메시지 등) Long.MIN_VALUE
+    private static long sentAt(String content) {
+        if (content == null || !content.startsWith(CONTENT_PREFIX)) {
+            return Long.MIN_VALUE;
+        }
+        return Long.parseLong(content, CONTENT_PREFIX.length(), content.length(), 10);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.dogmeeting.loadtest;
+
+import com.example.dogmeeting.service.CandidateFeedService;
+import com.example.dogmeeting.service.ChatMessageIdGenerator;
+import com.example.dogmeeting.service.LikeRankingService;
+import com.example.dogmeeting.service.RegionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 부하 테스트 데이터 적재
+ * JPA를 거치지 않고 JDBC 배치 INSERT로 사용자, 강아지, 좋아요, 매칭/채팅방, 메시지를 넣은 뒤
+ * 시작 시 적재되는 인메모리 인덱스(좋아요/사용자 랭킹, 후보 피드)를 다시 만든다.
+ */
+@Slf4j
+public class DatasetSeeder {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] BREEDS = {"진돗개", "푸들", "말티즈", "시바견", "골든 리트리버", "웰시코기", "비숑", "포메라니안"};
+
+    private final ApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestOptions options;
+    private final Random random;
+
+    public DatasetSeeder(ApplicationContext context, LoadTestOptions options) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    public Dataset seed() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        String[] cities = insertUsers(timestamp);
+        long[] userIds = ids("SELECT user_id FROM users ORDER BY user_id");
+        insertDogs(userIds);
+        long[] dogIds = ids("SELECT dog_id FROM dogs ORDER BY dog_id");
+        insertLikes(userIds, timestamp);
+        long[][] participants = insertMatches(userIds, timestamp);
+        long[] roomIds = ids("SELECT chatroom_id FROM chat_rooms ORDER BY chatroom_id");
+        insertMessages(roomIds, participants, now);
+
+        // 사용자 랭킹은 좋아요 랭킹이 다시 적재되면 함께 재구성된다
+        context.getBean(LikeRankingService.class).rebuild();
+        context.getBean(CandidateFeedService.class).loadIndex();
+
+        log.info("부하 테스트 데이터 적재 완료: 사용자 {}명, 채팅방 {}개, {}ms",
+                userIds.length, roomIds.length, (System.nanoTime() - start) / 1_000_000);
+        return new Dataset(userIds, cities, dogIds, roomIds, participants);
+    }
+
+    private String[] insertUsers(Timestamp createdAt) {
+        RegionService regionService = context.getBean(RegionService.class);
+        List<String> catalogue = regionService.getCities();
+        // 비밀번호 해시는 한 번만 계산 (BCrypt가 적재 시간을 지배하지 않도록)
+        String password = context.getBean(PasswordEncoder.class).encode("load1234");
+
+        String[] cities = new String[options.users()];
+        List<Object[]> rows = new ArrayList<>(options.users());
+        for (int i = 0; i < options.users(); i++) {
+            // 앞쪽 시/도(서울, 부산 등)에 사용자가 몰리도록 치우친 분포
+            String city = catalogue.get((int) (catalogue.size() * Math.pow(random.nextDouble(), 2)));
+            List<String> districts = regionService.getDistrictsByCity(city);
+            String district = districts.isEmpty() ? null : districts.get(random.nextInt(districts.size()));
+            RegionService.RegionCode region = regionService.resolve(city, district);
+            cities[i] = city;
+            rows.add(new Object[]{"load" + i, password, "부하" + i, i % 2 == 0 ? "남성" : "여성",
+                    city, district, region.cityId(), region.regionId(), createdAt});
+        }
+        batchInsert("INSERT INTO users (login_id, password, nickname, gender, city, district, city_id, region_id, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return cities;
+    }
+
+    private void insertDogs(long[] userIds) {
+        List<Object[]> rows = new ArrayList<>(userIds.length);
+        for (int i = 0; i < userIds.length; i++) {
+            String key = "dogs/" + userIds[i] + "/seed/" + i;
+            rows.add(new Object[]{userIds[i], "강아지" + i, BREEDS[i % BREEDS.length], 1 + random.nextInt(15),
+                    random.nextBoolean() ? "수컷" : "암컷", "산책을 좋아해요",
+                    key + ".jpg", key + "_medium.jpg", key + "_thumb.jpg"});
+        }
+        batchInsert("INSERT INTO dogs (user_id, name, breed, age, gender, description, photo_url, photo_medium_url, photo_thumbnail_url) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // 인기 사용자(앞쪽 ID)에게 좋아요가 몰리도록 치우친 분포로 스와이프+좋아요를 넣는다
+    private void insertLikes(long[] userIds, Timestamp likedAt) {
+        int likesPerUser = Math.min(options.likesPerUser(), userIds.length - 1);
+        List<Object[]> rows = new ArrayList<>(userIds.length * likesPerUser);
+        for (long from : userIds) {
+            Set<Long> targets = new HashSet<>();
+            while (targets.size() < likesPerUser) {
+                long to = userIds[(int) (userIds.length * Math.pow(random.nextDouble(), 3))];
+                if (to != from) {
+                    targets.add(to);
+                }
+            }
+            for (Long to : targets) {
+                rows.add(new Object[]{from, to, likedAt, true, likedAt});
+            }
+        }
+        batchInsert("INSERT INTO swipes (from_user_id, to_user_id, swiped_at, is_like, liked_at) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private long[][] insertMatches(long[] userIds, Timestamp createdAt) {
+        int matchCount = (int) Math.min(options.matches(), (long) userIds.length * (userIds.length - 1) / 2);
+        Set<String> pairKeys = new HashSet<>();
+        List<long[]> pairs = new ArrayList<>(matchCount);
+        List<Object[]> rows = new ArrayList<>(matchCount);
+        while (pairs.size() < matchCount) {
+            long user1 = userIds[random.nextInt(userIds.length)];
+            long user2 = userIds[random.nextInt(userIds.length)];
+            String pairKey = Math.min(user1, user2) + ":" + Math.max(user1, user2);
+            if (user1 == user2 || !pairKeys.add(pairKey)) {
+                continue;
+            }
+            pairs.add(new long[]{user1, user2});
+            rows.add(new Object[]{user1, user2, "MATCHED", pairKey, createdAt});
+        }
+        batchInsert("INSERT INTO matches (user1_id, user2_id, status, pair_key, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+        long[] matchIds = ids("SELECT match_id FROM matches ORDER BY match_id");
+        List<Object[]> rooms = new ArrayList<>(matchIds.length);
+        for (long matchId : matchIds) {
+            rooms.add(new Object[]{matchId, createdAt});
+        }
+        batchInsert("INSERT INTO chat_rooms (match_id, created_at) VALUES (?, ?)", rooms);
+        return pairs.toArray(long[][]::new);
+    }
+
+    private void insertMessages(long[] roomIds, long[][] participants, LocalDateTime now) {
+        ChatMessageIdGenerator idGenerator = context.getBean(ChatMessageIdGenerator.class);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> lastMessages = new ArrayList<>(roomIds.length);
+        for (int room = 0; room < roomIds.length; room++) {
+            long lastMessageId = 0;
+            for (int i = 0; i < options.messagesPerRoom(); i++) {
+                lastMessageId = idGenerator.nextId();
+                long sender = participants[room][i % 2];
+                Timestamp sentAt = Timestamp.valueOf(now.minusMinutes(options.messagesPerRoom() - i));
+                rows.add(new Object[]{lastMessageId, roomIds[room], sender, "메시지 " + i, sentAt, false});
+                if (rows.size() == BATCH_SIZE) {
+                    insertMessageBatch(rows);
+                }
+            }
+            if (lastMessageId != 0) {
+                lastMessages.add(new Object[]{lastMessageId, roomIds[room]});
+            }
+        }
+        insertMessageBatch(rows);
+        jdbcTemplate.batchUpdate("UPDATE chat_rooms SET last_message_id = ? WHERE chatroom_id = ?", lastMessages);
+    }
+
+    private void insertMessageBatch(List<Object[]> rows) {
+        batchInsert("INSERT INTO chat_messages (message_id, chatroom_id, sender_id, content, sent_at, is_read) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private long[] ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 적재한 데이터의 ID (부하 생성 시 요청 대상 선택에 사용)
+     *
+     * @param userIds      사용자 ID
+     * @param cities       userIds와 같은 순서의 사용자 시/도
+     * @param dogIds       강아지 ID
+     * @param roomIds      채팅방 ID
+     * @param participants roomIds와 같은 순서의 채팅방 참여자 두 명
+     */
+    public record Dataset(long[] userIds, String[] cities, long[] dogIds, long[] roomIds, long[][] participants) {
+    }
+}
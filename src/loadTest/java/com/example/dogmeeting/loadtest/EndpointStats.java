@@ -0,0 +1,78 @@
+package com.example.dogmeeting.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 엔드포인트별 응답 시간 표본과 결과 집계
+ * 클라이언트마다 따로 기록하고(동기화 없음) 측정이 끝난 뒤 merge로 합친다.
+ */
+public class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long clientErrors;
+    private long serverErrors;
+    private long failures;
+    private boolean sorted;
+
+    public void record(long latencyNanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (status >= 500) {
+            serverErrors++;
+        } else if (status >= 400) {
+            clientErrors++;
+        }
+        sorted = false;
+    }
+
+    // 연결 실패, 타임아웃 등 응답을 받지 못한 요청
+    public void recordFailure() {
+        failures++;
+    }
+
+    public void merge(EndpointStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        clientErrors += other.clientErrors;
+        serverErrors += other.serverErrors;
+        failures += other.failures;
+        sorted = false;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getClientErrors() {
+        return clientErrors;
+    }
+
+    public long getServerErrors() {
+        return serverErrors;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * nearest-rank 백분위 응답 시간 (밀리초), 표본이 없으면 NaN
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (!sorted) {
+            Arrays.sort(latencies, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return latencies[Math.max(0, Math.min(count - 1, rank - 1))] / 1_000_000.0;
+    }
+}
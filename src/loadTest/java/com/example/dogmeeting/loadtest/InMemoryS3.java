@@ -0,0 +1,132 @@
+package com.example.dogmeeting.loadtest;
+
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.DeletedObject;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트용 인메모리 S3
+ * 서버가 사용하는 호출(PutObject, DeleteObject(s), ListObjectsV2)만 구현하며, 객체 내용은 버리고 키와 크기만 보관한다.
+ * 구현하지 않은 호출은 SDK 기본 구현대로 UnsupportedOperationException을 던진다.
+ */
+public class InMemoryS3 {
+
+    private final ConcurrentSkipListMap<String, S3Object> objects = new ConcurrentSkipListMap<>();
+    private final AtomicLong putRequests = new AtomicLong();
+    private final AtomicLong deleteRequests = new AtomicLong();
+
+    public S3Client client() {
+        return new S3Client() {
+            @Override
+            public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+                return put(request, body.optionalContentLength().orElse(0L));
+            }
+
+            @Override
+            public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+                deleteRequests.incrementAndGet();
+                objects.remove(request.key());
+                return DeleteObjectResponse.builder().build();
+            }
+
+            @Override
+            public DeleteObjectsResponse deleteObjects(DeleteObjectsRequest request) {
+                deleteRequests.incrementAndGet();
+                List<DeletedObject> deleted = request.delete().objects().stream()
+                        .map(ObjectIdentifier::key)
+                        .peek(objects::remove)
+                        .map(key -> DeletedObject.builder().key(key).build())
+                        .toList();
+                return DeleteObjectsResponse.builder().deleted(deleted).build();
+            }
+
+            @Override
+            public ListObjectsV2Response listObjectsV2(ListObjectsV2Request request) {
+                String prefix = request.prefix() != null ? request.prefix() : "";
+                Map<String, S3Object> tail = request.startAfter() != null
+                        ? objects.tailMap(request.startAfter(), false)
+                        : objects.tailMap(prefix, true);
+                int maxKeys = request.maxKeys() != null ? request.maxKeys() : 1000;
+                List<S3Object> page = tail.values().stream()
+                        .takeWhile(object -> object.key().startsWith(prefix))
+                        .limit(maxKeys + 1L)
+                        .toList();
+                boolean truncated = page.size() > maxKeys;
+                List<S3Object> contents = truncated ? page.subList(0, maxKeys) : page;
+                return ListObjectsV2Response.builder()
+                        .contents(contents)
+                        .keyCount(contents.size())
+                        .isTruncated(truncated)
+                        .build();
+            }
+
+            @Override
+            public String serviceName() {
+                return SERVICE_NAME;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    public S3AsyncClient asyncClient() {
+        return new S3AsyncClient() {
+            @Override
+            public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+                return CompletableFuture.completedFuture(put(request, body.contentLength().orElse(0L)));
+            }
+
+            @Override
+            public String serviceName() {
+                return SERVICE_NAME;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    public int objectCount() {
+        return objects.size();
+    }
+
+    public long getPutRequests() {
+        return putRequests.get();
+    }
+
+    public long getDeleteRequests() {
+        return deleteRequests.get();
+    }
+
+    private PutObjectResponse put(PutObjectRequest request, long size) {
+        putRequests.incrementAndGet();
+        objects.put(request.key(), S3Object.builder()
+                .key(request.key())
+                .size(size)
+                .lastModified(Instant.now())
+                .build());
+        return PutObjectResponse.builder().eTag("\"" + Long.toHexString(size) + "\"").build();
+    }
+}
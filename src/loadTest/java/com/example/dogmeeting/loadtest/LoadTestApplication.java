@@ -0,0 +1,50 @@
+package com.example.dogmeeting.loadtest;
+
+import com.example.dogmeeting.DogmeetingApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 대상 앱 기동 (REST/STOMP 공용)
+ */
+final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    /**
+     * test 프로필(H2)로 앱을 띄운다.
+     * 로그/저장 경로 설정은 test 프로필보다 우선하도록 명령행 인수로 넘기며, 같은 키를 --args로 주면 그 값을 쓴다.
+     */
+    static ConfigurableApplicationContext start(String[] args) throws IOException {
+        Path journalDir = Files.createTempDirectory("loadtest-chat-journal");
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        overrides.put("server.port", 0);
+        overrides.put("spring.jpa.show-sql", false);
+        overrides.put("logging.level.org.springframework.web", "INFO");
+        overrides.put("logging.level.org.springframework.security", "INFO");
+        overrides.put("app.chat.write-behind.journal-dir", journalDir);
+        overrides.put("app.s3.orphan-gc.enabled", false);
+        overrides.put("app.query-budget.log-requests", false);
+
+        List<String> arguments = new ArrayList<>();
+        overrides.forEach((key, value) -> {
+            if (Arrays.stream(args).noneMatch(arg -> arg.startsWith("--" + key + "="))) {
+                arguments.add("--" + key + "=" + value);
+            }
+        });
+        arguments.addAll(Arrays.asList(args));
+        return new SpringApplicationBuilder(DogmeetingApplication.class, LoadTestConfiguration.class)
+                .profiles("test")
+                .run(arguments.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.dogmeeting.loadtest;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * 부하 테스트 실행 시에만 추가되는 빈
+ * S3 클라이언트를 인메모리 구현으로 대체하고(@Primary), 요청당 SQL 문 수 집계를 등록한다.
+ */
+@Configuration
+public class LoadTestConfiguration {
+
+    @Bean
+    public InMemoryS3 inMemoryS3() {
+        return new InMemoryS3();
+    }
+
+    @Bean
+    @Primary
+    public S3Client inMemoryS3Client(InMemoryS3 inMemoryS3) {
+        return inMemoryS3.client();
+    }
+
+    @Bean
+    @Primary
+    public S3AsyncClient inMemoryS3AsyncClient(InMemoryS3 inMemoryS3) {
+        return inMemoryS3.asyncClient();
+    }
+
+    @Bean
+    public QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    // 앱의 SQL 통계 필터보다 바깥에서 실행해 요청이 끝난 뒤의 통계를 읽는다
+    @Bean
+    public FilterRegistrationBean<QueryCounter> queryCounterFilter(QueryCounter queryCounter) {
+        FilterRegistrationBean<QueryCounter> registration = new FilterRegistrationBean<>(queryCounter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
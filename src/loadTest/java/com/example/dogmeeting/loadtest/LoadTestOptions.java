@@ -0,0 +1,51 @@
+package com.example.dogmeeting.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 부하 테스트 옵션 (시스템 프로퍼티 loadtest.*, Gradle에서는 -Ploadtest.*로 전달)
+ *
+ * @param users           적재할 사용자 수 (사용자당 강아지 1마리)
+ * @param likesPerUser    사용자당 보낸 좋아요 수 (인기 사용자에게 몰리도록 치우친 분포)
+ * @param matches         매칭(채팅방) 수
+ * @param messagesPerRoom 채팅방당 메시지 수
+ * @param clients         동시 가상 스레드 클라이언트 수 (REST)
+ * @param sessions        STOMP 세션 수 (채팅방 참여자에게 나누어 배정)
+ * @param messageRate     초당 발행 메시지 수 (STOMP)
+ * @param warmup          측정에서 제외하는 워밍업 시간
+ * @param duration        측정 시간
+ * @param thinkTime       클라이언트가 요청 사이에 쉬는 시간 (0이면 최대 부하)
+ * @param seed            데이터/요청 선택 난수 시드
+ * @param report          JSON 결과 파일 경로
+ */
+public record LoadTestOptions(int users,
+                              int likesPerUser,
+                              int matches,
+                              int messagesPerRoom,
+                              int clients,
+                              int sessions,
+                              int messageRate,
+                              Duration warmup,
+                              Duration duration,
+                              Duration thinkTime,
+                              long seed,
+                              Path report) {
+
+    public static LoadTestOptions fromSystemProperties(String defaultReport) {
+        int users = Integer.getInteger("loadtest.users", 2000);
+        return new LoadTestOptions(
+                users,
+                Integer.getInteger("loadtest.likes-per-user", 20),
+                Integer.getInteger("loadtest.matches", users / 2),
+                Integer.getInteger("loadtest.messages-per-room", 30),
+                Integer.getInteger("loadtest.clients", 200),
+                Integer.getInteger("loadtest.sessions", 2000),
+                Integer.getInteger("loadtest.message-rate", 200),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT15S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+                Duration.parse(System.getProperty("loadtest.think-time", "PT0S")),
+                Long.getLong("loadtest.seed", 42L),
+                Path.of(System.getProperty("loadtest.report", defaultReport)));
+    }
+}
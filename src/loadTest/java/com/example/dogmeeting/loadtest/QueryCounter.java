@@ -0,0 +1,59 @@
+package com.example.dogmeeting.loadtest;
+
+import com.example.dogmeeting.config.RequestQueryStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청당 SQL 문 수 집계
+ * 앱의 요청별 SQL 통계(RequestQueryStats, 요청 속성)를 요청이 끝날 때 읽어
+ * "메서드 + 매핑 패턴"(예: GET /api/dogs/{dogId}) 단위로 합산한다. (OSIV 지연 로딩 포함, 백그라운드 스레드 쿼리 제외)
+ */
+public class QueryCounter extends OncePerRequestFilter {
+
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null && request.getAttribute(RequestQueryStats.ATTRIBUTE) instanceof RequestQueryStats stats) {
+                Totals endpoint = totals.computeIfAbsent(request.getMethod() + " " + pattern, key -> new Totals());
+                endpoint.requests.increment();
+                endpoint.statements.add(stats.getStatements());
+            }
+        }
+    }
+
+    /**
+     * 요청당 평균 SQL 문 수, 해당 엔드포인트 요청이 없으면 NaN
+     */
+    public double statementsPerRequest(String endpoint) {
+        Totals endpointTotals = totals.get(endpoint);
+        if (endpointTotals == null || endpointTotals.requests.sum() == 0) {
+            return Double.NaN;
+        }
+        return (double) endpointTotals.statements.sum() / endpointTotals.requests.sum();
+    }
+
+    public void reset() {
+        totals.clear();
+    }
+
+    private static final class Totals {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.dogmeeting.loadtest;
+
+import com.example.dogmeeting.config.WebSocketConfig;
+import com.example.dogmeeting.service.ChatMessageWriteBehindService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 중 JVM 힙/스레드와 채팅 처리 대기열을 1초마다 샘플링해 최댓값을 기록한다.
+ * 서버와 부하 클라이언트가 같은 JVM이므로 힙/스레드 값에는 클라이언트 몫도 포함된다.
+ */
+public class ResourceSampler implements AutoCloseable {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final WebSocketConfig webSocketConfig;
+    private final ChatMessageWriteBehindService writeBehindService;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile long maxHeapUsed;
+    private volatile int maxThreads;
+    private volatile int maxOutboundQueue;
+    private volatile int maxWriteBehindQueue;
+
+    public ResourceSampler(WebSocketConfig webSocketConfig, ChatMessageWriteBehindService writeBehindService) {
+        this.webSocketConfig = webSocketConfig;
+        this.writeBehindService = writeBehindService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-resource-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::sample, 0, 1, TimeUnit.SECONDS);
+    }
+
+    private void sample() {
+        maxHeapUsed = Math.max(maxHeapUsed, memory.getHeapMemoryUsage().getUsed());
+        maxThreads = Math.max(maxThreads, threads.getThreadCount());
+        if (webSocketConfig.getOutboundExecutor() != null) {
+            maxOutboundQueue = Math.max(maxOutboundQueue, webSocketConfig.getOutboundExecutor().getQueuedTaskCount());
+        }
+        maxWriteBehindQueue = Math.max(maxWriteBehindQueue, writeBehindService.getQueueDepth());
+    }
+
+    public long getMaxHeapUsed() {
+        return maxHeapUsed;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getMaxOutboundQueue() {
+        return maxOutboundQueue;
+    }
+
+    public int getMaxWriteBehindQueue() {
+        return maxWriteBehindQueue;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.dogmeeting.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST API 부하 테스트
+ * 앱을 같은 JVM에서 H2(test 프로필)와 인메모리 S3로 띄우고 데이터를 적재한 뒤, 가상 스레드 클라이언트들이
+ * 혼합 요청(RestWorkload)을 보내 엔드포인트별 처리량, p50/p95/p99 응답 시간, 요청당 SQL 문 수를 보고한다.
+ * 클라이언트는 응답을 받으면 바로 다음 요청을 보내는 closed-loop 방식이다. (think-time으로 간격 조절)
+ *
+ * 실행: ./gradlew restLoadTest -Ploadtest.users=2000 -Ploadtest.clients=200 -Ploadtest.duration=PT60S
+ */
+@Slf4j
+public class RestLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties("build/reports/loadtest/rest.json");
+        ConfigurableApplicationContext context = LoadTestApplication.start(args);
+        try {
+            DatasetSeeder.Dataset dataset = new DatasetSeeder(context, options).seed();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            RestWorkload workload = new RestWorkload("http://localhost:" + port, dataset);
+            Map<String, EndpointStats> results = run(workload, context.getBean(QueryCounter.class), options);
+            report(workload, results, context.getBean(QueryCounter.class), options);
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    private static Map<String, EndpointStats> run(RestWorkload workload, QueryCounter queryCounter,
+                                                  LoadTestOptions options) throws Exception {
+        log.info("부하 시작: 클라이언트 {}개, 워밍업 {}, 측정 {}", options.clients(), options.warmup(), options.duration());
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+
+        List<Future<Map<String, EndpointStats>>> clients = new ArrayList<>(options.clients());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .executor(executor)
+                     .build()) {
+            for (int i = 0; i < options.clients(); i++) {
+                SplittableRandom random = new SplittableRandom(options.seed() + i);
+                clients.add(executor.submit(() -> runClient(http, workload, random, warmupEnd, end, options)));
+            }
+            TimeUnit.NANOSECONDS.sleep(warmupEnd - System.nanoTime());
+            queryCounter.reset();
+            log.info("워밍업 종료, 측정 시작");
+
+            Map<String, EndpointStats> merged = new LinkedHashMap<>();
+            for (Future<Map<String, EndpointStats>> client : clients) {
+                client.get().forEach((endpoint, stats) ->
+                        merged.computeIfAbsent(endpoint, key -> new EndpointStats()).merge(stats));
+            }
+            return merged;
+        }
+    }
+
+    private static Map<String, EndpointStats> runClient(HttpClient http, RestWorkload workload, SplittableRandom random,
+                                                        long warmupEnd, long end, LoadTestOptions options)
+            throws InterruptedException {
+        Map<String, EndpointStats> stats = new HashMap<>();
+        while (System.nanoTime() < end) {
+            RestWorkload.Operation operation = workload.next(random);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = http.send(operation.request().apply(random), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            }
+            long latency = System.nanoTime() - start;
+            if (start >= warmupEnd) {
+                EndpointStats endpoint = stats.computeIfAbsent(operation.endpoint(), key -> new EndpointStats());
+                if (status < 0) {
+                    endpoint.recordFailure();
+                } else {
+                    endpoint.record(latency, status);
+                }
+            }
+            if (!options.thinkTime().isZero()) {
+                Thread.sleep(options.thinkTime());
+            }
+        }
+        return stats;
+    }
+
+    private static void report(RestWorkload workload, Map<String, EndpointStats> results, QueryCounter queryCounter,
+                               LoadTestOptions options) throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        EndpointStats total = new EndpointStats();
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+
+        StringBuilder table = new StringBuilder(String.format("%n%-52s %8s %9s %8s %8s %8s %7s %7s%n",
+                "endpoint", "requests", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "errors", "sql/req"));
+        for (RestWorkload.Operation operation : workload.getOperations()) {
+            EndpointStats stats = results.getOrDefault(operation.endpoint(), new EndpointStats());
+            total.merge(stats);
+            double statements = queryCounter.statementsPerRequest(operation.endpoint());
+            long errors = stats.getClientErrors() + stats.getServerErrors() + stats.getFailures();
+            table.append(String.format("%-52s %8d %9.1f %8.2f %8.2f %8.2f %7d %7.2f%n", operation.endpoint(),
+                    stats.getCount(), stats.getCount() / seconds, stats.percentileMillis(50),
+                    stats.percentileMillis(95), stats.percentileMillis(99), errors, statements));
+            endpoints.add(toJson(operation.endpoint(), stats, seconds, statements));
+        }
+        table.append(String.format("%-52s %8d %9.1f %8.2f %8.2f %8.2f %7d%n", "TOTAL", total.getCount(),
+                total.getCount() / seconds, total.percentileMillis(50), total.percentileMillis(95),
+                total.percentileMillis(99), total.getClientErrors() + total.getServerErrors() + total.getFailures()));
+        log.info("부하 테스트 결과 (클라이언트 {}개, {}초){}", options.clients(), (long) seconds, table);
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("options", options.toString());
+        document.put("total", toJson("TOTAL", total, seconds, Double.NaN));
+        document.put("endpoints", endpoints);
+        Files.createDirectories(options.report().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report().toFile(), document);
+        log.info("결과 저장: {}", options.report().toAbsolutePath());
+    }
+
+    private static Map<String, Object> toJson(String endpoint, EndpointStats stats, double seconds, double statements) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("endpoint", endpoint);
+        json.put("requests", stats.getCount());
+        json.put("throughput", stats.getCount() / seconds);
+        json.put("p50Ms", stats.percentileMillis(50));
+        json.put("p95Ms", stats.percentileMillis(95));
+        json.put("p99Ms", stats.percentileMillis(99));
+        json.put("clientErrors", stats.getClientErrors());
+        json.put("serverErrors", stats.getServerErrors());
+        json.put("failures", stats.getFailures());
+        json.put("statementsPerRequest", Double.isNaN(statements) ? null : statements);
+        return json;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.dogmeeting.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * 혼합 REST 부하 구성
+ * 홈/랭킹 조회가 가장 많고, 스와이프/좋아요, 강아지 조회, 채팅 목록/메시지 조회가 뒤따르는 비율이다.
+ * 엔드포인트 이름은 서버의 "메서드 + 매핑 패턴"과 같게 하여 요청당 SQL 문 수와 짝지을 수 있게 한다.
+ */
+public class RestWorkload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final DatasetSeeder.Dataset dataset;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    public RestWorkload(String baseUrl, DatasetSeeder.Dataset dataset) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.operations = List.of(
+                // 홈 (40%)
+                get("/api/home/dog-ranking", 10, r -> "/api/home/dog-ranking?page=" + r.nextInt(5) + "&size=10"),
+                get("/api/home/regional-dogs/{city}", 8, r -> "/api/home/regional-dogs/" + encode(city(r)) + "?limit=3"),
+                get("/api/home/ranking", 6, r -> "/api/home/ranking?page=" + r.nextInt(5) + "&size=10"),
+                get("/api/home/ranking/users/{userId}", 4, r -> "/api/home/ranking/users/" + user(r)),
+                get("/api/home/profile/{userId}", 8, r -> "/api/home/profile/" + user(r)),
+                get("/api/home/user/{userId}", 4, r -> "/api/home/user/" + user(r)),
+                // 스와이프/좋아요 (24%)
+                new Operation("POST /api/swipes/users/{fromUserId}", 6, r -> request("/api/swipes/users/" + user(r))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"toUserId\":" + user(r) + "}"))
+                        .build()),
+                new Operation("POST /api/swipes/like/{fromUserId}/{toUserId}", 6, r ->
+                        request("/api/swipes/like/" + user(r) + "/" + user(r))
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .build()),
+                get("/api/swipes/like-status/{fromUserId}/{toUserId}", 4, r -> "/api/swipes/like-status/" + user(r) + "/" + user(r)),
+                get("/api/swipes/sent/{userId}/page", 4, r -> "/api/swipes/sent/" + user(r) + "/page?size=20"),
+                get("/api/swipes/received/{userId}/page", 4, r -> "/api/swipes/received/" + user(r) + "/page?size=20"),
+                // 강아지 (14%)
+                get("/api/dogs/{dogId}", 6, r -> "/api/dogs/" + dog(r)),
+                get("/api/dogs/users/{userId}", 4, r -> "/api/dogs/users/" + user(r)),
+                get("/api/dogs/{dogId}/profile", 4, r -> "/api/dogs/" + dog(r) + "/profile"),
+                // 채팅 (22%)
+                get("/api/chat/users/{userId}/inbox", 8, r -> "/api/chat/users/" + roomParticipant(r, r.nextInt(dataset.roomIds().length)) + "/inbox"),
+                get("/api/chat/{chatroomId}/messages", 6, r -> chatPath(r, "/messages", "&limit=50")),
+                get("/api/chat/{chatroomId}/unread-count", 3, r -> chatPath(r, "/unread-count", "")),
+                new Operation("PUT /api/chat/{chatroomId}/read", 3, r -> request(chatPath(r, "/read", ""))
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build()),
+                get("/api/chat/users/{userId}/chatrooms", 2, r -> "/api/chat/users/" + roomParticipant(r, r.nextInt(dataset.roomIds().length)) + "/chatrooms"));
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public Operation next(SplittableRandom random) {
+        int pick = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            pick -= operation.weight();
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("가중치 합계 계산 오류");
+    }
+
+    private Operation get(String pattern, int weight, Function<SplittableRandom, String> path) {
+        return new Operation("GET " + pattern, weight, r -> request(path.apply(r)).GET().build());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private long user(SplittableRandom random) {
+        return dataset.userIds()[random.nextInt(dataset.userIds().length)];
+    }
+
+    private String city(SplittableRandom random) {
+        return dataset.cities()[random.nextInt(dataset.cities().length)];
+    }
+
+    private long dog(SplittableRandom random) {
+        return dataset.dogIds()[random.nextInt(dataset.dogIds().length)];
+    }
+
+    private long roomParticipant(SplittableRandom random, int room) {
+        return dataset.participants()[room][random.nextInt(2)];
+    }
+
+    // 채팅방과 그 참여자를 함께 골라 접근 권한 검사를 통과하는 요청을 만든다
+    private String chatPath(SplittableRandom random, String suffix, String query) {
+        int room = random.nextInt(dataset.roomIds().length);
+        return "/api/chat/" + dataset.roomIds()[room] + suffix + "?userId=" + roomParticipant(random, room) + query;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param endpoint 서버 매핑 패턴과 같은 엔드포인트 이름 (예: GET /api/dogs/{dogId})
+     * @param weight   선택 가중치
+     * @param request  요청 생성기
+     */
+    public record Operation(String endpoint, int weight, Function<SplittableRandom, HttpRequest> request) {
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.dogmeeting.loadtest;
+
+import com.example.dogmeeting.config.WebSocketConfig;
+import com.example.dogmeeting.dto.ChatMessageDto;
+import com.example.dogmeeting.dto.MessageType;
+import com.example.dogmeeting.service.ChatMessageWriteBehindService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * STOMP 채팅 부하 테스트
+ * 앱을 같은 JVM에서 H2(test 프로필)로 띄우고 데이터를 적재한 뒤, STOMP 세션 수천 개를 /ws-stomp에 연결해
+ * 채팅방(/sub/chat/room/{id})에 나누어 구독시키고, 목표 속도로 /pub/chat/message에 발행한다.
+ * 종단 간 전달 지연(p50/p95/p99/p99.9), 유실(기대 전달 수 - 실제 수신 수), 힙/스레드 최댓값,
+ * 아웃바운드/write-behind 대기열 최댓값을 보고한다.
+ *
+ * 세션 i는 채팅방 i % rooms를 구독하며, 발행은 채팅방마다 처음 연결된 세션이 첫 번째 참여자 이름으로 보낸다.
+ * 서버와 클라이언트가 같은 JVM이므로 힙/스레드 값에는 클라이언트 몫도 포함된다.
+ *
+ * 실행: ./gradlew stompLoadTest -Ploadtest.sessions=2000 -Ploadtest.message-rate=200 -Ploadtest.duration=PT60S
+ */
+@Slf4j
+public class StompLoadTest {
+
+    private static final int CONNECT_BATCH = 100;
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties("build/reports/loadtest/stomp.json");
+        ConfigurableApplicationContext context = LoadTestApplication.start(args);
+        try {
+            DatasetSeeder.Dataset dataset = new DatasetSeeder(context, options).seed();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            try (ResourceSampler sampler = new ResourceSampler(context.getBean(WebSocketConfig.class),
+                    context.getBean(ChatMessageWriteBehindService.class))) {
+                sampler.start();
+                run("ws://localhost:" + port + "/ws-stomp/websocket", dataset, sampler,
+                        context.getBean(ChatMessageWriteBehindService.class), options);
+            }
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    private static void run(String url, DatasetSeeder.Dataset dataset, ResourceSampler sampler,
+                            ChatMessageWriteBehindService writeBehindService, LoadTestOptions options)
+            throws Exception {
+        int rooms = dataset.roomIds().length;
+        if (rooms == 0) {
+            throw new IllegalStateException("채팅방이 없습니다. loadtest.matches를 확인하세요.");
+        }
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+        stompClient.setMessageConverter(converter);
+
+        // 워밍업 종료 시각은 모든 세션이 연결된 뒤 정한다
+        ChatDeliveryTracker tracker = new ChatDeliveryTracker(rooms);
+        List<StompSession> sessions = new ArrayList<>(options.sessions());
+        StompSession[] publishers = new StompSession[rooms];
+        int connectFailures = 0;
+
+        log.info("STOMP 세션 {}개 연결 시작 (채팅방 {}개)", options.sessions(), rooms);
+        long connectStart = System.nanoTime();
+        for (int batchStart = 0; batchStart < options.sessions(); batchStart += CONNECT_BATCH) {
+            int batchEnd = Math.min(batchStart + CONNECT_BATCH, options.sessions());
+            List<CompletableFuture<StompSession>> batch = new ArrayList<>(batchEnd - batchStart);
+            for (int i = batchStart; i < batchEnd; i++) {
+                batch.add(stompClient.connectAsync(url, new SessionHandler(tracker)));
+            }
+            for (int i = batchStart; i < batchEnd; i++) {
+                int room = i % rooms;
+                StompSession session;
+                try {
+                    session = batch.get(i - batchStart).get(30, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    connectFailures++;
+                    log.warn("STOMP 연결 실패: {}", e.getMessage());
+                    continue;
+                }
+                session.subscribe("/sub/chat/room/" + dataset.roomIds()[room], new MessageHandler(tracker));
+                tracker.subscribed(room);
+                sessions.add(session);
+                if (publishers[room] == null) {
+                    publishers[room] = session;
+                }
+            }
+        }
+        double connectSeconds = (System.nanoTime() - connectStart) / 1e9;
+        log.info("연결 완료: 성공 {}개, 실패 {}개, {}초", sessions.size(), connectFailures,
+                String.format("%.1f", connectSeconds));
+
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+        tracker.measureFrom(warmupEnd);
+
+        int[] activeRooms = new int[Math.min(rooms, sessions.size())];
+        int active = 0;
+        for (int room = 0; room < rooms && active < activeRooms.length; room++) {
+            if (publishers[room] != null) {
+                activeRooms[active++] = room;
+            }
+        }
+        log.info("발행 시작: 초당 {}건, 워밍업 {}, 측정 {}", options.messageRate(), options.warmup(), options.duration());
+        publish(dataset, publishers, activeRooms, active, tracker, end, options);
+
+        // 측정 종료 후 아직 도착하지 않은 메시지를 기다린다
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (tracker.getReceivedDeliveries() < tracker.getExpectedDeliveries()
+                && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        report(tracker, sampler, writeBehindService, sessions.size(), connectFailures, connectSeconds, options);
+
+        for (StompSession session : sessions) {
+            try {
+                session.disconnect();
+            } catch (Exception ignored) {
+                // 종료 중 오류는 무시
+            }
+        }
+        stompClient.stop();
+    }
+
+    /**
+     * 한 스레드에서 목표 간격으로 발행한다. 밀리면 간격을 기다리지 않고 따라잡으며, 실제 속도는 보고서에 드러난다.
+     */
+    private static void publish(DatasetSeeder.Dataset dataset, StompSession[] publishers, int[] activeRooms,
+                                int active, ChatDeliveryTracker tracker, long end, LoadTestOptions options) {
+        if (active == 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(options.seed());
+        long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, options.messageRate());
+        long next = System.nanoTime();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int room = activeRooms[random.nextInt(active)];
+            String content = tracker.published(room);
+            ChatMessageDto message = ChatMessageDto.builder()
+                    .chatroomId(dataset.roomIds()[room])
+                    .senderId(dataset.participants()[room][0])
+                    .content(content)
+                    .type(MessageType.CHAT)
+                    .build();
+            try {
+                publishers[room].send("/pub/chat/message", message);
+            } catch (Exception e) {
+                tracker.publishFailed(content);
+            }
+            next += interval;
+        }
+    }
+
+    private static void report(ChatDeliveryTracker tracker, ResourceSampler sampler,
+                               ChatMessageWriteBehindService writeBehindService, int connected, int connectFailures,
+                               double connectSeconds, LoadTestOptions options) throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        long lost = Math.max(0, tracker.getExpectedDeliveries() - tracker.getReceivedDeliveries());
+        double lossPercent = tracker.getExpectedDeliveries() == 0 ? 0
+                : lost * 100.0 / tracker.getExpectedDeliveries();
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("options", options.toString());
+
+        Map<String, Object> connections = new LinkedHashMap<>();
+        connections.put("connected", connected);
+        connections.put("failed", connectFailures);
+        connections.put("connectSeconds", connectSeconds);
+        connections.put("sessionErrors", tracker.getSessionErrors());
+        document.put("connections", connections);
+
+        Map<String, Object> delivery = new LinkedHashMap<>();
+        delivery.put("targetRate", options.messageRate());
+        delivery.put("achievedRate", tracker.getSent() / seconds);
+        delivery.put("sent", tracker.getSent());
+        delivery.put("sendFailures", tracker.getSendFailures());
+        delivery.put("expectedDeliveries", tracker.getExpectedDeliveries());
+        delivery.put("receivedDeliveries", tracker.getReceivedDeliveries());
+        delivery.put("deliveryRate", tracker.getReceivedDeliveries() / seconds);
+        delivery.put("lost", lost);
+        delivery.put("lossPercent", lossPercent);
+        document.put("delivery", delivery);
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50Ms", tracker.latencyPercentileMillis(50));
+        latency.put("p95Ms", tracker.latencyPercentileMillis(95));
+        latency.put("p99Ms", tracker.latencyPercentileMillis(99));
+        latency.put("p999Ms", tracker.latencyPercentileMillis(99.9));
+        document.put("latency", latency);
+
+        Map<String, Object> server = new LinkedHashMap<>();
+        server.put("maxHeapUsedBytes", sampler.getMaxHeapUsed());
+        server.put("maxThreads", sampler.getMaxThreads());
+        server.put("maxOutboundQueue", sampler.getMaxOutboundQueue());
+        server.put("maxWriteBehindQueue", sampler.getMaxWriteBehindQueue());
+        server.put("writeBehindFlushed", writeBehindService.getFlushedMessages());
+        server.put("writeBehindDropped", writeBehindService.getDroppedMessages());
+        document.put("server", server);
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%n연결: 성공 %d, 실패 %d, 세션 오류 %d (%.1f초)%n",
+                connected, connectFailures, tracker.getSessionErrors(), connectSeconds));
+        summary.append(String.format("발행: 목표 %d/s, 실제 %.1f/s, 발행 %d, 발행 실패 %d%n",
+                options.messageRate(), tracker.getSent() / seconds, tracker.getSent(), tracker.getSendFailures()));
+        summary.append(String.format("전달: 기대 %d, 수신 %d (%.1f/s), 유실 %d (%.3f%%)%n",
+                tracker.getExpectedDeliveries(), tracker.getReceivedDeliveries(),
+                tracker.getReceivedDeliveries() / seconds, lost, lossPercent));
+        summary.append(String.format("지연(ms): p50 %.2f, p95 %.2f, p99 %.2f, p99.9 %.2f%n",
+                tracker.latencyPercentileMillis(50), tracker.latencyPercentileMillis(95),
+                tracker.latencyPercentileMillis(99), tracker.latencyPercentileMillis(99.9)));
+        summary.append(String.format("서버: 최대 힙 %d MB, 최대 스레드 %d, 최대 아웃바운드 대기 %d, 최대 write-behind 대기 %d, "
+                        + "저장 %d, 버림 %d",
+                sampler.getMaxHeapUsed() / (1024 * 1024), sampler.getMaxThreads(), sampler.getMaxOutboundQueue(),
+                sampler.getMaxWriteBehindQueue(), writeBehindService.getFlushedMessages(),
+                writeBehindService.getDroppedMessages()));
+        log.info("STOMP 부하 테스트 결과 (세션 {}개, {}초){}", connected, (long) seconds, summary);
+
+        Files.createDirectories(options.report().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report().toFile(), document);
+        log.info("결과 저장: {}", options.report().toAbsolutePath());
+    }
+
+    private static class SessionHandler extends StompSessionHandlerAdapter {
+
+        private final ChatDeliveryTracker tracker;
+
+        SessionHandler(ChatDeliveryTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            tracker.sessionError();
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            tracker.sessionError();
+        }
+    }
+
+    private static class MessageHandler implements StompFrameHandler {
+
+        private final ChatDeliveryTracker tracker;
+
+        MessageHandler(ChatDeliveryTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return ChatMessageDto.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            tracker.received(((ChatMessageDto) payload).getContent());
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.example.dogmeeting;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @PropertySource("classpath:application-secret.properties")
+@EnableScheduling
 public class DogmeetingApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,108 @@
+package com.example.dogmeeting.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 목적지(destination)별로 인덱싱된 STOMP 구독 저장소
+ * 기본 DefaultSubscriptionRegistry는 메시지마다 전체 구독을 패턴 매칭하지만,
+ * 채팅방 구독(/sub/chat/room/{id})은 정확히 일치하는 목적지이므로 해시 조회 한 번으로 구독자를 찾는다.
+ * 패턴 구독(*, {})은 별도로 보관하여 패턴 구독이 있을 때만 매칭한다.
+ * (selector 헤더 기반 필터링은 지원하지 않는다)
+ */
+public class DestinationSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    // destination -> (sessionId -> subscriptionIds)
+    private final ConcurrentMap<String, ConcurrentMap<String, Set<String>>> exactSubscriptions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Set<String>>> patternSubscriptions = new ConcurrentHashMap<>();
+
+    // sessionId -> (subscriptionId -> destination)
+    private final ConcurrentMap<String, ConcurrentMap<String, String>> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination, Message<?> message) {
+        sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+        subscriptionsFor(destination).compute(destination, (d, bySession) -> {
+            if (bySession == null) {
+                bySession = new ConcurrentHashMap<>();
+            }
+            bySession.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(subscriptionId);
+            return bySession;
+        });
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            removeFromDestination(sessionId, subscriptionId, destination);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.forEach((subscriptionId, destination) ->
+                    removeFromDestination(sessionId, subscriptionId, destination));
+        }
+    }
+
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        MultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+        addAll(result, exactSubscriptions.get(destination));
+        if (!patternSubscriptions.isEmpty()) {
+            patternSubscriptions.forEach((pattern, bySession) -> {
+                if (pathMatcher.match(pattern, destination)) {
+                    addAll(result, bySession);
+                }
+            });
+        }
+        return result;
+    }
+
+    public int getDestinationCount() {
+        return exactSubscriptions.size() + patternSubscriptions.size();
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private ConcurrentMap<String, ConcurrentMap<String, Set<String>>> subscriptionsFor(String destination) {
+        return pathMatcher.isPattern(destination) ? patternSubscriptions : exactSubscriptions;
+    }
+
+    private void removeFromDestination(String sessionId, String subscriptionId, String destination) {
+        subscriptionsFor(destination).computeIfPresent(destination, (d, bySession) -> {
+            bySession.computeIfPresent(sessionId, (id, subscriptionIds) -> {
+                subscriptionIds.remove(subscriptionId);
+                return subscriptionIds.isEmpty() ? null : subscriptionIds;
+            });
+            return bySession.isEmpty() ? null : bySession;
+        });
+    }
+
+    private static void addAll(MultiValueMap<String, String> result, Map<String, Set<String>> bySession) {
+        if (bySession != null) {
+            bySession.forEach((sessionId, subscriptionIds) -> result.addAll(sessionId, new ArrayList<>(subscriptionIds)));
+        }
+    }
+}
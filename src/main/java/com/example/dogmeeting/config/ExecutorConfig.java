@@ -0,0 +1,28 @@
+package com.example.dogmeeting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 애플리케이션 백그라운드 작업용 실행기 (비동기 I/O 완료 후 DB 반영 등)
+ * WebSocket 채널 실행기가 Executor 빈으로 등록되어 있어 스프링 부트 기본 applicationTaskExecutor는 만들어지지 않는다.
+ * SDK 이벤트 루프 스레드에서 블로킹 작업(트랜잭션)을 실행하지 않도록 이 실행기로 넘긴다.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor appExecutor(@Value("${app.executor.pool-size:4}") int poolSize,
+                                              @Value("${app.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("app-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.dogmeeting.config;
+
+import com.example.dogmeeting.service.ChatMessageWriteBehindService;
+import com.example.dogmeeting.service.ImageVariantProcessor;
+import com.example.dogmeeting.service.OrphanImageCollector;
+import com.example.dogmeeting.service.PresignedUrlCache;
+import com.example.dogmeeting.service.S3DeletionOutboxService;
+import com.example.dogmeeting.service.S3FileUploadService;
+import com.example.dogmeeting.service.SwipeEdgeCache;
+import com.example.dogmeeting.service.UserProfileCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 서비스가 이미 집계하고 있는 통계(캐시, write-behind, 삭제 outbox, 업로드 대기열 등)를 메트릭으로 노출
+ * 모두 수집(scrape) 시점에 기존 카운터를 읽는 함수형 미터라 요청 처리 경로에는 비용이 없다.
+ * HTTP 요청, JVM/GC, Hibernate 통계는 Actuator 자동 설정이 등록한다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder chatWriteBehindMetrics(ChatMessageWriteBehindService writeBehind) {
+        return registry -> {
+            Gauge.builder("dogmeeting.chat.write_behind.queue", writeBehind, ChatMessageWriteBehindService::getQueueDepth)
+                    .description("저장 대기 중인 채팅 메시지 수")
+                    .register(registry);
+            counter(registry, "dogmeeting.chat.write_behind.flushed", "저장된 채팅 메시지 수",
+                    writeBehind, ChatMessageWriteBehindService::getFlushedMessages);
+            counter(registry, "dogmeeting.chat.write_behind.dropped", "저장하지 못하고 버린 채팅 메시지 수",
+                    writeBehind, ChatMessageWriteBehindService::getDroppedMessages);
+            counter(registry, "dogmeeting.chat.write_behind.failed_flushes", "실패한 배치 저장 수",
+                    writeBehind, ChatMessageWriteBehindService::getFailedFlushCount);
+            FunctionTimer.builder("dogmeeting.chat.write_behind.flushes", writeBehind,
+                            ChatMessageWriteBehindService::getFlushCount,
+                            ChatMessageWriteBehindService::getTotalFlushNanos, TimeUnit.NANOSECONDS)
+                    .description("배치 저장 시간")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder s3DeletionMetrics(S3DeletionOutboxService outbox, OrphanImageCollector orphanCollector) {
+        return registry -> {
+            // 대기 작업 수는 수집할 때마다 COUNT 쿼리 1회
+            Gauge.builder("dogmeeting.s3.deletion.pending", outbox, S3DeletionOutboxService::getPendingTasks)
+                    .description("삭제 outbox 대기 작업 수")
+                    .register(registry);
+            counter(registry, "dogmeeting.s3.deletion.deleted", "삭제된 S3 객체 수",
+                    outbox, S3DeletionOutboxService::getDeletedObjects);
+            counter(registry, "dogmeeting.s3.deletion.failed", "삭제에 실패한 S3 객체 수",
+                    outbox, S3DeletionOutboxService::getFailedDeletions);
+            FunctionTimer.builder("dogmeeting.s3.deletion.batches", outbox,
+                            S3DeletionOutboxService::getBatchCount,
+                            S3DeletionOutboxService::getTotalBatchNanos, TimeUnit.NANOSECONDS)
+                    .description("삭제 배치 처리 시간")
+                    .register(registry);
+            counter(registry, "dogmeeting.s3.orphan_gc.runs", "고아 객체 정리 실행 수",
+                    orphanCollector, OrphanImageCollector::getRunCount);
+            counter(registry, "dogmeeting.s3.orphan_gc.scanned", "고아 객체 정리에서 확인한 객체 수",
+                    orphanCollector, OrphanImageCollector::getScannedObjects);
+            counter(registry, "dogmeeting.s3.orphan_gc.orphans", "고아로 판정한 객체 수",
+                    orphanCollector, OrphanImageCollector::getOrphanObjects);
+        };
+    }
+
+    @Bean
+    public MeterBinder imageUploadMetrics(S3FileUploadService uploadService, ImageVariantProcessor variantProcessor) {
+        return registry -> {
+            Gauge.builder("dogmeeting.s3.uploads.in_flight", uploadService, S3FileUploadService::getUploadsInFlight)
+                    .description("전송 중인 S3 업로드 수")
+                    .register(registry);
+            Gauge.builder("dogmeeting.s3.uploads.pending", uploadService, S3FileUploadService::getPendingUploads)
+                    .description("전송 대기 중인 S3 업로드 수")
+                    .register(registry);
+            Gauge.builder("dogmeeting.image.variants.queued", variantProcessor, ImageVariantProcessor::getQueuedImages)
+                    .description("처리 대기 중인 이미지 수")
+                    .register(registry);
+            Gauge.builder("dogmeeting.image.variants.active", variantProcessor, ImageVariantProcessor::getActiveWorkers)
+                    .description("이미지를 처리 중인 워커 수")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(PresignedUrlCache presignedUrlCache, UserProfileCache userProfileCache,
+                                    SwipeEdgeCache swipeEdgeCache) {
+        return registry -> {
+            caffeine(registry, "presigned-url", presignedUrlCache, PresignedUrlCache::stats, PresignedUrlCache::size);
+            caffeine(registry, "user-profile", userProfileCache, UserProfileCache::stats, UserProfileCache::size);
+            Gauge.builder("cache.size", swipeEdgeCache, SwipeEdgeCache::size)
+                    .tag("cache", "swipe-edge")
+                    .description("캐시 항목 수")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder webSocketMetrics(WebSocketConfig webSocketConfig) {
+        // 아웃바운드 실행기는 브로커 설정 중에 생성되므로 수집 시점에 확인한다
+        return registry -> Gauge.builder("dogmeeting.websocket.outbound.queued", webSocketConfig,
+                        config -> config.getOutboundExecutor() != null
+                                ? config.getOutboundExecutor().getQueuedTaskCount() : 0)
+                .description("전송 대기 중인 STOMP 아웃바운드 메시지 수")
+                .register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, String description,
+                                    T source, ToDoubleFunction<T> count) {
+        FunctionCounter.builder(name, source, count)
+                .description(description)
+                .register(registry);
+    }
+
+    // Micrometer 캐시 메트릭과 같은 이름(cache.gets, cache.evictions, cache.size)으로 Caffeine 통계를 노출
+    // (함수형 미터는 대상 객체를 약한 참조로 들고 있으므로 람다가 아닌 캐시 빈 자체를 넘긴다)
+    private static <T> void caffeine(MeterRegistry registry, String cacheName, T cache,
+                                     Function<T, CacheStats> stats, ToDoubleFunction<T> size) {
+        FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).hitCount())
+                .tag("cache", cacheName)
+                .tag("result", "hit")
+                .description("캐시 조회 수")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).missCount())
+                .tag("cache", cacheName)
+                .tag("result", "miss")
+                .description("캐시 조회 수")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, c -> stats.apply(c).evictionCount())
+                .tag("cache", cacheName)
+                .description("캐시 제거 수")
+                .register(registry);
+        Gauge.builder("cache.size", cache, size)
+                .tag("cache", cacheName)
+                .description("캐시 항목 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.dogmeeting.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔드포인트의 요청당 SQL 문 예산 (메서드에 없으면 컨트롤러, 둘 다 없으면 app.query-budget.default-max)
+ * 지연 로딩을 포함해 요청 스레드에서 실행된 모든 Hibernate SQL 문을 센다.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
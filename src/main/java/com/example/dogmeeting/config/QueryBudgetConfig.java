@@ -0,0 +1,55 @@
+package com.example.dogmeeting.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 요청당 SQL 예산/N+1 감지 등록
+ * warn 모드(운영)는 요청이 끝난 뒤 경고만 남기고, strict 모드(개발/테스트)는 예산을 넘는 SQL 문에서
+ * QueryBudgetExceededException을 던져 요청을 실패시킨다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetFilter queryBudgetFilter;
+
+    public QueryBudgetConfig(@Value("${app.query-budget.default-max:20}") int defaultBudget,
+                             @Value("${app.query-budget.repeat-threshold:5}") int repeatThreshold,
+                             @Value("${app.query-budget.mode:warn}") String mode,
+                             @Value("${app.query-budget.log-requests:false}") boolean logRequests) {
+        if (!mode.equals("warn") && !mode.equals("strict")) {
+            throw new IllegalArgumentException("app.query-budget.mode는 warn 또는 strict여야 합니다.");
+        }
+        this.queryBudgetFilter = new QueryBudgetFilter(defaultBudget, repeatThreshold, mode.equals("strict"), logRequests);
+    }
+
+    // 보안 필터와 OSIV 지연 로딩까지 포함하도록 바깥쪽에서 실행
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilterRegistration() {
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(queryBudgetFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimingListener.class.getName());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetFilter);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.dogmeeting.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청당 SQL 문 수/DB 시간 집계와 예산 검사
+ * 필터가 요청 전체(OSIV 지연 로딩, 응답 직렬화 포함)를 감싸 통계를 시작하고, 인터셉터로 등록된 같은 객체가
+ * 핸들러가 정해지면 엔드포인트("GET /api/dogs/{dogId}")와 @QueryBudget 예산을 확정한다.
+ * 요청이 끝나면 예산 초과와 N+1 의심(같은 SQL 반복)을 경고로 남기고, 통계를 요청 속성(RequestQueryStats.ATTRIBUTE)에 둔다.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter implements HandlerInterceptor {
+
+    private final int defaultBudget;
+    private final int repeatThreshold;
+    private final boolean strict;
+    private final boolean logRequests;
+
+    public QueryBudgetFilter(int defaultBudget, int repeatThreshold, boolean strict, boolean logRequests) {
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.strict = strict;
+        this.logRequests = logRequests;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin(
+                request.getMethod() + " " + request.getRequestURI(), defaultBudget, repeatThreshold, strict);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            request.setAttribute(RequestQueryStats.ATTRIBUTE, stats);
+            report(stats, response.getStatus());
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null && handler instanceof HandlerMethod handlerMethod) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            stats.declare(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()),
+                    budgetOf(handlerMethod));
+        }
+        return true;
+    }
+
+    private int budgetOf(HandlerMethod handlerMethod) {
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+
+    private void report(RequestQueryStats stats, int status) {
+        if (stats.isOverBudget()) {
+            log.warn("쿼리 예산 초과: {} SQL {}개 (예산 {}개), DB {}ms", stats.getEndpoint(), stats.getStatements(),
+                    stats.getBudget(), String.format("%.1f", stats.getDbMillis()));
+        }
+        if (stats.isRepeated()) {
+            log.warn("N+1 의심: {} 같은 SQL {}회 반복: {}", stats.getEndpoint(), stats.getRepeatedCount(),
+                    stats.getRepeatedStatement());
+        }
+        if (logRequests && stats.getStatements() > 0) {
+            log.info("{} -> {}, SQL {}개, DB {}ms", stats.getEndpoint(), status, stats.getStatements(),
+                    String.format("%.1f", stats.getDbMillis()));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.dogmeeting.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * JDBC 실행 시간을 현재 요청 통계에 더한다. (hibernate.session.events.auto로 세션마다 생성)
+ */
+public class QueryTimingListener implements SessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private static void record(long start) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.executed(System.nanoTime() - start);
+        }
+    }
+}
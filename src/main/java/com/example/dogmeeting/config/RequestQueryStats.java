@@ -0,0 +1,123 @@
+package com.example.dogmeeting.config;
+
+import com.example.dogmeeting.exception.QueryBudgetExceededException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청 하나에서 실행된 SQL 통계 (요청 스레드에 묶인 ThreadLocal)
+ * Hibernate가 SQL 문을 준비할 때마다(QueryCountInspector) 문 수와 같은 SQL 반복 횟수를,
+ * JDBC 실행이 끝날 때마다(QueryTimingListener) DB 시간을 더한다. 요청 밖(스케줄러, 백그라운드 스레드) 쿼리는 집계하지 않는다.
+ * Hibernate SQL은 파라미터가 ?로 들어가므로 같은 문자열의 반복은 루프 안에서 같은 쿼리를 실행한 것(N+1)으로 본다.
+ */
+public final class RequestQueryStats {
+
+    /** 요청이 끝난 뒤 통계를 담아 두는 요청 속성 */
+    public static final String ATTRIBUTE = RequestQueryStats.class.getName();
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final int repeatThreshold;
+    private final boolean strict;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+
+    private String endpoint;
+    private int budget;
+    private int statements;
+    private long dbNanos;
+    private String repeatedStatement;
+    private int repeatedCount;
+    private boolean violationThrown;
+
+    private RequestQueryStats(String endpoint, int budget, int repeatThreshold, boolean strict) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+        this.strict = strict;
+    }
+
+    static RequestQueryStats begin(String endpoint, int budget, int repeatThreshold, boolean strict) {
+        RequestQueryStats stats = new RequestQueryStats(endpoint, budget, repeatThreshold, strict);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 현재 요청의 통계, 요청 스레드가 아니면 null
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    // 핸들러가 정해진 뒤 엔드포인트 이름과 예산을 확정한다
+    void declare(String endpoint, int budget) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+        int count = statementCounts.merge(sql, 1, Integer::sum);
+        if (count > repeatedCount) {
+            repeatedCount = count;
+            repeatedStatement = sql;
+        }
+        if (strict && !violationThrown && (isOverBudget() || isRepeated())) {
+            // 한 번만 던진다 (롤백/오류 처리 중 쿼리는 통과)
+            violationThrown = true;
+            throw new QueryBudgetExceededException(describeViolation());
+        }
+    }
+
+    void executed(long nanos) {
+        dbNanos += nanos;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public double getDbMillis() {
+        return dbNanos / 1_000_000.0;
+    }
+
+    public boolean isOverBudget() {
+        return statements > budget;
+    }
+
+    public boolean isRepeated() {
+        return repeatedCount >= repeatThreshold;
+    }
+
+    public String getRepeatedStatement() {
+        return repeatedStatement;
+    }
+
+    public int getRepeatedCount() {
+        return repeatedCount;
+    }
+
+    String describeViolation() {
+        if (isOverBudget()) {
+            return String.format("쿼리 예산 초과: %s SQL %d개 (예산 %d개)", endpoint, statements, budget);
+        }
+        return String.format("N+1 의심: %s 같은 SQL %d회 반복: %s", endpoint, repeatedCount, repeatedStatement);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.dogmeeting.config;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 웹소켓 아웃바운드 채널용 샤드 실행기
+ * 세션 ID 해시로 단일 스레드 샤드를 선택하므로 세션별 전송 순서가 보장되고,
+ * 한 채팅방의 대량 전송이 다른 세션 전송을 막지 않는다.
+ * 샤드 큐가 가득 차면 호출 스레드를 최대 enqueueTimeoutMillis 동안 대기시켜 역압(back-pressure)을 건다.
+ */
+public class ShardedOutboundExecutor implements TaskExecutor {
+
+    private final ThreadPoolExecutor[] shards;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public ShardedOutboundExecutor(int shardCount, int queueCapacity, long enqueueTimeoutMillis) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다.");
+        }
+        this.shards = new ThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory("ws-outbound-" + i + "-"),
+                    (task, executor) -> {
+                        try {
+                            if (executor.isShutdown()
+                                    || !executor.getQueue().offer(task, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                                throw new RejectedExecutionException("웹소켓 아웃바운드 큐가 가득 찼습니다.");
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("웹소켓 아웃바운드 큐 대기 중 인터럽트", e);
+                        }
+                    });
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        shards[shardIndex(task)].execute(task);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    // 모든 샤드에 대기 중인 전송 작업 수
+    public int getQueuedTaskCount() {
+        int queued = 0;
+        for (ThreadPoolExecutor shard : shards) {
+            queued += shard.getQueue().size();
+        }
+        return queued;
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    private int shardIndex(Runnable task) {
+        if (task instanceof MessageHandlingRunnable runnable) {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(runnable.getMessage().getHeaders());
+            if (sessionId != null) {
+                return Math.floorMod(sessionId.hashCode(), shards.length);
+            }
+        }
+        return Math.floorMod(roundRobin.getAndIncrement(), shards.length);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.dogmeeting.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * swipes (from_user_id, to_user_id) 유니크 제약 마이그레이션
+ * 이전 버전은 좋아요만 누른 행이 있는 상태에서 스와이프하면 같은 쌍의 행을 하나 더 만들었다.
+ * 중복이 남아 있으면 ddl-auto=update의 제약 생성이 실패하고 로그만 남으므로, 스키마 갱신 직후(요청을 받기 전)
+ * 같은 쌍의 행을 하나로 합친 뒤(스와이프 시각은 가장 이른 값, 좋아요는 OR) 제약을 직접 추가한다.
+ * 합치면서 사라진 중복 좋아요만큼 user_like_counts도 줄인다. 제약이 이미 있으면 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SwipeUniqueKeyMigration {
+
+    static final String CONSTRAINT_NAME = "uk_swipes_from_to";
+
+    private static final Set<String> KEY_COLUMNS = Set.of("from_user_id", "to_user_id");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SwipeUniqueKeyMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (hasUniqueKey()) {
+            return;
+        }
+        Integer merged = transactionTemplate.execute(status -> mergeDuplicates());
+        try {
+            jdbcTemplate.execute("ALTER TABLE swipes ADD CONSTRAINT " + CONSTRAINT_NAME
+                    + " UNIQUE (from_user_id, to_user_id)");
+            log.info("swipes 유니크 제약 추가 완료 (중복 쌍 {}개 병합)", merged);
+        } catch (DataAccessException e) {
+            // 배포 중 이전 버전 서버가 그 사이 중복을 만든 경우 등, 다음 시작 시 다시 병합한다
+            log.error("swipes 유니크 제약 추가 실패 (중복 쌍 {}개 병합): {}", merged, e.getMessage(), e);
+        }
+    }
+
+    // (from_user_id, to_user_id)만으로 이루어진 유니크 인덱스가 있는지 (제약 이름은 DB마다 다르게 저장되므로 컬럼으로 판단)
+    boolean hasUniqueKey() {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? "SWIPES" : "swipes";
+            Map<String, Set<String>> columnsByIndex = new HashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, true, true)) {
+                while (rs.next()) {
+                    String index = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        columnsByIndex.computeIfAbsent(index, i -> new HashSet<>()).add(column.toLowerCase());
+                    }
+                }
+            }
+            return columnsByIndex.containsValue(KEY_COLUMNS);
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+
+    // 중복 쌍마다 행 하나만 남기고 나머지를 지운다, 반환: 병합한 쌍 수
+    private int mergeDuplicates() {
+        List<Map<String, Object>> pairs = jdbcTemplate.queryForList(
+                "SELECT from_user_id, to_user_id FROM swipes GROUP BY from_user_id, to_user_id HAVING COUNT(*) > 1");
+        for (Map<String, Object> pair : pairs) {
+            long fromUserId = ((Number) pair.get("from_user_id")).longValue();
+            long toUserId = ((Number) pair.get("to_user_id")).longValue();
+            mergePair(fromUserId, toUserId);
+        }
+        return pairs.size();
+    }
+
+    private void mergePair(long fromUserId, long toUserId) {
+        List<SwipeRow> rows = jdbcTemplate.query(
+                "SELECT swipe_id, swiped_at, is_like, liked_at FROM swipes " +
+                "WHERE from_user_id = ? AND to_user_id = ? ORDER BY swipe_id FOR UPDATE",
+                (rs, rowNum) -> new SwipeRow(rs.getLong("swipe_id"), rs.getTimestamp("swiped_at"),
+                        rs.getBoolean("is_like"), rs.getTimestamp("liked_at")),
+                fromUserId, toUserId);
+
+        // 남길 행: 가장 먼저 스와이프한 행 (스와이프 목록 커서가 swipe_id 순서이므로), 스와이프가 없으면 가장 오래된 행
+        SwipeRow keeper = rows.get(0);
+        Timestamp swipedAt = null;
+        Timestamp likedAt = null;
+        int likedRows = 0;
+        for (SwipeRow row : rows) {
+            if (row.swipedAt() != null && (swipedAt == null || row.swipedAt().before(swipedAt))) {
+                swipedAt = row.swipedAt();
+                keeper = row;
+            }
+            if (row.like()) {
+                likedRows++;
+                if (row.likedAt() != null && (likedAt == null || row.likedAt().after(likedAt))) {
+                    likedAt = row.likedAt();
+                }
+            }
+        }
+
+        long keeperId = keeper.id();
+        boolean liked = likedRows > 0;
+        jdbcTemplate.update("UPDATE swipes SET swiped_at = ?, is_like = ?, liked_at = ? WHERE swipe_id = ?",
+                swipedAt, liked, liked ? likedAt : null, keeperId);
+        jdbcTemplate.update("DELETE FROM swipes WHERE from_user_id = ? AND to_user_id = ? AND swipe_id <> ?",
+                fromUserId, toUserId, keeperId);
+
+        // 같은 쌍의 좋아요가 여러 번 집계되어 있던 만큼 보정
+        if (likedRows > 1) {
+            jdbcTemplate.update("UPDATE user_like_counts SET like_count = GREATEST(like_count - ?, 0) WHERE user_id = ?",
+                    likedRows - 1, toUserId);
+        }
+        log.warn("중복 스와이프 병합: fromUserId={}, toUserId={}, 행 {}개 -> swipeId={}",
+                fromUserId, toUserId, rows.size(), keeperId);
+    }
+
+    private record SwipeRow(long id, Timestamp swipedAt, boolean like, Timestamp likedAt) {
+    }
+}
@@ -2,13 +2,10 @@ package com.example.dogmeeting.controller;
 
 import com.example.dogmeeting.dto.ChatMessageDto;
 import com.example.dogmeeting.dto.MessageType;
-import com.example.dogmeeting.entity.ChatMessage;
-import com.example.dogmeeting.entity.ChatRoom;
 import com.example.dogmeeting.entity.User;
 import com.example.dogmeeting.exception.UserNotFoundException;
-import com.example.dogmeeting.repository.ChatMessageRepository;
-import com.example.dogmeeting.repository.ChatRoomRepository;
 import com.example.dogmeeting.repository.UserRepository;
+import com.example.dogmeeting.service.ChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -23,13 +20,18 @@ import java.time.LocalDateTime;
 public class ChatController {
 
     private final SimpMessageSendingOperations messagingTemplate;
-    private final ChatMessageRepository chatMessageRepository;
-    private final ChatRoomRepository chatRoomRepository;
+    private final ChatService chatService;
     private final UserRepository userRepository;
 
     @MessageMapping("/chat/message")
     public void message(ChatMessageDto messageDto) {
         try {
+            if (messageDto.getType() == MessageType.CHAT) {
+                // 일반 채팅 메시지는 서비스에서 ID 발급, 저장 큐 적재, 브로드캐스트까지 처리
+                chatService.sendMessage(messageDto);
+                return;
+            }
+
             // 사용자 정보 조회
             User sender = userRepository.findById(messageDto.getSenderId())
                     .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
@@ -38,12 +40,6 @@ public class ChatController {
             messageDto.setSenderNickname(sender.getNickname());
             messageDto.setTimestamp(LocalDateTime.now());
 
-            // 채팅 메시지 타입에 따른 처리
-            if (messageDto.getType() == MessageType.CHAT) {
-                // 일반 채팅 메시지인 경우 DB에 저장
-                saveChatMessage(messageDto, sender);
-            }
-
             // 해당 채팅방을 구독한 클라이언트들에게 메시지 전송
             messagingTemplate.convertAndSend(
                     "/sub/chat/room/" + messageDto.getChatroomId(),
@@ -103,24 +99,4 @@ public class ChatController {
             log.error("사용자 퇴장 처리 중 오류 발생: {}", e.getMessage(), e);
         }
     }
-
-    private void saveChatMessage(ChatMessageDto messageDto, User sender) {
-        try {
-            ChatRoom chatRoom = chatRoomRepository.findById(messageDto.getChatroomId())
-                    .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
-
-            ChatMessage chatMessage = ChatMessage.builder()
-                    .chatRoom(chatRoom)
-                    .sender(sender)
-                    .content(messageDto.getContent())
-                    .read(false)
-                    .build();
-
-            chatMessageRepository.save(chatMessage);
-
-        } catch (Exception e) {
-            log.error("채팅 메시지 저장 중 오류 발생: {}", e.getMessage(), e);
-            throw e;
-        }
-    }
 }
\ No newline at end of file
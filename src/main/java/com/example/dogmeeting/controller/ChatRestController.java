@@ -1,7 +1,10 @@
 package com.example.dogmeeting.controller;
 
+import com.example.dogmeeting.config.QueryBudget;
+import com.example.dogmeeting.dto.ChatInboxResponse;
 import com.example.dogmeeting.dto.ChatMessageResponse;
 import com.example.dogmeeting.dto.ChatRoomResponse;
+import com.example.dogmeeting.dto.CursorPageResponse;
 import com.example.dogmeeting.service.ChatService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +29,16 @@ public class ChatRestController {
         return ResponseEntity.ok(messages);
     }
 
+    @GetMapping("/{chatroomId}/messages")
+    public ResponseEntity<CursorPageResponse<ChatMessageResponse>> getChatMessages(
+            @PathVariable Long chatroomId,
+            @RequestParam Long userId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageResponse<ChatMessageResponse> page = chatService.getChatHistoryPage(chatroomId, userId, before, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{chatroomId}/unread-count")
     public ResponseEntity<Map<String, Integer>> getUnreadMessageCount(
             @PathVariable Long chatroomId,
@@ -54,11 +67,19 @@ public class ChatRestController {
     }
 
     @GetMapping("/users/{userId}/chatrooms")
+    @QueryBudget(3)
     public ResponseEntity<List<ChatRoomResponse>> getUserChatRooms(@PathVariable Long userId) {
         List<ChatRoomResponse> chatRooms = chatService.getUserChatRooms(userId);
         return ResponseEntity.ok(chatRooms);
     }
 
+    @GetMapping("/users/{userId}/inbox")
+    @QueryBudget(3)
+    public ResponseEntity<List<ChatInboxResponse>> getChatInbox(@PathVariable Long userId) {
+        List<ChatInboxResponse> inbox = chatService.getChatInbox(userId);
+        return ResponseEntity.ok(inbox);
+    }
+
     @GetMapping("/{chatroomId}/last-message")
     public ResponseEntity<ChatMessageResponse> getLastMessage(
             @PathVariable Long chatroomId) {
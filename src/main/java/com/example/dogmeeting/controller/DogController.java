@@ -4,7 +4,6 @@ import com.example.dogmeeting.dto.DogCreateRequest;
 import com.example.dogmeeting.dto.DogResponse;
 import com.example.dogmeeting.dto.DogProfileResponse;
 import com.example.dogmeeting.service.DogService;
-import com.example.dogmeeting.service.FileUploadService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +23,6 @@ import java.util.Map;
 public class DogController {
 
     private final DogService dogService;
-    private final FileUploadService fileUploadService; // This is needed for uploadDogImage
 
     @PostMapping(value = "/users/{userId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Map<String, Long>> createDog(
@@ -78,10 +76,10 @@ public class DogController {
             @RequestParam("userId") Long userId,
             @RequestPart("image") MultipartFile image) {
         
-        String imageKey = fileUploadService.uploadDogImage(image, userId, dogId);
-        dogService.updateDogImage(dogId, imageKey);
-        
-        return ResponseEntity.ok("강아지 사진이 성공적으로 업로드되었습니다.");
+        // 업로드는 비동기로 진행되며 완료되면 강아지 사진이 교체된다
+        dogService.uploadDogImage(dogId, userId, image);
+
+        return ResponseEntity.accepted().body("강아지 사진 업로드를 시작했습니다.");
     }
 
 
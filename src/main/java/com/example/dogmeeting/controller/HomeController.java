@@ -1,5 +1,6 @@
 package com.example.dogmeeting.controller;
 
+import com.example.dogmeeting.config.QueryBudget;
 import com.example.dogmeeting.dto.UserProfileResponse;
 import com.example.dogmeeting.dto.UserUpdateRequest;
 import com.example.dogmeeting.dto.UserRankingResponse;
@@ -55,11 +56,22 @@ public class HomeController {
         return ResponseEntity.ok(rankings);
     }
 
+    /**
+     * 특정 사용자의 전체 랭킹 순위 조회 ("내 순위")
+     * GET /api/home/ranking/users/{userId}
+     */
+    @GetMapping("/ranking/users/{userId}")
+    public ResponseEntity<UserRankingResponse> getUserRank(@PathVariable Long userId) {
+        UserRankingResponse ranking = userService.getUserRank(userId);
+        return ResponseEntity.ok(ranking);
+    }
+
     /**
      * 지역별 강아지 랭킹 조회 (홈 화면 - 내 지역 TOP 3)
      * GET /api/home/regional-dogs/{city}
      */
     @GetMapping("/regional-dogs/{city}")
+    @QueryBudget(2)
     public ResponseEntity<List<DogRankingResponse>> getTopDogsInRegion(
             @PathVariable String city,
             @RequestParam(defaultValue = "3") int limit) {
@@ -72,6 +84,7 @@ public class HomeController {
      * GET /api/home/dog-ranking?page=0&size=10
      */
     @GetMapping("/dog-ranking")
+    @QueryBudget(2)
     public ResponseEntity<List<DogRankingResponse>> getDogRanking(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
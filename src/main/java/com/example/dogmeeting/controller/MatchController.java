@@ -1,5 +1,6 @@
 package com.example.dogmeeting.controller;
 
+import com.example.dogmeeting.config.QueryBudget;
 import com.example.dogmeeting.dto.MatchResponse;
 import com.example.dogmeeting.entity.Match;
 import com.example.dogmeeting.entity.User;
@@ -22,6 +23,7 @@ public class MatchController {
     private final UserRepository userRepository;
 
     @GetMapping("/users/{userId}")
+    @QueryBudget(2)
     public ResponseEntity<List<MatchResponse>> getUserMatches(@PathVariable Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
@@ -35,6 +37,7 @@ public class MatchController {
     }
 
     @GetMapping("/users/{userId}/active")
+    @QueryBudget(2)
     public ResponseEntity<List<MatchResponse>> getActiveMatches(@PathVariable Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
@@ -61,6 +64,7 @@ public class MatchController {
     }
 
     @GetMapping("/requests/sent/{userId}")
+    @QueryBudget(2)
     public ResponseEntity<List<MatchResponse>> getSentMatchRequests(@PathVariable Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
@@ -74,6 +78,7 @@ public class MatchController {
     }
 
     @GetMapping("/requests/received/{userId}")
+    @QueryBudget(2)
     public ResponseEntity<List<MatchResponse>> getReceivedMatchRequests(@PathVariable Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
@@ -1,18 +1,27 @@
 package com.example.dogmeeting.controller;
 
-import com.example.dogmeeting.dto.RegionData;
 import com.example.dogmeeting.service.RegionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.time.Duration;
 
+/**
+ * 지역 데이터 API
+ * 지역 카탈로그는 변하지 않으므로 미리 직렬화한 JSON 바이트를 그대로 내려주고,
+ * ETag/Cache-Control로 클라이언트 캐시와 304 응답을 지원한다.
+ */
 @RestController
 @RequestMapping("/api/regions")
 @RequiredArgsConstructor
 public class RegionController {
 
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+
     private final RegionService regionService;
 
     /**
@@ -20,9 +29,8 @@ public class RegionController {
      * GET /api/regions/cities
      */
     @GetMapping("/cities")
-    public ResponseEntity<List<String>> getCities() {
-        List<String> cities = regionService.getCities();
-        return ResponseEntity.ok(cities);
+    public ResponseEntity<byte[]> getCities(WebRequest request) {
+        return toResponse(regionService.getCitiesJson(), request);
     }
 
     /**
@@ -30,9 +38,8 @@ public class RegionController {
      * GET /api/regions/cities/{cityName}/districts
      */
     @GetMapping("/cities/{cityName}/districts")
-    public ResponseEntity<List<String>> getDistrictsByCity(@PathVariable String cityName) {
-        List<String> districts = regionService.getDistrictsByCity(cityName);
-        return ResponseEntity.ok(districts);
+    public ResponseEntity<byte[]> getDistrictsByCity(@PathVariable String cityName, WebRequest request) {
+        return toResponse(regionService.getDistrictsJson(cityName), request);
     }
 
     /**
@@ -40,8 +47,19 @@ public class RegionController {
      * GET /api/regions/all
      */
     @GetMapping("/all")
-    public ResponseEntity<List<RegionData>> getAllRegions() {
-        List<RegionData> regions = regionService.getAllRegions();
-        return ResponseEntity.ok(regions);
+    public ResponseEntity<byte[]> getAllRegions(WebRequest request) {
+        return toResponse(regionService.getAllRegionsJson(), request);
+    }
+
+    // If-None-Match가 일치하면 304, 아니면 미리 만든 본문을 그대로 반환
+    private ResponseEntity<byte[]> toResponse(RegionService.CachedJson json, WebRequest request) {
+        if (request.checkNotModified(json.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(json.etag())
+                .cacheControl(CACHE_CONTROL)
+                .body(json.body());
     }
-} 
\ No newline at end of file
+}
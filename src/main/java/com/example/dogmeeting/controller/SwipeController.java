@@ -1,5 +1,7 @@
 package com.example.dogmeeting.controller;
 
+import com.example.dogmeeting.config.QueryBudget;
+import com.example.dogmeeting.dto.CursorPageResponse;
 import com.example.dogmeeting.dto.MatchResponse;
 import com.example.dogmeeting.dto.SwipeRequest;
 import com.example.dogmeeting.dto.SwipeResponse;
@@ -43,10 +45,14 @@ public class SwipeController {
     public ResponseEntity<?> toggleLike(
             @PathVariable Long fromUserId,
             @PathVariable Long toUserId) {
-        boolean isLiked = swipeService.toggleLike(fromUserId, toUserId);
-        
-        String message = isLiked ? "좋아요를 눌렀습니다." : "좋아요를 취소했습니다.";
-        return ResponseEntity.ok(message);
+        try {
+            boolean isLiked = swipeService.toggleLike(fromUserId, toUserId);
+
+            String message = isLiked ? "좋아요를 눌렀습니다." : "좋아요를 취소했습니다.";
+            return ResponseEntity.ok(message);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -74,6 +80,7 @@ public class SwipeController {
      * GET /api/swipes/sent/{userId}
      */
     @GetMapping("/sent/{userId}")
+    @QueryBudget(3)
     public ResponseEntity<List<SwipeResponse>> getSentSwipes(@PathVariable Long userId) {
         List<SwipeResponse> sentSwipes = swipeService.getSentSwipes(userId);
         return ResponseEntity.ok(sentSwipes);
@@ -84,8 +91,35 @@ public class SwipeController {
      * GET /api/swipes/received/{userId}
      */
     @GetMapping("/received/{userId}")
+    @QueryBudget(3)
     public ResponseEntity<List<SwipeResponse>> getReceivedSwipes(@PathVariable Long userId) {
         List<SwipeResponse> receivedSwipes = swipeService.getReceivedSwipes(userId);
         return ResponseEntity.ok(receivedSwipes);
     }
+
+    /**
+     * 내가 스와이프한 목록 페이지 조회 (매칭된 상대 제외, 최신순)
+     * GET /api/swipes/sent/{userId}/page?cursor=&size=20
+     */
+    @GetMapping("/sent/{userId}/page")
+    @QueryBudget(3)
+    public ResponseEntity<CursorPageResponse<SwipeResponse>> getSentSwipesPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(swipeService.getSentSwipesPage(userId, cursor, size));
+    }
+
+    /**
+     * 내가 받은 스와이프 목록 페이지 조회 (매칭된 상대 제외, 최신순)
+     * GET /api/swipes/received/{userId}/page?cursor=&size=20
+     */
+    @GetMapping("/received/{userId}/page")
+    @QueryBudget(3)
+    public ResponseEntity<CursorPageResponse<SwipeResponse>> getReceivedSwipesPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(swipeService.getReceivedSwipesPage(userId, cursor, size));
+    }
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.dogmeeting.controller;
 
+import com.example.dogmeeting.dto.CursorPageResponse;
 import com.example.dogmeeting.dto.UserJoinRequest;
 import com.example.dogmeeting.dto.UserLoginRequest;
 import com.example.dogmeeting.dto.UserResponse;
@@ -65,6 +66,15 @@ public class UserController {
         return ResponseEntity.ok(matches);
     }
 
+    @GetMapping("/{userId}/feed")
+    public ResponseEntity<CursorPageResponse<UserResponse>> getCandidateFeed(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<UserResponse> feed = userService.getCandidateFeed(userId, cursor, size);
+        return ResponseEntity.ok(feed);
+    }
+
     @PutMapping("/{userId}/profile")
     public ResponseEntity<String> updateProfile(
             @PathVariable Long userId,
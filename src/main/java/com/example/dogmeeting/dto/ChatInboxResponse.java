@@ -0,0 +1,29 @@
+package com.example.dogmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅 목록 항목 (상대방, 최근 메시지 미리보기, 안 읽은 메시지 수)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatInboxResponse {
+
+    private Long chatroomId;
+    private Long matchId;
+    private Long partnerId;
+    private String partnerNickname;
+    private Long lastMessageId;
+    private Long lastMessageSenderId;
+    private String lastMessageContent;
+    private LocalDateTime lastMessageAt;
+    private LocalDateTime createdAt;
+    private int unreadCount;
+}
@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class ChatMessageDto {
-    
+
+    // 서버에서 발급한 메시지 ID (CHAT 타입만)
+    private Long messageId;
+
     @NotNull(message = "채팅방 ID를 입력해주세요.")
     private Long chatroomId;
 
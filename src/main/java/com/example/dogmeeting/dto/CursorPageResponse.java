@@ -0,0 +1,23 @@
+package com.example.dogmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 기반 페이지 응답
+ * nextCursor를 다음 요청의 커서 파라미터로 넘기면 이어지는 페이지를 조회한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasNext;
+}
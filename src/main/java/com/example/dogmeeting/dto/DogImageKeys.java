@@ -0,0 +1,40 @@
+package com.example.dogmeeting.dto;
+
+import com.example.dogmeeting.entity.Dog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 강아지 사진의 S3 객체 키 묶음 (원본과 medium/thumbnail 변형)
+ * 변형을 만들 수 없었던 이미지나 변형 도입 이전 사진은 변형 키가 null이다.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class DogImageKeys {
+    private String originalKey;
+    private String mediumKey;
+    private String thumbnailKey;
+
+    public static DogImageKeys from(Dog dog) {
+        return DogImageKeys.builder()
+                .originalKey(dog.getPhotoUrl())
+                .mediumKey(dog.getPhotoMediumUrl())
+                .thumbnailKey(dog.getPhotoThumbnailUrl())
+                .build();
+    }
+
+    public List<String> allKeys() {
+        List<String> keys = new ArrayList<>(3);
+        for (String key : new String[]{originalKey, mediumKey, thumbnailKey}) {
+            if (key != null && !key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -20,6 +20,8 @@ public class DogProfileResponse {
     private Integer age;
     private String description;
     private String photoUrl;
+    private String mediumUrl;       // 상세 화면용 변형 (없으면 원본)
+    private String thumbnailUrl;    // 목록/랭킹용 변형 (없으면 원본)
     
     // 소유자 정보
     private Long ownerId;
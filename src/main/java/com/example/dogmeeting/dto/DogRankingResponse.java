@@ -8,13 +8,15 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class DogRankingResponse {
     private Long dogId;
     private String dogName;
     private String breed;
     private int age;
     private String photoUrl;
+    private String mediumUrl;       // 상세 화면용 변형 (없으면 원본)
+    private String thumbnailUrl;    // 목록/랭킹용 변형 (없으면 원본)
     private String description;
     
     // 소유자 정보
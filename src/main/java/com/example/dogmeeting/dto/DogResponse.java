@@ -20,6 +20,8 @@ public class DogResponse {
     private String gender; // Added this line
     private String description;
     private String photoUrl;
+    private String mediumUrl;       // 상세 화면용 변형 (없으면 원본)
+    private String thumbnailUrl;    // 목록/랭킹용 변형 (없으면 원본)
     
     public static DogResponse from(Dog dog) {
         return DogResponse.builder()
@@ -31,6 +33,8 @@ public class DogResponse {
                 .gender(dog.getGender()) // Added this line
                 .description(dog.getDescription())
                 .photoUrl(dog.getPhotoUrl())
+                .mediumUrl(dog.getPhotoMediumUrl())
+                .thumbnailUrl(dog.getPhotoThumbnailUrl())
                 .build();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.dogmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 검증을 마치고 메모리에 읽어 둔 업로드 이미지 (요청이 끝난 뒤 비동기 업로드할 때 사용)
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class ImageUpload {
+    private String originalFilename;
+    private String contentType;   // 헤더로 판별한 실제 형식 기준
+    private String extension;
+    private int width;
+    private int height;
+    private byte[] content;
+}
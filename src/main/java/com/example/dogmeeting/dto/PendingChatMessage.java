@@ -0,0 +1,23 @@
+package com.example.dogmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장 대기 중인 채팅 메시지 (write-behind 큐 및 저널 기록 단위)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingChatMessage {
+    private Long id;
+    private Long chatroomId;
+    private Long senderId;
+    private String content;
+    private LocalDateTime sentAt;
+}
@@ -1,15 +1,13 @@
 package com.example.dogmeeting.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-
 import java.util.List;
 
-@Getter
-@NoArgsConstructor
-@AllArgsConstructor
-public class RegionData {
-    private String city;
-    private List<String> districts;
-} 
\ No newline at end of file
+/**
+ * 시/도와 구/군 목록 (카탈로그에서 공유하는 값이므로 불변, 구/군 목록은 생성 시 복사한다)
+ */
+public record RegionData(String city, List<String> districts) {
+
+    public RegionData {
+        districts = List.copyOf(districts);
+    }
+}
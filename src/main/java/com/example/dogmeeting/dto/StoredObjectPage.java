@@ -0,0 +1,20 @@
+package com.example.dogmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 저장소 객체 목록 한 페이지 (키 오름차순)
+ */
+@Getter
+@AllArgsConstructor
+public class StoredObjectPage {
+    private List<StoredObject> objects;
+    private boolean truncated;   // 뒤에 더 있으면 true
+
+    public record StoredObject(String key, Instant lastModified) {
+    }
+}
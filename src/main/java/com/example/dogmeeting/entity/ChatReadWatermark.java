@@ -0,0 +1,51 @@
+package com.example.dogmeeting.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방별 사용자 읽음 위치 (마지막으로 읽은 메시지 ID)
+ * 메시지 ID는 시간 순으로 증가하므로, 이 값 이하의 상대방 메시지는 모두 읽은 것으로 본다.
+ */
+@Entity
+@Table(name = "chat_read_watermarks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chat_read_watermarks_room_user", columnNames = {"chatroom_id", "user_id"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ChatReadWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "watermark_id")
+    private Long id;
+
+    @Column(name = "chatroom_id", nullable = false)
+    private Long chatRoomId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private Long lastReadMessageId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // 읽음 위치는 앞으로만 이동
+    public void advanceTo(Long messageId) {
+        if (messageId != null && messageId > lastReadMessageId) {
+            this.lastReadMessageId = messageId;
+        }
+    }
+}
@@ -26,6 +26,10 @@ public class ChatRoom {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // 가장 최근 메시지 ID (채팅 목록 조회용, 메시지 저장 시 함께 갱신)
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
     @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ChatMessage> messages;
 
@@ -40,6 +40,13 @@ public class Dog {
     @Column(name = "photo_url")
     private String photoUrl;
 
+    // 목록/랭킹용 축소 변형 (변형이 없으면 null, 이때는 원본을 사용)
+    @Column(name = "photo_medium_url")
+    private String photoMediumUrl;
+
+    @Column(name = "photo_thumbnail_url")
+    private String photoThumbnailUrl;
+
     @OneToMany(mappedBy = "dog", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DogTitle> dogTitles;
 
@@ -51,7 +58,9 @@ public class Dog {
         this.description = description;
     }
 
-    public void updatePhotoUrl(String photoUrl) {
+    public void updatePhoto(String photoUrl, String photoMediumUrl, String photoThumbnailUrl) {
         this.photoUrl = photoUrl;
+        this.photoMediumUrl = photoMediumUrl;
+        this.photoThumbnailUrl = photoThumbnailUrl;
     }
 } 
\ No newline at end of file
@@ -30,6 +30,10 @@ public class Match {
     @Column(nullable = false)
     private String status;
 
+    // 두 사용자 ID를 정렬해 이은 키 (같은 쌍의 중복 매칭 방지용 유니크 키)
+    @Column(name = "pair_key", unique = true, length = 41)
+    private String pairKey;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -44,6 +48,14 @@ public class Match {
         }
     }
 
+    public static String pairKeyOf(Long userId1, Long userId2) {
+        return Math.min(userId1, userId2) + ":" + Math.max(userId1, userId2);
+    }
+
+    public void assignPairKey() {
+        this.pairKey = pairKeyOf(user1.getId(), user2.getId());
+    }
+
     public void updateStatus(String status) {
         this.status = status;
     }
@@ -0,0 +1,48 @@
+package com.example.dogmeeting.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * S3 고아 객체 정리 진행 위치
+ * 목록 조회는 키 오름차순이므로 마지막으로 확인한 키만 저장하면 중단된 실행을 그 다음 키부터 이어서 진행할 수 있다.
+ */
+@Entity
+@Table(name = "s3_gc_checkpoints")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class S3GcCheckpoint {
+
+    @Id
+    @Column(name = "prefix", length = 255)
+    private String prefix;
+
+    // 마지막으로 확인한 객체 키 (null이면 처음부터)
+    @Column(name = "last_key", length = 1024)
+    private String lastKey;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "last_completed_at")
+    private LocalDateTime lastCompletedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public void advanceTo(String key) {
+        this.lastKey = key;
+    }
+
+    public void complete() {
+        this.lastKey = null;
+        this.lastCompletedAt = LocalDateTime.now();
+    }
+}
@@ -6,7 +6,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "swipes")
+@Table(name = "swipes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_swipes_from_to", columnNames = {"from_user_id", "to_user_id"})
+}, indexes = {
+        @Index(name = "idx_swipes_from_swipe", columnList = "from_user_id, swipe_id"),
+        @Index(name = "idx_swipes_to_swipe", columnList = "to_user_id, swipe_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
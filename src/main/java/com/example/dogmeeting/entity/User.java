@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_city_gender", columnList = "city_id, gender"),
+        @Index(name = "idx_users_region_gender", columnList = "region_id, gender")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -37,6 +40,14 @@ public class User {
 
     private String district;
 
+    // 지역 카탈로그 ID (RegionService 기준, 매칭/랭킹 조회용)
+    @Column(name = "city_id")
+    private Integer cityId;
+
+    // 구/군 단위 지역 ID (구/군이 없으면 시/도 단위 ID)
+    @Column(name = "region_id")
+    private Integer regionId;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -79,4 +90,9 @@ public class User {
         this.city = city;
         this.district = district;
     }
+
+    public void assignRegion(Integer cityId, Integer regionId) {
+        this.cityId = cityId;
+        this.regionId = regionId;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.dogmeeting.event;
+
+/**
+ * 좋아요 랭킹 인덱스를 집계 테이블/swipes에서 다시 적재했음을 알리는 이벤트
+ * 좋아요 수를 함께 쓰는 인덱스(사용자 랭킹)가 같은 값으로 다시 맞추는 데 쓴다.
+ */
+public record LikeRankingReloadedEvent() {
+}
@@ -0,0 +1,14 @@
+package com.example.dogmeeting.event;
+
+import java.util.List;
+
+/**
+ * 홈 프로필(UserProfileResponse)에 포함되는 데이터가 바뀌었음을 알리는 이벤트
+ * 프로필 수정, 강아지 등록/수정/삭제, 좋아요 토글, 매칭 생성 시 영향받는 사용자 ID와 함께 발행된다.
+ */
+public record UserProfileChangedEvent(List<Long> userIds) {
+
+    public static UserProfileChangedEvent of(Long... userIds) {
+        return new UserProfileChangedEvent(List.of(userIds));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.dogmeeting.exception;
+
+public class InvalidImageException extends IllegalArgumentException {
+    public InvalidImageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.dogmeeting.exception;
+
+public class InvalidRegionException extends RuntimeException {
+    public InvalidRegionException(String message) {
+        super(message);
+    }
+}
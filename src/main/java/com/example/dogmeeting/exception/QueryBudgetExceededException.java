@@ -0,0 +1,11 @@
+package com.example.dogmeeting.exception;
+
+/**
+ * 요청의 SQL 문 수가 예산을 넘었거나 같은 SQL이 반복될 때 (app.query-budget.mode=strict에서만)
+ * IllegalStateException이면 스프링 데이터 리포지토리가 InvalidDataAccessApiUsageException으로 바꿔 버리므로 RuntimeException을 상속한다.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.dogmeeting.repository;
 
+import com.example.dogmeeting.dto.ChatMessageResponse;
 import com.example.dogmeeting.entity.ChatMessage;
 import com.example.dogmeeting.entity.ChatRoom;
 import com.example.dogmeeting.entity.Match;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +28,44 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 
     List<ChatMessage> findByChatRoomIdOrderBySentAtAsc(Long chatRoomId);
 
+    // 사용자별 채팅방 읽음 위치, 행 형식: 채팅방 ID, 읽음 위치
+    // 읽음 위치 행이 없으면(도입 이전 데이터) is_read 플래그로 읽음 처리된 상대방 메시지 중 가장 최신 ID, 그것도 없으면 0
+    @Query("SELECT r.id, COALESCE(w.lastReadMessageId, " +
+           "(SELECT MAX(cm.id) FROM ChatMessage cm " +
+           "WHERE cm.chatRoom.id = r.id AND cm.sender.id <> :userId AND cm.read = true), 0) " +
+           "FROM ChatRoom r LEFT JOIN ChatReadWatermark w ON w.chatRoomId = r.id AND w.userId = :userId " +
+           "WHERE r.id IN :chatRoomIds")
+    List<Object[]> findReadWatermarks(@Param("chatRoomIds") Collection<Long> chatRoomIds,
+                                      @Param("userId") Long userId);
+
+    // 채팅방별 안 읽은 상대방 메시지 ID (읽음 위치가 없으면 is_read 플래그 기준), 행 형식: 채팅방 ID, 메시지 ID
+    @Query("SELECT cm.chatRoom.id, cm.id FROM ChatMessage cm " +
+           "LEFT JOIN ChatReadWatermark w ON w.chatRoomId = cm.chatRoom.id AND w.userId = :userId " +
+           "WHERE cm.chatRoom.id IN :chatRoomIds AND cm.sender.id <> :userId " +
+           "AND ((w.id IS NOT NULL AND cm.id > w.lastReadMessageId) OR (w.id IS NULL AND cm.read = false))")
+    List<Object[]> findUnreadMessageIds(@Param("chatRoomIds") Collection<Long> chatRoomIds,
+                                        @Param("userId") Long userId);
+
+    // 커서 이전(더 오래된) 메시지를 최신순으로 조회 (chatroom_id, message_id 인덱스 사용)
+    @Query("SELECT new com.example.dogmeeting.dto.ChatMessageResponse(" +
+           "cm.id, cm.chatRoom.id, s.id, s.nickname, cm.content, cm.sentAt, cm.read) " +
+           "FROM ChatMessage cm JOIN cm.sender s " +
+           "WHERE cm.chatRoom.id = :chatRoomId AND cm.id < :beforeId " +
+           "ORDER BY cm.id DESC")
+    List<ChatMessageResponse> findPageBefore(@Param("chatRoomId") Long chatRoomId,
+                                             @Param("beforeId") Long beforeId,
+                                             Pageable pageable);
+
+    // 커서 이후(더 최신) 메시지를 오래된 순으로 조회
+    @Query("SELECT new com.example.dogmeeting.dto.ChatMessageResponse(" +
+           "cm.id, cm.chatRoom.id, s.id, s.nickname, cm.content, cm.sentAt, cm.read) " +
+           "FROM ChatMessage cm JOIN cm.sender s " +
+           "WHERE cm.chatRoom.id = :chatRoomId AND cm.id > :afterId " +
+           "ORDER BY cm.id ASC")
+    List<ChatMessageResponse> findPageAfter(@Param("chatRoomId") Long chatRoomId,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
     @Query("SELECT COUNT(cm) FROM ChatMessage cm WHERE cm.chatRoom.id = :chatRoomId AND cm.sender.id != :userId AND cm.read = false")
     long countUnreadMessages(@Param("chatRoomId") Long chatRoomId, @Param("userId") Long userId);
 
@@ -0,0 +1,30 @@
+package com.example.dogmeeting.repository;
+
+import com.example.dogmeeting.entity.ChatReadWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChatReadWatermarkRepository extends JpaRepository<ChatReadWatermark, Long> {
+
+    Optional<ChatReadWatermark> findByChatRoomIdAndUserId(Long chatRoomId, Long userId);
+
+    List<ChatReadWatermark> findByChatRoomId(Long chatRoomId);
+
+    // 읽음 위치 저장 (행이 없으면 생성, 있으면 앞으로만 이동), 동시에 처음 읽음 처리해도 중복 키 오류 없이 한 문장으로 처리
+    @Modifying
+    @Query(value = "INSERT INTO chat_read_watermarks (chatroom_id, user_id, last_read_message_id, updated_at) " +
+                   "VALUES (:chatRoomId, :userId, :messageId, :now) " +
+                   "ON DUPLICATE KEY UPDATE last_read_message_id = GREATEST(last_read_message_id, :messageId), " +
+                   "updated_at = :now",
+           nativeQuery = true)
+    int upsertWatermark(@Param("chatRoomId") Long chatRoomId, @Param("userId") Long userId,
+                        @Param("messageId") Long messageId, @Param("now") LocalDateTime now);
+}
@@ -20,4 +20,22 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     
     @Query("SELECT c FROM ChatRoom c WHERE c.match.id = :matchId")
     ChatRoom findByMatchId(@Param("matchId") Long matchId);
+
+    // 채팅 목록 조회: 참여 중인 채팅방과 상대방, 최근 메시지를 한 번에 조회
+    // 행 형식: 채팅방 ID, 매치 ID, user1 ID, user1 닉네임, user2 ID, user2 닉네임,
+    //         최근 메시지 ID, 최근 메시지 발신자 ID, 최근 메시지 내용, 최근 메시지 시각, 채팅방 생성 시각
+    @Query("SELECT c.id, m.id, u1.id, u1.nickname, u2.id, u2.nickname, " +
+           "lm.id, lm.sender.id, lm.content, lm.sentAt, c.createdAt " +
+           "FROM ChatRoom c JOIN c.match m JOIN m.user1 u1 JOIN m.user2 u2 " +
+           "LEFT JOIN ChatMessage lm ON lm.id = c.lastMessageId " +
+           "WHERE u1.id = :userId OR u2.id = :userId " +
+           "ORDER BY COALESCE(lm.sentAt, c.createdAt) DESC")
+    List<Object[]> findInboxRows(@Param("userId") Long userId);
+
+    @Query("SELECT c FROM ChatRoom c JOIN FETCH c.match m WHERE m.user1.id = :userId OR m.user2.id = :userId")
+    List<ChatRoom> findByParticipantId(@Param("userId") Long userId);
+
+    // 행 형식: user1 ID, user2 ID
+    @Query("SELECT m.user1.id, m.user2.id FROM ChatRoom c JOIN c.match m WHERE c.id = :chatRoomId")
+    List<Object[]> findParticipantIds(@Param("chatRoomId") Long chatRoomId);
 } 
\ No newline at end of file
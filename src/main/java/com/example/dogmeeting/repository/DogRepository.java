@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,4 +26,13 @@ public interface DogRepository extends JpaRepository<Dog, Long> {
     
     @Query("SELECT d FROM Dog d WHERE d.user.city = :city AND d.user.district = :district")
     List<Dog> findByUserCityAndDistrict(@Param("city") String city, @Param("district") String district);
+    
+    // 사용자별 대표 강아지(가장 먼저 등록된 강아지)를 소유자와 함께 한 번에 조회
+    @Query("SELECT d FROM Dog d JOIN FETCH d.user u WHERE u.id IN :userIds " +
+           "AND d.id = (SELECT MIN(d2.id) FROM Dog d2 WHERE d2.user = u)")
+    List<Dog> findMainDogsWithOwnerByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // 사진 객체 키 (고아 객체 정리용), 행 형식: 원본 키, medium 키, thumbnail 키
+    @Query("SELECT d.photoUrl, d.photoMediumUrl, d.photoThumbnailUrl FROM Dog d WHERE d.photoUrl IS NOT NULL")
+    List<Object[]> findAllPhotoKeys();
 } 
\ No newline at end of file
@@ -13,10 +13,12 @@ import java.util.Optional;
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
     
-    @Query("SELECT m FROM Match m WHERE (m.user1 = :user OR m.user2 = :user) AND m.status = :status")
+    // 목록 응답(MatchResponse)에서 양쪽 사용자 닉네임을 읽으므로 함께 조회 (매칭마다 사용자 지연 로딩 방지)
+    @Query("SELECT m FROM Match m JOIN FETCH m.user1 JOIN FETCH m.user2 " +
+           "WHERE (m.user1 = :user OR m.user2 = :user) AND m.status = :status")
     List<Match> findByUserAndStatus(@Param("user") User user, @Param("status") String status);
     
-    @Query("SELECT m FROM Match m WHERE m.user1 = :user OR m.user2 = :user")
+    @Query("SELECT m FROM Match m JOIN FETCH m.user1 JOIN FETCH m.user2 WHERE m.user1 = :user OR m.user2 = :user")
     List<Match> findByUser(@Param("user") User user);
     
     @Query("SELECT COUNT(m) FROM Match m WHERE m.user1.id = :userId OR m.user2.id = :userId")
@@ -27,13 +29,26 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
            "(m.user1.id = :user2Id AND m.user2.id = :user1Id)")
     Optional<Match> findByUsers(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
     
+    // 랭킹 적재용 사용자별 매칭 수 (user1/user2 쪽을 각각 집계, 행 형식: 사용자 ID, 매칭 수)
+    @Query("SELECT m.user1.id, COUNT(m) FROM Match m GROUP BY m.user1.id")
+    List<Object[]> countGroupedByUser1();
+
+    @Query("SELECT m.user2.id, COUNT(m) FROM Match m GROUP BY m.user2.id")
+    List<Object[]> countGroupedByUser2();
+
     List<Match> findByStatus(String status);
+
+    List<Match> findByPairKeyIsNull();
+
+    boolean existsByPairKey(String pairKey);
     
     List<Match> findByUser1(User user1);
     
     List<Match> findByUser2(User user2);
     
-    List<Match> findByUser1AndStatus(User user1, String status);
+    @Query("SELECT m FROM Match m JOIN FETCH m.user1 JOIN FETCH m.user2 WHERE m.user1 = :user AND m.status = :status")
+    List<Match> findByUser1AndStatus(@Param("user") User user1, @Param("status") String status);
     
-    List<Match> findByUser2AndStatus(User user2, String status);
+    @Query("SELECT m FROM Match m JOIN FETCH m.user1 JOIN FETCH m.user2 WHERE m.user2 = :user AND m.status = :status")
+    List<Match> findByUser2AndStatus(@Param("user") User user2, @Param("status") String status);
 } 
\ No newline at end of file
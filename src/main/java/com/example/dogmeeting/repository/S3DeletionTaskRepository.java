@@ -0,0 +1,19 @@
+package com.example.dogmeeting.repository;
+
+import com.example.dogmeeting.entity.S3DeletionTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface S3DeletionTaskRepository extends JpaRepository<S3DeletionTask, Long> {
+
+    // 시도 시각이 지난 삭제 항목 (오래된 순)
+    @Query("SELECT t FROM S3DeletionTask t WHERE t.nextAttemptAt <= :now ORDER BY t.nextAttemptAt, t.id")
+    List<S3DeletionTask> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.example.dogmeeting.repository;
+
+import com.example.dogmeeting.entity.S3GcCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface S3GcCheckpointRepository extends JpaRepository<S3GcCheckpoint, String> {
+}
@@ -1,12 +1,18 @@
 package com.example.dogmeeting.repository;
 
+import com.example.dogmeeting.dto.SwipeResponse;
 import com.example.dogmeeting.entity.Swipe;
 import com.example.dogmeeting.entity.User;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,7 +44,13 @@ public interface SwipeRepository extends JpaRepository<Swipe, Long> {
            "GROUP BY s.toUser.id " +
            "ORDER BY likeCount DESC")
     List<Object[]> findAllUsersByLikes(org.springframework.data.domain.Pageable pageable);
-    
+
+    // 랭킹 재구성(드리프트 보정)용 전체 집계: 사용자 ID, 도시, 좋아요 수
+    @Query("SELECT s.toUser.id, s.toUser.city, COUNT(s) FROM Swipe s " +
+           "WHERE s.like = true " +
+           "GROUP BY s.toUser.id, s.toUser.city")
+    List<Object[]> countLikesGroupedByUser();
+
     @Query("SELECT s FROM Swipe s WHERE s.fromUser.id = :fromUserId AND s.toUser.id = :toUserId")
     Optional<Swipe> findByFromUserIdAndToUserId(@Param("fromUserId") Long fromUserId, 
                                                @Param("toUserId") Long toUserId);
@@ -50,6 +62,55 @@ public interface SwipeRepository extends JpaRepository<Swipe, Long> {
 
     boolean existsByFromUserIdAndToUserIdAndSwipedAtIsNotNull(Long fromUserId, Long toUserId);
 
+    // 스와이프 여부를 잠금 읽기로 확인 (일반 조회와 달리 트랜잭션 스냅샷이 아닌 최신 커밋을 읽는다)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM Swipe s " +
+           "WHERE s.fromUser.id = :fromUserId AND s.toUser.id = :toUserId AND s.swipedAt IS NOT NULL")
+    Optional<Swipe> findSwipedForShare(@Param("fromUserId") Long fromUserId,
+                                       @Param("toUserId") Long toUserId);
+
+    // 좋아요 토글용: 쌍의 행을 쓰기 잠금으로 읽는다 (사용자 행 잠금 이후 호출)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Swipe s WHERE s.fromUser.id = :fromUserId AND s.toUser.id = :toUserId")
+    Optional<Swipe> findByPairForUpdate(@Param("fromUserId") Long fromUserId,
+                                        @Param("toUserId") Long toUserId);
+
+    // 좋아요만 있던 행을 스와이프로 전환 (이미 스와이프했거나 행이 없으면 0 반환)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Swipe s SET s.swipedAt = :now " +
+           "WHERE s.fromUser.id = :fromUserId AND s.toUser.id = :toUserId AND s.swipedAt IS NULL")
+    int markSwiped(@Param("fromUserId") Long fromUserId,
+                   @Param("toUserId") Long toUserId,
+                   @Param("now") LocalDateTime now);
+
+    // 보낸 스와이프 중 매칭되지 않은 것을 최신순으로 조회 (커서 이전, 닉네임 프로젝션)
+    @Query("SELECT new com.example.dogmeeting.dto.SwipeResponse(" +
+           "s.id, f.id, f.nickname, t.id, t.nickname, s.like, s.swipedAt, s.likeAt) " +
+           "FROM Swipe s JOIN s.fromUser f JOIN s.toUser t " +
+           "WHERE f.id = :userId AND s.id < :beforeId " +
+           "AND NOT EXISTS (SELECT m.id FROM Match m " +
+           "WHERE (m.user1 = f AND m.user2 = t) OR (m.user1 = t AND m.user2 = f)) " +
+           "ORDER BY s.id DESC")
+    List<SwipeResponse> findUnmatchedSentBefore(@Param("userId") Long userId,
+                                                @Param("beforeId") Long beforeId,
+                                                Pageable pageable);
+
+    // 받은 스와이프 중 매칭되지 않은 것을 최신순으로 조회 (커서 이전, 닉네임 프로젝션)
+    @Query("SELECT new com.example.dogmeeting.dto.SwipeResponse(" +
+           "s.id, f.id, f.nickname, t.id, t.nickname, s.like, s.swipedAt, s.likeAt) " +
+           "FROM Swipe s JOIN s.fromUser f JOIN s.toUser t " +
+           "WHERE t.id = :userId AND s.id < :beforeId " +
+           "AND NOT EXISTS (SELECT m.id FROM Match m " +
+           "WHERE (m.user1 = f AND m.user2 = t) OR (m.user1 = t AND m.user2 = f)) " +
+           "ORDER BY s.id DESC")
+    List<SwipeResponse> findUnmatchedReceivedBefore(@Param("userId") Long userId,
+                                                    @Param("beforeId") Long beforeId,
+                                                    Pageable pageable);
+
+    // 사용자가 스와이프한 상대 ID 목록 (좋아요만 누른 경우 제외)
+    @Query("SELECT s.toUser.id FROM Swipe s WHERE s.fromUser.id = :userId AND s.swipedAt IS NOT NULL")
+    List<Long> findSwipedUserIds(@Param("userId") Long userId);
+
     // 사용자가 받은 좋아요 수 (특정 조건)
     @Query("SELECT COUNT(s) FROM Swipe s WHERE s.toUser = :toUser AND s.like = :like")
     int countByToUserAndLike(@Param("toUser") User toUser, @Param("like") boolean like);
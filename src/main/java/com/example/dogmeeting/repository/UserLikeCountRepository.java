@@ -0,0 +1,33 @@
+package com.example.dogmeeting.repository;
+
+import com.example.dogmeeting.entity.UserLikeCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserLikeCountRepository extends JpaRepository<UserLikeCount, Long> {
+
+    // 좋아요 수 증감 (행이 없으면 0 반환)
+    @Modifying
+    @Query("UPDATE UserLikeCount c SET c.likeCount = c.likeCount + :delta, c.updatedAt = :now " +
+           "WHERE c.userId = :userId")
+    int addLikes(@Param("userId") Long userId, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    // 좋아요 수 증가 (행이 없으면 생성), 첫 좋아요가 동시에 들어와도 중복 키 오류 없이 한 문장으로 처리
+    @Modifying
+    @Query(value = "INSERT INTO user_like_counts (user_id, like_count, updated_at) VALUES (:userId, :delta, :now) " +
+                   "ON DUPLICATE KEY UPDATE like_count = like_count + :delta, updated_at = :now",
+           nativeQuery = true)
+    int upsertLikes(@Param("userId") Long userId, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    // 랭킹 인덱스 적재용: 사용자 ID, 도시, 좋아요 수
+    @Query("SELECT c.userId, u.city, c.likeCount FROM UserLikeCount c, User u " +
+           "WHERE u.id = c.userId AND c.likeCount > 0")
+    List<Object[]> findAllPositiveWithCity();
+}
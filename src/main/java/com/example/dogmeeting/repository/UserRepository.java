@@ -1,11 +1,15 @@
 package com.example.dogmeeting.repository;
 
 import com.example.dogmeeting.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +19,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByNickname(String nickname);
     
     Optional<User> findByUserId(String userId);
+
+    // 스와이프 처리용: 두 사용자 행을 ID 순서로 잠가 교차 스와이프를 직렬화 (교착 방지)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<User> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // 후보 피드 인덱스 적재용: 사용자 ID, 도시, 구, 성별
+    @Query("SELECT u.id, u.city, u.district, u.gender FROM User u")
+    List<Object[]> findAllFeedProfiles();
+
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
+
+    // 랭킹 페이지용: 사용자와 강아지를 한 번에 조회
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.dogs WHERE u.id IN :ids")
+    List<User> findAllWithDogsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.nickname FROM User u WHERE u.id = :id")
+    Optional<String> findNicknameById(@Param("id") Long id);
     
     List<User> findByCity(String city);
     
@@ -24,6 +47,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     List<User> findByCityAndGender(String city, String gender);
     
+    // 지역 ID 기준 후보 조회 (city_id/region_id + gender 복합 인덱스 범위 스캔)
+    @Query("SELECT u FROM User u WHERE u.cityId = :cityId AND u.gender <> :gender AND u.id <> :excludeUserId")
+    List<User> findPotentialMatchesByCityId(@Param("cityId") Integer cityId,
+                                            @Param("gender") String gender,
+                                            @Param("excludeUserId") Long excludeUserId);
+
+    @Query("SELECT u FROM User u WHERE u.regionId = :regionId AND u.gender <> :gender AND u.id <> :excludeUserId")
+    List<User> findPotentialMatchesByRegionId(@Param("regionId") Integer regionId,
+                                              @Param("gender") String gender,
+                                              @Param("excludeUserId") Long excludeUserId);
+
+    // 이하 문자열 비교 쿼리는 지역 ID를 보정하지 못한(카탈로그에 없는 지역) 기존 사용자용
     @Query("SELECT u FROM User u WHERE u.city = :city AND u.gender != :gender AND u.id != :excludeUserId")
     List<User> findPotentialMatches(@Param("city") String city, 
                                    @Param("gender") String gender, 
@@ -34,4 +69,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
                                              @Param("district") String district,
                                              @Param("gender") String gender, 
                                              @Param("excludeUserId") Long excludeUserId);
+
+    // 지역 ID 보정(마이그레이션)용: 아직 구/군 지역 ID가 없는 사용자의 (시/도, 구/군) 조합
+    @Query("SELECT DISTINCT u.city, u.district FROM User u WHERE u.regionId IS NULL")
+    List<Object[]> findDistinctRegionsWithoutRegionId();
+
+    @Modifying
+    @Query("UPDATE User u SET u.cityId = :cityId, u.regionId = :regionId " +
+           "WHERE u.regionId IS NULL AND u.city = :city AND u.district = :district")
+    int assignRegionIds(@Param("city") String city,
+                        @Param("district") String district,
+                        @Param("cityId") Integer cityId,
+                        @Param("regionId") Integer regionId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.cityId = :cityId, u.regionId = :regionId " +
+           "WHERE u.regionId IS NULL AND u.city = :city AND (u.district IS NULL OR TRIM(u.district) = '')")
+    int assignCityLevelRegionIds(@Param("city") String city,
+                                 @Param("cityId") Integer cityId,
+                                 @Param("regionId") Integer regionId);
 } 
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.dogmeeting.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스와이프/좋아요/매칭/채팅 메시지 카운터
+ * 카운터는 생성 시 한 번만 등록해 두므로, 호출 경로에서는 태그 조회 없이 증가만 한다.
+ */
+@Component
+public class ActivityMetrics {
+
+    private final Counter matchedSwipes;
+    private final Counter unmatchedSwipes;
+    private final Counter likes;
+    private final Counter unlikes;
+    private final Counter matches;
+    private final Counter chatMessages;
+
+    public ActivityMetrics(MeterRegistry registry) {
+        this.matchedSwipes = Counter.builder("dogmeeting.swipes")
+                .description("스와이프 수")
+                .tag("result", "matched")
+                .register(registry);
+        this.unmatchedSwipes = Counter.builder("dogmeeting.swipes")
+                .description("스와이프 수")
+                .tag("result", "unmatched")
+                .register(registry);
+        this.likes = Counter.builder("dogmeeting.likes")
+                .description("좋아요 토글 수")
+                .tag("action", "like")
+                .register(registry);
+        this.unlikes = Counter.builder("dogmeeting.likes")
+                .description("좋아요 토글 수")
+                .tag("action", "unlike")
+                .register(registry);
+        this.matches = Counter.builder("dogmeeting.matches")
+                .description("생성된 매칭 수")
+                .register(registry);
+        this.chatMessages = Counter.builder("dogmeeting.chat.messages")
+                .description("전송된 채팅 메시지 수")
+                .register(registry);
+    }
+
+    public void swiped(boolean matched) {
+        if (matched) {
+            matchedSwipes.increment();
+            matches.increment();
+        } else {
+            unmatchedSwipes.increment();
+        }
+    }
+
+    public void likeToggled(boolean liked) {
+        (liked ? likes : unlikes).increment();
+    }
+
+    public void messageSent() {
+        chatMessages.increment();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 매칭 후보 피드 엔진
+ * 지역(도시, 구)·성별별 사용자 ID 인덱스를 메모리에 유지하고, 스와이프 관계 캐시(SwipeEdgeCache)로
+ * 이미 스와이프한 사용자(매칭된 상대 포함)를 제외한 후보를 ID 커서 기반으로 페이지 단위 제공한다.
+ * 인덱스는 시작 시 한 번 적재되며 가입/프로필 수정 시 커밋 이후 증분 갱신된다.
+ * 도시나 성별이 없는 사용자는 인덱스에 등록되지 않고, 그런 사용자의 피드는 항상 비어 있다.
+ * (DB 매칭 쿼리의 gender <> :gender 조건도 null이면 아무 행도 고르지 않는다)
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class CandidateFeedService {
+
+    private final UserRepository userRepository;
+    private final SwipeEdgeCache swipeEdgeCache;
+    private final int maxScanPerPage;
+
+    // (도시, 구(null이면 도시 전체), 성별) -> 사용자 ID (오름차순)
+    private final Map<SegmentKey, NavigableSet<Long>> segments = new ConcurrentHashMap<>();
+    // 사용자 ID -> 인덱스에 등록된 지역/성별
+    private final Map<Long, Profile> profiles = new ConcurrentHashMap<>();
+    // 인덱스에 등장한 성별 값 (다른 성별 세그먼트를 키로 바로 찾기 위해, 값은 몇 개뿐이다)
+    private final Set<String> genders = ConcurrentHashMap.newKeySet();
+
+    public CandidateFeedService(UserRepository userRepository,
+                                SwipeEdgeCache swipeEdgeCache,
+                                @Value("${app.feed.max-scan-per-page:5000}") int maxScanPerPage) {
+        this.userRepository = userRepository;
+        this.swipeEdgeCache = swipeEdgeCache;
+        this.maxScanPerPage = maxScanPerPage;
+    }
+
+    /**
+     * 후보 ID 한 페이지를 조회한다.
+     * 구가 있으면 같은 구, 없으면 같은 도시의 다른 성별 사용자 중 본 적 없는 사용자를 ID 오름차순으로 반환한다.
+     * 한 페이지에서 최대 maxScanPerPage명까지만 확인하며, 다 채우지 못해도 남은 후보가 있으면 nextCursor로 이어서 조회한다.
+     * @param cursor 이전 페이지의 nextCursor (처음이면 null)
+     */
+    public FeedPage getCandidateIds(Long userId, Long cursor, int size) {
+        Profile viewer = profiles.get(userId);
+        if (viewer == null || viewer.city() == null || viewer.gender() == null) {
+            return new FeedPage(List.of(), null, false);
+        }
+
+        String district = blankToNull(viewer.district());
+        List<Iterator<Long>> iterators = new ArrayList<>();
+        for (String gender : genders) {
+            if (gender.equals(viewer.gender())) {
+                continue;
+            }
+            NavigableSet<Long> ids = segments.get(new SegmentKey(viewer.city(), district, gender));
+            if (ids != null) {
+                iterators.add((cursor != null ? ids.tailSet(cursor, false) : ids).iterator());
+            }
+        }
+
+        List<Long> candidates = new ArrayList<>(size);
+        MergedIterator merged = new MergedIterator(iterators);
+        Long lastScanned = null;
+        int scanned = 0;
+        while (candidates.size() < size && scanned < maxScanPerPage && merged.hasNext()) {
+            long candidateId = merged.next();
+            lastScanned = candidateId;
+            scanned++;
+            if (candidateId != userId && !swipeEdgeCache.hasSwiped(userId, candidateId)) {
+                candidates.add(candidateId);
+            }
+        }
+
+        boolean hasNext = merged.hasNext();
+        return new FeedPage(candidates, hasNext ? lastScanned : null, hasNext);
+    }
+
+    /**
+     * 가입 또는 프로필 수정 시 인덱스를 갱신한다. (트랜잭션 안이면 커밋 이후 반영)
+     */
+    public void upsertUser(Long userId, String city, String district, String gender) {
+        TransactionCallbacks.afterCommit(() -> {
+            Profile updated = new Profile(city, district, gender);
+            Profile previous = profiles.put(userId, updated);
+            if (previous != null) {
+                previous.segmentKeys().forEach(key -> {
+                    NavigableSet<Long> ids = segments.get(key);
+                    if (ids != null) {
+                        ids.remove(userId);
+                    }
+                });
+            }
+            updated.segmentKeys().forEach(key -> addToSegment(key, userId));
+        });
+    }
+
+    /**
+     * 서버 시작 시 전체 사용자의 지역/성별 인덱스를 적재한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        for (Object[] row : userRepository.findAllFeedProfiles()) {
+            Long userId = (Long) row[0];
+            Profile profile = new Profile((String) row[1], (String) row[2], (String) row[3]);
+            profiles.put(userId, profile);
+            profile.segmentKeys().forEach(key -> addToSegment(key, userId));
+        }
+        log.info("후보 피드 인덱스 적재 완료: {}명, {}개 세그먼트", profiles.size(), segments.size());
+    }
+
+    private void addToSegment(SegmentKey key, Long userId) {
+        genders.add(key.gender());
+        segments.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(userId);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
+    }
+
+    public record FeedPage(List<Long> userIds, Long nextCursor, boolean hasNext) {
+    }
+
+    private record SegmentKey(String city, String district, String gender) {
+    }
+
+    private record Profile(String city, String district, String gender) {
+
+        // 도시 전체 세그먼트와 (구가 있으면) 구 세그먼트에 모두 등록
+        List<SegmentKey> segmentKeys() {
+            if (city == null || gender == null) {
+                return List.of();
+            }
+            String normalizedDistrict = blankToNull(district);
+            if (normalizedDistrict == null) {
+                return List.of(new SegmentKey(city, null, gender));
+            }
+            return List.of(new SegmentKey(city, null, gender), new SegmentKey(city, normalizedDistrict, gender));
+        }
+    }
+
+    // 여러 오름차순 ID 이터레이터를 오름차순으로 병합 (세그먼트 수는 성별 수 정도로 작다)
+    private static final class MergedIterator {
+
+        private final List<Iterator<Long>> iterators;
+        private final Long[] heads;
+
+        MergedIterator(List<Iterator<Long>> iterators) {
+            this.iterators = iterators;
+            this.heads = new Long[iterators.size()];
+            for (int i = 0; i < heads.length; i++) {
+                heads[i] = iterators.get(i).hasNext() ? iterators.get(i).next() : null;
+            }
+        }
+
+        boolean hasNext() {
+            for (Long head : heads) {
+                if (head != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long next() {
+            int min = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (min < 0 || heads[i] < heads[min])) {
+                    min = i;
+                }
+            }
+            long value = heads[min];
+            heads[min] = iterators.get(min).hasNext() ? iterators.get(min).next() : null;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.PendingChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 저장 대기 채팅 메시지의 로컬 추가 전용(append-only) 저널
+ * 메시지는 큐에 넣기 전에 현재 세그먼트 파일에 한 줄(JSON)씩 기록되고,
+ * 세그먼트의 모든 메시지가 DB에 저장되면 해당 세그먼트 파일을 삭제한다.
+ * 서버가 비정상 종료되면 재시작 시 남아 있는 세그먼트를 읽어 미저장 메시지를 복구한다.
+ */
+@Slf4j
+@Component
+public class ChatMessageJournal {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final boolean fsync;
+
+    // 세그먼트 번호 -> 아직 DB에 저장되지 않은 메시지 수
+    private final Map<Integer, AtomicInteger> outstanding = new ConcurrentHashMap<>();
+    private final List<Integer> recoverableSegments = new ArrayList<>();
+
+    private int currentSegment;
+    private long currentSegmentBytes;
+    private FileOutputStream currentStream;
+    private BufferedWriter currentWriter;
+
+    public ChatMessageJournal(ObjectMapper objectMapper,
+                              @Value("${app.chat.write-behind.journal-dir:./data/chat-journal}") String directory,
+                              @Value("${app.chat.write-behind.journal-segment-bytes:16777216}") long maxSegmentBytes,
+                              @Value("${app.chat.write-behind.journal-fsync:false}") boolean fsync) throws IOException {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.fsync = fsync;
+
+        Files.createDirectories(this.directory);
+        int lastSegment = 0;
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : files.toList()) {
+                Integer segment = parseSegmentNumber(file);
+                if (segment != null) {
+                    recoverableSegments.add(segment);
+                    lastSegment = Math.max(lastSegment, segment);
+                }
+            }
+        }
+        recoverableSegments.sort(Integer::compareTo);
+        openSegment(lastSegment + 1);
+    }
+
+    /**
+     * 메시지를 저널에 기록한다.
+     * @return 기록된 세그먼트 번호 (저장 완료 후 release 호출에 사용)
+     */
+    public synchronized int append(PendingChatMessage message) {
+        try {
+            if (currentSegmentBytes >= maxSegmentBytes) {
+                rollSegment();
+            }
+            String line = objectMapper.writeValueAsString(message);
+            currentWriter.write(line);
+            currentWriter.newLine();
+            currentWriter.flush();
+            if (fsync) {
+                currentStream.getChannel().force(false);
+            }
+            currentSegmentBytes += line.getBytes(StandardCharsets.UTF_8).length + 1;
+            outstanding.computeIfAbsent(currentSegment, s -> new AtomicInteger()).incrementAndGet();
+            return currentSegment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 저널 기록에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 세그먼트의 메시지 하나가 DB에 저장되었음을 표시한다.
+     */
+    public synchronized void release(int segment) {
+        AtomicInteger count = outstanding.get(segment);
+        if (count != null && count.decrementAndGet() <= 0 && segment != currentSegment) {
+            outstanding.remove(segment);
+            deleteSegment(segment);
+        }
+    }
+
+    /**
+     * 이전 실행에서 남은 세그먼트의 메시지들을 읽는다.
+     */
+    public List<PendingChatMessage> readRecoverable() {
+        List<PendingChatMessage> messages = new ArrayList<>();
+        for (Integer segment : recoverableSegments) {
+            try (BufferedReader reader = Files.newBufferedReader(segmentPath(segment), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        messages.add(objectMapper.readValue(line, PendingChatMessage.class));
+                    } catch (IOException e) {
+                        // 비정상 종료로 마지막 줄이 잘린 경우
+                        log.warn("손상된 채팅 저널 항목을 건너뜁니다: segment={}", segment);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("채팅 저널 복구에 실패했습니다.", e);
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * 복구한 세그먼트를 삭제한다. (복구 메시지가 모두 저장된 뒤 호출)
+     */
+    public synchronized void discardRecovered() {
+        recoverableSegments.forEach(this::deleteSegment);
+        recoverableSegments.clear();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        currentWriter.close();
+        AtomicInteger count = outstanding.get(currentSegment);
+        if (count == null || count.get() <= 0) {
+            deleteSegment(currentSegment);
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        currentWriter.close();
+        int previous = currentSegment;
+        openSegment(previous + 1);
+        AtomicInteger count = outstanding.get(previous);
+        if (count == null || count.get() <= 0) {
+            outstanding.remove(previous);
+            deleteSegment(previous);
+        }
+    }
+
+    private void openSegment(int segment) throws IOException {
+        currentSegment = segment;
+        currentStream = new FileOutputStream(segmentPath(segment).toFile(), true);
+        currentWriter = new BufferedWriter(new OutputStreamWriter(currentStream, StandardCharsets.UTF_8));
+        currentSegmentBytes = Files.size(segmentPath(segment));
+    }
+
+    private void deleteSegment(int segment) {
+        try {
+            Files.deleteIfExists(segmentPath(segment));
+        } catch (IOException e) {
+            log.warn("채팅 저널 세그먼트 삭제 실패: segment={}", segment, e);
+        }
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private static Integer parseSegmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.PendingChatMessage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅 메시지 write-behind 저장 파이프라인
+ * 메시지는 저널에 기록된 뒤 큐에 적재되고, 전용 스레드가 batch-size 또는 flush-interval 기준으로
+ * 여러 행을 한 번에 INSERT 한다. (JDBC 배치)
+ */
+@Slf4j
+@Service
+public class ChatMessageWriteBehindService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_messages (message_id, chatroom_id, sender_id, content, sent_at, is_read) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    // 채팅방 최근 메시지 포인터 갱신 (더 최신 메시지로만 이동)
+    private static final String UPDATE_LAST_MESSAGE_SQL =
+            "UPDATE chat_rooms SET last_message_id = ? " +
+            "WHERE chatroom_id = ? AND (last_message_id IS NULL OR last_message_id < ?)";
+    // 포인터 도입 이전 채팅방 보정
+    private static final String BACKFILL_LAST_MESSAGE_SQL =
+            "UPDATE chat_rooms c SET last_message_id = " +
+            "(SELECT MAX(m.message_id) FROM chat_messages m WHERE m.chatroom_id = c.chatroom_id) " +
+            "WHERE c.last_message_id IS NULL";
+    private static final long MAX_RETRY_BACKOFF_MS = 30_000L;
+
+    private final ChatMessageJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final BlockingQueue<QueuedMessage> queue;
+    // 채팅방 -> 아직 커밋되지 않은 메시지 (메시지 ID -> 발신자 ID), 큐에 있거나 저장 중인 메시지 포함
+    private final Map<Long, Map<Long, Long>> pendingByRoom = new ConcurrentHashMap<>();
+
+    private final AtomicLong flushedMessages = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public ChatMessageWriteBehindService(ChatMessageJournal journal,
+                                         JdbcTemplate jdbcTemplate,
+                                         TransactionTemplate transactionTemplate,
+                                         @Value("${app.chat.write-behind.batch-size:500}") int batchSize,
+                                         @Value("${app.chat.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                         @Value("${app.chat.write-behind.queue-capacity:100000}") int queueCapacity) {
+        this.journal = journal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * 메시지를 저널에 기록하고 저장 큐에 넣는다. 큐가 가득 차면 공간이 생길 때까지 대기한다.
+     */
+    public void enqueue(PendingChatMessage message) {
+        addPending(message);
+        int segment;
+        try {
+            segment = journal.append(message);
+        } catch (RuntimeException e) {
+            removePending(List.of(message));
+            throw e;
+        }
+        try {
+            queue.put(new QueuedMessage(message, segment));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // 저널에는 기록되었으므로 재시작 시 복구된다
+            throw new IllegalStateException("채팅 메시지 저장 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 이전 실행에서 저장되지 못한 메시지를 복구한 뒤 플러시 스레드를 시작한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int backfilled = jdbcTemplate.update(BACKFILL_LAST_MESSAGE_SQL);
+        log.debug("채팅방 최근 메시지 포인터 보정: {}개 채팅방", backfilled);
+        recoverJournal();
+        flusher = new Thread(this::runFlushLoop, "chat-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * 채팅방에서 아직 커밋되지 않은 메시지 (메시지 ID -> 발신자 ID)
+     * 커밋된 메시지는 이 목록에서 빠지므로, 이 목록을 먼저 읽고 DB를 읽으면 어느 한쪽에서는 반드시 보인다.
+     */
+    public Map<Long, Long> getPendingMessages(Long chatroomId) {
+        Map<Long, Long> pending = pendingByRoom.get(chatroomId);
+        return pending != null ? new HashMap<>(pending) : Map.of();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getFlushedMessages() {
+        return flushedMessages.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    public long getTotalFlushNanos() {
+        return totalFlushNanos.get();
+    }
+
+    public long getLastFlushNanos() {
+        return lastFlushNanos.get();
+    }
+
+    private void runFlushLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<QueuedMessage> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    flushWithRetry(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("채팅 메시지 플러시 루프 오류: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // 첫 메시지가 들어온 뒤 batch-size가 차거나 flush-interval이 지나면 배치를 반환
+    private List<QueuedMessage> nextBatch() throws InterruptedException {
+        List<QueuedMessage> batch = new ArrayList<>();
+        QueuedMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                break;
+            }
+            QueuedMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void flushWithRetry(List<QueuedMessage> batch) throws InterruptedException {
+        List<PendingChatMessage> messages = batch.stream()
+                .map(QueuedMessage::message)
+                .collect(Collectors.toList());
+        int attempt = 0;
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                insertBatch(messages);
+                recordFlush(messages.size(), System.nanoTime() - start);
+                settle(batch);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // 삭제된 채팅방/사용자 등 재시도해도 성공할 수 없는 행이 섞인 경우 행 단위로 저장
+                log.warn("채팅 메시지 배치 저장 중 무결성 오류, 행 단위로 재시도합니다: {}", e.getMessage());
+                flushIndividually(batch, start);
+                return;
+            } catch (Exception e) {
+                if (!awaitRetry(attempt++, messages.size(), e)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // 행마다 저장 또는 폐기가 확정된 메시지만 대기 목록과 저널에서 정리한다
+    // 무결성 오류가 아닌 실패(연결 끊김, 타임아웃 등)는 배치와 같은 방식으로 그 행을 재시도한다
+    private void flushIndividually(List<QueuedMessage> batch, long start) throws InterruptedException {
+        for (QueuedMessage queued : batch) {
+            int attempt = 0;
+            while (true) {
+                try {
+                    insertOrDrop(queued.message());
+                    break;
+                } catch (Exception e) {
+                    if (!awaitRetry(attempt++, 1, e)) {
+                        // 남은 메시지는 저널에 남겨 두고 재시작 시 복구한다
+                        return;
+                    }
+                }
+            }
+            settle(List.of(queued));
+        }
+        recordFlush(batch.size(), System.nanoTime() - start);
+    }
+
+    // 실패를 기록하고 재시도 전까지 대기, 종료 중이라 재시도하지 않을 때는 false
+    private boolean awaitRetry(int attempt, int size, Exception e) throws InterruptedException {
+        failedFlushCount.incrementAndGet();
+        long backoff = Math.min(MAX_RETRY_BACKOFF_MS, flushIntervalMs * (1L << Math.min(attempt, 10)));
+        log.error("채팅 메시지 저장 실패 ({}건), {}ms 후 재시도: {}", size, backoff, e.getMessage());
+        if (!running && attempt >= 3) {
+            // 종료 중에는 저널에 남겨 두고 재시작 시 복구한다
+            return false;
+        }
+        Thread.sleep(backoff);
+        return true;
+    }
+
+    private void settle(List<QueuedMessage> settled) {
+        removePending(settled.stream().map(QueuedMessage::message).collect(Collectors.toList()));
+        settled.forEach(queued -> journal.release(queued.segment()));
+    }
+
+    // 메시지 INSERT와 채팅방별 최근 메시지 포인터 갱신을 한 트랜잭션으로 처리
+    private void insertBatch(List<PendingChatMessage> messages) {
+        Map<Long, Long> lastMessageIds = new HashMap<>();
+        for (PendingChatMessage message : messages) {
+            lastMessageIds.merge(message.getChatroomId(), message.getId(), Math::max);
+        }
+        List<Object[]> pointerUpdates = new ArrayList<>(lastMessageIds.size());
+        lastMessageIds.forEach((chatroomId, messageId) ->
+                pointerUpdates.add(new Object[]{messageId, chatroomId, messageId}));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), this::bindMessage);
+            jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE_SQL, pointerUpdates);
+        });
+    }
+
+    // 한 행을 저장한다. 무결성 오류로 저장할 수 없는 행은 폐기하고, 그 밖의 오류는 호출자에게 전달한다
+    private void insertOrDrop(PendingChatMessage message) {
+        try {
+            insertBatch(List.of(message));
+        } catch (DataIntegrityViolationException e) {
+            droppedMessages.incrementAndGet();
+            log.error("채팅 메시지를 저장할 수 없어 폐기합니다: id={}, chatroomId={}, senderId={}",
+                    message.getId(), message.getChatroomId(), message.getSenderId());
+        }
+    }
+
+    // 빈 목록 제거와 추가가 엇갈리지 않도록 채팅방 항목 단위로 원자적으로 갱신
+    private void addPending(PendingChatMessage message) {
+        pendingByRoom.compute(message.getChatroomId(), (chatroomId, pending) -> {
+            Map<Long, Long> messages = pending != null ? pending : new ConcurrentHashMap<>();
+            messages.put(message.getId(), message.getSenderId());
+            return messages;
+        });
+    }
+
+    private void removePending(List<PendingChatMessage> messages) {
+        for (PendingChatMessage message : messages) {
+            pendingByRoom.computeIfPresent(message.getChatroomId(), (chatroomId, pending) -> {
+                pending.remove(message.getId());
+                return pending.isEmpty() ? null : pending;
+            });
+        }
+    }
+
+    private void bindMessage(PreparedStatement ps, PendingChatMessage message) throws SQLException {
+        ps.setLong(1, message.getId());
+        ps.setLong(2, message.getChatroomId());
+        ps.setLong(3, message.getSenderId());
+        ps.setString(4, message.getContent());
+        ps.setObject(5, message.getSentAt());
+        ps.setBoolean(6, false);
+    }
+
+    private void recordFlush(int size, long elapsedNanos) {
+        flushedMessages.addAndGet(size);
+        flushCount.incrementAndGet();
+        totalFlushNanos.addAndGet(elapsedNanos);
+        lastFlushNanos.set(elapsedNanos);
+    }
+
+    private void recoverJournal() {
+        List<PendingChatMessage> recovered = journal.readRecoverable();
+        if (recovered.isEmpty()) {
+            journal.discardRecovered();
+            return;
+        }
+
+        // 이미 저장된 메시지(플러시 직후 저널 정리 전에 종료된 경우)는 제외
+        Set<Long> existingIds = new HashSet<>();
+        for (int i = 0; i < recovered.size(); i += batchSize) {
+            List<Long> ids = recovered.subList(i, Math.min(i + batchSize, recovered.size())).stream()
+                    .map(PendingChatMessage::getId)
+                    .collect(Collectors.toList());
+            String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(","));
+            existingIds.addAll(jdbcTemplate.queryForList(
+                    "SELECT message_id FROM chat_messages WHERE message_id IN (" + placeholders + ")",
+                    Long.class, ids.toArray()));
+        }
+
+        List<PendingChatMessage> missing = recovered.stream()
+                .filter(message -> !existingIds.contains(message.getId()))
+                .collect(Collectors.toList());
+        for (int i = 0; i < missing.size(); i += batchSize) {
+            List<PendingChatMessage> chunk = missing.subList(i, Math.min(i + batchSize, missing.size()));
+            try {
+                insertBatch(chunk);
+            } catch (DataIntegrityViolationException e) {
+                chunk.forEach(this::insertOrDrop);
+            }
+        }
+        journal.discardRecovered();
+        log.info("채팅 저널 복구 완료: 저널 {}건 중 {}건 저장", recovered.size(), missing.size());
+    }
+
+    private record QueuedMessage(PendingChatMessage message, int segment) {
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.dogmeeting.service;
 
+import com.example.dogmeeting.dto.ChatInboxResponse;
 import com.example.dogmeeting.dto.ChatMessageDto;
 import com.example.dogmeeting.dto.ChatMessageResponse;
 import com.example.dogmeeting.dto.ChatRoomResponse;
+import com.example.dogmeeting.dto.CursorPageResponse;
 
 import java.util.List;
 
@@ -13,6 +15,8 @@ public interface ChatService {
     ChatRoomResponse findChatRoomByMatchId(Long matchId);
     
     List<ChatMessageResponse> getChatHistory(Long chatroomId, Long userId);
+
+    CursorPageResponse<ChatMessageResponse> getChatHistoryPage(Long chatroomId, Long userId, Long before, int limit);
     
     void sendMessage(ChatMessageDto messageDto);
     
@@ -22,5 +26,7 @@ public interface ChatService {
 
     List<ChatRoomResponse> getUserChatRooms(Long userId);
 
+    List<ChatInboxResponse> getChatInbox(Long userId);
+
     ChatMessageResponse getLastMessage(Long chatroomId);
 }
@@ -1,28 +1,35 @@
 package com.example.dogmeeting.service;
 
+import com.example.dogmeeting.dto.ChatInboxResponse;
 import com.example.dogmeeting.dto.ChatMessageDto;
 import com.example.dogmeeting.dto.ChatMessageResponse;
 import com.example.dogmeeting.dto.ChatRoomResponse;
-import com.example.dogmeeting.entity.ChatMessage;
+import com.example.dogmeeting.dto.CursorPageResponse;
+import com.example.dogmeeting.dto.MessageType;
+import com.example.dogmeeting.dto.PendingChatMessage;
 import com.example.dogmeeting.entity.ChatRoom;
 import com.example.dogmeeting.entity.Match;
-import com.example.dogmeeting.entity.User;
 import com.example.dogmeeting.exception.UserNotFoundException;
 import com.example.dogmeeting.repository.ChatMessageRepository;
 import com.example.dogmeeting.repository.ChatRoomRepository;
 import com.example.dogmeeting.repository.MatchRepository;
 import com.example.dogmeeting.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,6 +43,23 @@ public class ChatServiceImpl implements ChatService {
     private final MatchRepository matchRepository;
     private final UserRepository userRepository;
     private final SimpMessageSendingOperations messagingTemplate;
+    private final ChatMessageIdGenerator messageIdGenerator;
+    private final ChatMessageWriteBehindService writeBehindService;
+    private final ChatUnreadService chatUnreadService;
+    private final ActivityMetrics activityMetrics;
+
+    private static final int HISTORY_CHUNK_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 채팅방 참여자는 매칭 이후 바뀌지 않으므로 길게, 닉네임은 변경될 수 있으므로 짧게 캐시
+    private final Cache<Long, long[]> roomParticipants = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+    private final Cache<Long, String> senderNicknames = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
 
     @Override
     @Transactional
@@ -63,145 +87,219 @@ public class ChatServiceImpl implements ChatService {
         return chatRoom != null ? ChatRoomResponse.from(chatRoom) : null;
     }
 
+    /**
+     * 채팅방 전체 내역 (오래된 순)
+     * 커서 페이지 조회와 같은 프로젝션 쿼리로 HISTORY_CHUNK_SIZE 단위씩 이어서 읽는다.
+     */
     @Override
     public List<ChatMessageResponse> getChatHistory(Long chatroomId, Long userId) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatroomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
-
         // 사용자가 해당 채팅방에 참여할 권한이 있는지 확인
-        validateChatRoomAccess(chatRoom, userId);
-
-        List<ChatMessage> messages = chatMessageRepository.findByChatRoomIdOrderBySentAtAsc(chatroomId);
-
-        return messages.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        long[] participants = validateParticipant(chatroomId, userId);
+
+        List<ChatMessageResponse> messages = new ArrayList<>();
+        long cursor = 0L;
+        while (true) {
+            List<ChatMessageResponse> chunk = chatMessageRepository.findPageAfter(
+                    chatroomId, cursor, PageRequest.of(0, HISTORY_CHUNK_SIZE));
+            messages.addAll(chunk);
+            if (chunk.size() < HISTORY_CHUNK_SIZE) {
+                return applyReadState(chatroomId, participants, messages);
+            }
+            cursor = chunk.get(chunk.size() - 1).getId();
+        }
     }
 
+    /**
+     * 커서 기반 채팅 내역 조회
+     * before보다 오래된 메시지 중 최신 limit개를 오래된 순으로 반환한다. before가 없으면 가장 최근부터 조회한다.
+     */
     @Override
-    @Transactional
-    public void sendMessage(ChatMessageDto messageDto) {
-        try {
-            User sender = userRepository.findById(messageDto.getSenderId())
-                    .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
-
-            ChatRoom chatRoom = chatRoomRepository.findById(messageDto.getChatroomId())
-                    .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
-
-            // 채팅방 접근 권한 확인
-            validateChatRoomAccess(chatRoom, messageDto.getSenderId());
-
-            // DB에 메시지 저장
-            ChatMessage chatMessage = ChatMessage.builder()
-                    .chatRoom(chatRoom)
-                    .sender(sender)
-                    .content(messageDto.getContent())
-                    .read(false)
-                    .build();
-
-            chatMessageRepository.save(chatMessage);
-
-            // 실시간 전송을 위한 DTO 설정
-            messageDto.setSenderNickname(sender.getNickname());
-            messageDto.setTimestamp(LocalDateTime.now());
-
-            // 채팅방 구독자들에게 메시지 전송
-            messagingTemplate.convertAndSend(
-                    "/sub/chat/room/" + messageDto.getChatroomId(),
-                    messageDto
-            );
-
-            log.info("메시지 저장 및 전송 완료 - 채팅방: {}, 발신자: {}", 
-                    messageDto.getChatroomId(), sender.getNickname());
-
-        } catch (Exception e) {
-            log.error("메시지 전송 중 오류 발생: {}", e.getMessage(), e);
-            throw e;
-        }
+    public CursorPageResponse<ChatMessageResponse> getChatHistoryPage(Long chatroomId, Long userId, Long before, int limit) {
+        long[] participants = validateParticipant(chatroomId, userId);
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long cursor = before != null ? before : Long.MAX_VALUE;
+
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        List<ChatMessageResponse> rows = chatMessageRepository.findPageBefore(
+                chatroomId, cursor, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<ChatMessageResponse> items = new ArrayList<>(rows.subList(0, Math.min(rows.size(), pageSize)));
+        Collections.reverse(items);
+
+        return CursorPageResponse.<ChatMessageResponse>builder()
+                .items(applyReadState(chatroomId, participants, items))
+                .nextCursor(hasNext ? items.get(0).getId() : null)
+                .hasNext(hasNext)
+                .build();
     }
 
+    /**
+     * 채팅 메시지 전송
+     * 서버 ID를 발급해 write-behind 큐에 넣은 뒤 바로 브로드캐스트한다. DB 저장은 배치로 비동기 처리된다.
+     * 참여자/닉네임 조회는 캐시를 사용하므로 일반적인 경우 메시지당 DB 왕복이 없다.
+     */
     @Override
-    @Transactional
-    public void markMessagesAsRead(Long chatroomId, Long userId) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatroomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sendMessage(ChatMessageDto messageDto) {
+        Long chatroomId = messageDto.getChatroomId();
+        Long senderId = messageDto.getSenderId();
+
+        long[] participants = validateParticipant(chatroomId, senderId);
+        String nickname = senderNicknames.get(senderId, this::loadNickname);
+
+        PendingChatMessage pending = PendingChatMessage.builder()
+                .id(messageIdGenerator.nextId())
+                .chatroomId(chatroomId)
+                .senderId(senderId)
+                .content(messageDto.getContent())
+                .sentAt(LocalDateTime.now())
+                .build();
+        writeBehindService.enqueue(pending);
+        // 저널 기록과 큐 적재가 끝난 메시지만 집계한다 (이후 단계가 실패해도 메시지는 저장된다)
+        activityMetrics.messageSent();
+        chatUnreadService.recordMessage(chatroomId, otherParticipant(participants, senderId), pending.getId());
 
-        validateChatRoomAccess(chatRoom, userId);
+        // 실시간 전송을 위한 DTO 설정
+        messageDto.setMessageId(pending.getId());
+        messageDto.setType(MessageType.CHAT);
+        messageDto.setSenderNickname(nickname);
+        messageDto.setTimestamp(pending.getSentAt());
 
-        // 해당 사용자가 보낸 메시지가 아닌 읽지 않은 메시지들을 읽음 처리
-        List<ChatMessage> unreadMessages = chatMessageRepository
-                .findByChatRoomIdAndSenderIdNotAndReadFalse(chatroomId, userId);
+        // 채팅방 구독자들에게 메시지 전송
+        messagingTemplate.convertAndSend("/sub/chat/room/" + chatroomId, messageDto);
 
-        unreadMessages.forEach(ChatMessage::markAsRead);
-        chatMessageRepository.saveAll(unreadMessages);
+        log.debug("메시지 전송 완료 - 채팅방: {}, 발신자: {}, 메시지 ID: {}", chatroomId, nickname, pending.getId());
+    }
+
+    // 캐시된 참여자 정보로 채팅방 접근 권한 확인, 참여자 ID 쌍을 반환
+    private long[] validateParticipant(Long chatroomId, Long userId) {
+        long[] participants = roomParticipants.get(chatroomId, this::loadParticipants);
+        if (participants[0] != userId && participants[1] != userId) {
+            throw new IllegalArgumentException("해당 채팅방에 접근할 권한이 없습니다.");
+        }
+        return participants;
+    }
 
-        log.info("메시지 읽음 처리 완료 - 채팅방: {}, 사용자: {}, 처리된 메시지 수: {}", 
-                chatroomId, userId, unreadMessages.size());
+    private static long otherParticipant(long[] participants, long userId) {
+        return participants[0] == userId ? participants[1] : participants[0];
     }
 
-    @Override
-    public int getUnreadMessageCount(Long chatroomId, Long userId) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatroomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
+    // 읽음 여부는 메시지 행의 플래그가 아니라 수신자의 읽음 위치로 계산
+    private List<ChatMessageResponse> applyReadState(Long chatroomId, long[] participants, List<ChatMessageResponse> messages) {
+        if (messages.isEmpty()) {
+            return messages;
+        }
+        long watermark0 = chatUnreadService.getWatermark(chatroomId, participants[0]);
+        long watermark1 = chatUnreadService.getWatermark(chatroomId, participants[1]);
+        return messages.stream()
+                .map(message -> {
+                    long recipientWatermark = message.getSenderId() == participants[0] ? watermark1 : watermark0;
+                    return ChatMessageResponse.builder()
+                            .id(message.getId())
+                            .chatroomId(message.getChatroomId())
+                            .senderId(message.getSenderId())
+                            .senderNickname(message.getSenderNickname())
+                            .content(message.getContent())
+                            .sentAt(message.getSentAt())
+                            .read(message.getId() <= recipientWatermark)
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
 
-        validateChatRoomAccess(chatRoom, userId);
+    private long[] loadParticipants(Long chatroomId) {
+        List<Object[]> rows = chatRoomRepository.findParticipantIds(chatroomId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("채팅방을 찾을 수 없습니다.");
+        }
+        Object[] row = rows.get(0);
+        return new long[]{(Long) row[0], (Long) row[1]};
+    }
 
-        return chatMessageRepository.countByChatRoomIdAndSenderIdNotAndReadFalse(chatroomId, userId);
+    private String loadNickname(Long userId) {
+        return userRepository.findNicknameById(userId)
+                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
     }
 
-    private void validateChatRoomAccess(ChatRoom chatRoom, Long userId) {
-        Match match = chatRoom.getMatch();
-        boolean hasAccess = match.getUser1().getId().equals(userId) ||
-                           match.getUser2().getId().equals(userId);
+    // 안 읽은 메시지 적재가 새 스냅샷으로 읽도록 트랜잭션 밖에서 실행 (읽음 위치 저장은 ChatUnreadService 트랜잭션)
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void markMessagesAsRead(Long chatroomId, Long userId) {
+        validateParticipant(chatroomId, userId);
+
+        // 메시지 행 대신 읽음 위치 한 행만 갱신
+        chatUnreadService.markRead(chatroomId, userId);
 
-        if (!hasAccess) {
-            throw new IllegalArgumentException("해당 채팅방에 접근할 권한이 없습니다.");
-        }
+        log.info("메시지 읽음 처리 완료 - 채팅방: {}, 사용자: {}", chatroomId, userId);
     }
 
-    private ChatMessageResponse convertToResponse(ChatMessage message) {
-        return ChatMessageResponse.builder()
-                .id(message.getId())
-                .chatroomId(message.getChatRoom().getId())
-                .senderId(message.getSender().getId())
-                .senderNickname(message.getSender().getNickname())
-                .content(message.getContent())
-                .sentAt(message.getSentAt())
-                .read(message.getRead())
-                .build();
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int getUnreadMessageCount(Long chatroomId, Long userId) {
+        validateParticipant(chatroomId, userId);
+
+        return chatUnreadService.getUnreadCount(chatroomId, userId);
     }
 
     @Override
     public List<ChatRoomResponse> getUserChatRooms(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("사용자를 찾을 수 없습니다.");
+        }
 
-        List<Match> userMatches = matchRepository.findByUser(user);
-        List<ChatRoom> chatRooms = new ArrayList<>();
+        return chatRoomRepository.findByParticipantId(userId).stream()
+                .map(ChatRoomResponse::from)
+                .collect(Collectors.toList());
+    }
 
-        for (Match match : userMatches) {
-            ChatRoom chatRoom = chatRoomRepository.findByMatchId(match.getId());
-            if (chatRoom != null) {
-                chatRooms.add(chatRoom);
-            }
+    /**
+     * 채팅 목록 조회
+     * 채팅방/상대방/최근 메시지는 한 번의 쿼리로, 안 읽은 메시지 수는 메모리 상태(미적재 시 쿼리 두 번)로 채운다.
+     * 안 읽은 메시지 적재가 새 스냅샷으로 읽도록 트랜잭션 밖에서 실행한다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ChatInboxResponse> getChatInbox(Long userId) {
+        List<Object[]> rows = chatRoomRepository.findInboxRows(userId);
+        if (rows.isEmpty()) {
+            return List.of();
         }
 
-        return chatRooms.stream()
-                .map(ChatRoomResponse::from)
+        List<Long> chatroomIds = rows.stream()
+                .map(row -> (Long) row[0])
+                .collect(Collectors.toList());
+        Map<Long, Integer> unreadCounts = chatUnreadService.getUnreadCounts(userId, chatroomIds);
+
+        return rows.stream()
+                .map(row -> {
+                    Long chatroomId = (Long) row[0];
+                    boolean isUser1 = userId.equals(row[2]);
+                    return ChatInboxResponse.builder()
+                            .chatroomId(chatroomId)
+                            .matchId((Long) row[1])
+                            .partnerId((Long) (isUser1 ? row[4] : row[2]))
+                            .partnerNickname((String) (isUser1 ? row[5] : row[3]))
+                            .lastMessageId((Long) row[6])
+                            .lastMessageSenderId((Long) row[7])
+                            .lastMessageContent((String) row[8])
+                            .lastMessageAt((LocalDateTime) row[9])
+                            .createdAt((LocalDateTime) row[10])
+                            .unreadCount(unreadCounts.getOrDefault(chatroomId, 0))
+                            .build();
+                })
                 .collect(Collectors.toList());
     }
 
     @Override
     public ChatMessageResponse getLastMessage(Long chatroomId) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatroomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
-
-        Page<ChatMessage> lastMessagePage = chatMessageRepository.findByChatRoomOrderBySentAtDesc(chatRoom, PageRequest.of(0, 1));
-        if (lastMessagePage.hasContent()) {
-            ChatMessage lastMessage = lastMessagePage.getContent().get(0);
-            return convertToResponse(lastMessage);
-        } else {
+        long[] participants = roomParticipants.get(chatroomId, this::loadParticipants);
+
+        List<ChatMessageResponse> lastMessage = chatMessageRepository.findPageBefore(
+                chatroomId, Long.MAX_VALUE, PageRequest.of(0, 1));
+        if (lastMessage.isEmpty()) {
             return null; // 채팅 메시지가 없는 경우
         }
+        return applyReadState(chatroomId, participants, lastMessage).get(0);
     }
 }
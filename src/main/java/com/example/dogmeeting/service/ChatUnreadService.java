@@ -0,0 +1,221 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.repository.ChatMessageRepository;
+import com.example.dogmeeting.repository.ChatReadWatermarkRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 채팅방별 읽음 위치와 안 읽은 메시지 수 관리
+ * 읽음 위치(chat_read_watermarks)는 영속 저장하고, 메모리에는 (채팅방, 사용자)마다 읽음 위치와
+ * 그보다 큰 상대방 메시지 ID 목록을 둔다. 안 읽은 수는 카운터를 증감하지 않고 이 목록의 크기로 계산하므로
+ * 적재 중에 도착한 메시지나 읽음 처리 이후 도착한 메시지가 사라지지 않는다.
+ * 목록은 처음 조회될 때 DB와 write-behind 대기 메시지에서 적재되며, 이후에는 메시지 전송 시 추가된다.
+ * 적재는 대기 메시지를 먼저 읽고 DB를 새 스냅샷으로 읽어야 하므로 트랜잭션 밖에서 호출한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ChatUnreadService {
+
+    private final ChatReadWatermarkRepository watermarkRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatMessageWriteBehindService writeBehindService;
+    private final int maxTrackedIds;
+    // (채팅방, 사용자) -> 읽음 위치와 안 읽은 상대방 메시지
+    private final Cache<RoomUserKey, UnreadState> states;
+
+    public ChatUnreadService(ChatReadWatermarkRepository watermarkRepository,
+                             ChatMessageRepository chatMessageRepository,
+                             ChatMessageWriteBehindService writeBehindService,
+                             @Value("${app.chat.unread.max-size:100000}") long maxSize,
+                             @Value("${app.chat.unread.expire-after-access:PT30M}") Duration expireAfterAccess,
+                             @Value("${app.chat.unread.max-tracked-ids:1000}") int maxTrackedIds) {
+        this.watermarkRepository = watermarkRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.writeBehindService = writeBehindService;
+        this.maxTrackedIds = maxTrackedIds;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * 메시지 전송 시 수신자의 안 읽은 메시지 목록에 추가한다. (write-behind 큐에 넣은 뒤 호출)
+     * 아직 적재되지 않은 경우에는 다음 조회 시 대기 메시지 또는 DB에서 함께 적재된다.
+     */
+    public void recordMessage(Long chatRoomId, Long recipientId, long messageId) {
+        UnreadState state = states.getIfPresent(new RoomUserKey(chatRoomId, recipientId));
+        if (state != null) {
+            state.add(messageId, maxTrackedIds);
+        }
+    }
+
+    public int getUnreadCount(Long chatRoomId, Long userId) {
+        return getUnreadCounts(userId, List.of(chatRoomId)).getOrDefault(chatRoomId, 0);
+    }
+
+    /**
+     * 여러 채팅방의 안 읽은 메시지 수를 조회한다. 적재되지 않은 채팅방은 쿼리 두 번(읽음 위치, 안 읽은 메시지 ID)으로 함께 적재한다.
+     */
+    public Map<Long, Integer> getUnreadCounts(Long userId, Collection<Long> chatRoomIds) {
+        Map<Long, UnreadState> roomStates = statesOf(userId, chatRoomIds);
+        Map<Long, Integer> result = new HashMap<>();
+        roomStates.forEach((chatRoomId, state) -> result.put(chatRoomId, state.count()));
+        return result;
+    }
+
+    /**
+     * 사용자의 읽음 위치 (읽음 위치가 없으면 기존 is_read 플래그 기준으로 계산)
+     */
+    public long getWatermark(Long chatRoomId, Long userId) {
+        return statesOf(userId, List.of(chatRoomId)).get(chatRoomId).watermark();
+    }
+
+    /**
+     * 채팅방의 최신 메시지까지 읽음 처리한다. 메시지 행은 수정하지 않고 읽음 위치 한 행만 upsert 한다.
+     * 읽음 위치는 이 시점까지 알려진 마지막 상대방 메시지로 옮기며, 그 이후 도착한 메시지는 안 읽은 채로 남는다.
+     */
+    @Transactional
+    public void markRead(Long chatRoomId, Long userId) {
+        UnreadState state = statesOf(userId, List.of(chatRoomId)).get(chatRoomId);
+        long latest = state.latestUnread();
+        if (latest < 0) {
+            return;
+        }
+
+        watermarkRepository.upsertWatermark(chatRoomId, userId, latest, LocalDateTime.now());
+        TransactionCallbacks.afterCommit(() -> state.markReadUpTo(latest));
+    }
+
+    // 캐시에 없는 채팅방은 빈 상태를 먼저 등록해 이후 전송되는 메시지를 받은 뒤 적재한다
+    private Map<Long, UnreadState> statesOf(Long userId, Collection<Long> chatRoomIds) {
+        Map<Long, UnreadState> roomStates = new LinkedHashMap<>();
+        List<Long> unloaded = new ArrayList<>();
+        for (Long chatRoomId : chatRoomIds) {
+            UnreadState state = states.get(new RoomUserKey(chatRoomId, userId), key -> new UnreadState());
+            roomStates.put(chatRoomId, state);
+            if (!state.isLoaded()) {
+                unloaded.add(chatRoomId);
+            }
+        }
+        if (!unloaded.isEmpty()) {
+            load(userId, unloaded, roomStates);
+        }
+        return roomStates;
+    }
+
+    private void load(Long userId, List<Long> chatRoomIds, Map<Long, UnreadState> roomStates) {
+        // 대기 메시지를 DB보다 먼저 읽는다. 그 사이 커밋된 메시지는 대기 목록에서 빠졌지만 DB에서 보인다.
+        Map<Long, List<Long>> pendingIds = new HashMap<>();
+        for (Long chatRoomId : chatRoomIds) {
+            writeBehindService.getPendingMessages(chatRoomId).forEach((messageId, senderId) -> {
+                if (!senderId.equals(userId)) {
+                    pendingIds.computeIfAbsent(chatRoomId, id -> new ArrayList<>()).add(messageId);
+                }
+            });
+        }
+
+        Map<Long, Long> watermarks = new HashMap<>();
+        for (Object[] row : chatMessageRepository.findReadWatermarks(chatRoomIds, userId)) {
+            watermarks.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        Map<Long, List<Long>> storedIds = new HashMap<>();
+        for (Object[] row : chatMessageRepository.findUnreadMessageIds(chatRoomIds, userId)) {
+            storedIds.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+
+        for (Long chatRoomId : chatRoomIds) {
+            roomStates.get(chatRoomId).load(watermarks.getOrDefault(chatRoomId, 0L),
+                    storedIds.getOrDefault(chatRoomId, List.of()),
+                    pendingIds.getOrDefault(chatRoomId, List.of()),
+                    maxTrackedIds);
+        }
+    }
+
+    private record RoomUserKey(long chatRoomId, long userId) {
+    }
+
+    /**
+     * 한 사용자의 채팅방 읽음 상태
+     * 안 읽은 메시지 ID는 최대 maxTrackedIds개까지 보관하고, 넘치는 오래된 ID는 개수만 남긴다.
+     */
+    private static final class UnreadState {
+
+        private final TreeSet<Long> unreadIds = new TreeSet<>();
+        private long watermark;
+        private boolean loaded;
+        private int overflowCount;
+        private long overflowMaxId;
+
+        synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        synchronized long watermark() {
+            return watermark;
+        }
+
+        synchronized int count() {
+            return unreadIds.size() + overflowCount;
+        }
+
+        synchronized void add(long messageId, int maxTrackedIds) {
+            if (loaded && messageId <= watermark) {
+                return;
+            }
+            unreadIds.add(messageId);
+            trim(maxTrackedIds);
+        }
+
+        // 적재 전에 추가된 메시지와 합친다 (같은 메시지가 DB/대기 목록과 전송 기록 양쪽에 있어도 한 번만 센다)
+        synchronized void load(long watermark, Collection<Long> storedIds, Collection<Long> pendingIds, int maxTrackedIds) {
+            if (loaded) {
+                return;
+            }
+            this.watermark = watermark;
+            unreadIds.addAll(storedIds);
+            pendingIds.stream()
+                    .filter(messageId -> messageId > watermark)
+                    .forEach(unreadIds::add);
+            loaded = true;
+            trim(maxTrackedIds);
+        }
+
+        // 읽음 처리할 위치 (안 읽은 메시지가 없으면 -1)
+        synchronized long latestUnread() {
+            if (count() == 0) {
+                return -1;
+            }
+            return Math.max(watermark, unreadIds.last());
+        }
+
+        synchronized void markReadUpTo(long messageId) {
+            watermark = Math.max(watermark, messageId);
+            unreadIds.headSet(messageId, true).clear();
+            if (messageId >= overflowMaxId) {
+                overflowCount = 0;
+            }
+        }
+
+        private void trim(int maxTrackedIds) {
+            while (unreadIds.size() > maxTrackedIds) {
+                overflowMaxId = Math.max(overflowMaxId, unreadIds.pollFirst());
+                overflowCount++;
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ public interface DogService {
     DogProfileResponse getDogProfile(Long dogId);
     List<DogResponse> getDogsByUserId(Long userId);
     void updateDog(Long dogId, DogCreateRequest request, org.springframework.web.multipart.MultipartFile image);
+    void uploadDogImage(Long dogId, Long userId, MultipartFile image);
     void updateDogImage(Long dogId, String imageKey);
     void deleteDog(Long dogId);
     void deleteDogImage(Long dogId);
@@ -1,27 +1,37 @@
 package com.example.dogmeeting.service;
 
 import com.example.dogmeeting.dto.DogCreateRequest;
+import com.example.dogmeeting.dto.DogImageKeys;
 import com.example.dogmeeting.dto.DogResponse;
 import com.example.dogmeeting.dto.DogRankingResponse;
 import com.example.dogmeeting.dto.DogProfileResponse;
+import com.example.dogmeeting.dto.ImageUpload;
 import com.example.dogmeeting.entity.Dog;
 import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.entity.UserLikeCount;
+import com.example.dogmeeting.event.UserProfileChangedEvent;
 import com.example.dogmeeting.exception.UserNotFoundException;
 import com.example.dogmeeting.repository.DogRepository;
+import com.example.dogmeeting.repository.UserLikeCountRepository;
 import com.example.dogmeeting.repository.UserRepository;
-import com.example.dogmeeting.repository.SwipeRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+@Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -29,14 +39,20 @@ public class DogServiceImpl implements DogService {
 
     private final DogRepository dogRepository;
     private final UserRepository userRepository;
-    private final SwipeRepository swipeRepository;
+    private final UserLikeCountRepository userLikeCountRepository;
     private final FileUploadService fileUploadService;
+    private final LikeRankingService likeRankingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final S3DeletionOutboxService s3DeletionOutbox;
+    private final Executor appExecutor;
 
     private static final Duration PRESIGNED_URL_DURATION = Duration.ofHours(1); // Presigned URL 유효 시간
 
     @Override
     @Transactional
     public Long createDog(Long userId, DogCreateRequest request, MultipartFile image) {
+        ImageUpload upload = image != null && !image.isEmpty() ? fileUploadService.prepareImage(image) : null;
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
 
@@ -51,10 +67,12 @@ public class DogServiceImpl implements DogService {
 
         dogRepository.save(dog); // 먼저 강아지 정보 저장하여 dogId 확보
 
-        if (image != null && !image.isEmpty()) {
-            String imageKey = fileUploadService.uploadDogImage(image, userId, dog.getId());
-            dog.updatePhotoUrl(imageKey); // 저장된 dogId를 사용하여 이미지 키 업데이트
+        if (upload != null) {
+            // 커밋 이후 비동기 업로드, 완료되면 저장된 dogId의 이미지 키를 갱신
+            Long dogId = dog.getId();
+            TransactionCallbacks.afterCommit(() -> startPhotoUpload(dogId, userId, upload));
         }
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(userId));
 
         return dog.getId();
     }
@@ -84,6 +102,7 @@ public class DogServiceImpl implements DogService {
     @Override
     @Transactional
     public void updateDog(Long dogId, DogCreateRequest request, MultipartFile image) {
+        ImageUpload upload = image != null && !image.isEmpty() ? fileUploadService.prepareImage(image) : null;
         Dog dog = dogRepository.findById(dogId)
                 .orElseThrow(() -> new UserNotFoundException("강아지를 찾을 수 없습니다."));
 
@@ -92,19 +111,25 @@ public class DogServiceImpl implements DogService {
                       request.getGender(), request.getDescription());
 
         // 이미지 파일이 제공된 경우 처리
-        if (image != null && !image.isEmpty()) {
-            // 기존 이미지가 있다면 삭제 (photoUrl은 이제 객체 키)
-            if (dog.getPhotoUrl() != null && !dog.getPhotoUrl().isEmpty()) {
-                fileUploadService.deleteFile(dog.getPhotoUrl());
-            }
-            // 새 이미지 업로드
-            String imageKey = fileUploadService.uploadDogImage(image, dog.getUser().getId(), dogId);
-            dog.updatePhotoUrl(imageKey);
+        if (upload != null) {
+            // 새 이미지는 커밋 이후 비동기 업로드, 기존 이미지는 새 이미지 키로 교체된 뒤 삭제
+            Long ownerId = dog.getUser().getId();
+            TransactionCallbacks.afterCommit(() -> startPhotoUpload(dogId, ownerId, upload));
         } else {
             // 이미지가 제공되지 않았을 때, 기존 이미지를 유지할지 여부는 정책에 따라 달라짐.
             // 여기서는 이미지가 없으면 기존 이미지를 유지하는 것으로 가정.
             // 만약 이미지를 삭제하고 싶다면 deleteDogImage 엔드포인트를 사용해야 함.
         }
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(dog.getUser().getId()));
+    }
+
+    @Override
+    public void uploadDogImage(Long dogId, Long userId, MultipartFile image) {
+        ImageUpload upload = fileUploadService.prepareImage(image);
+        if (!dogRepository.existsById(dogId)) {
+            throw new UserNotFoundException("강아지를 찾을 수 없습니다.");
+        }
+        startPhotoUpload(dogId, userId, upload);
     }
 
     @Override
@@ -112,8 +137,11 @@ public class DogServiceImpl implements DogService {
     public void updateDogImage(Long dogId, String imageKey) {
         Dog dog = dogRepository.findById(dogId)
                 .orElseThrow(() -> new UserNotFoundException("강아지를 찾을 수 없습니다."));
-        
-        dog.updatePhotoUrl(imageKey);
+
+        // 이미 올라간 단일 이미지 키로 교체 (변형 없음), 교체된 이전 이미지는 변형까지 삭제 예약
+        if (!Objects.equals(imageKey, dog.getPhotoUrl())) {
+            replacePhoto(dog, DogImageKeys.builder().originalKey(imageKey).build());
+        }
     }
 
     @Override
@@ -122,11 +150,10 @@ public class DogServiceImpl implements DogService {
         Dog dog = dogRepository.findById(dogId)
                 .orElseThrow(() -> new UserNotFoundException("강아지를 찾을 수 없습니다."));
         
-        // 강아지 삭제 시 연결된 이미지도 S3에서 삭제
-        if (dog.getPhotoUrl() != null && !dog.getPhotoUrl().isEmpty()) {
-            fileUploadService.deleteFile(dog.getPhotoUrl());
-        }
+        // 강아지 삭제 시 연결된 이미지(변형 포함)도 삭제 (커밋되면 백그라운드에서 S3 삭제)
+        s3DeletionOutbox.enqueue(DogImageKeys.from(dog).allKeys());
         dogRepository.delete(dog);
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(dog.getUser().getId()));
     }
 
     @Override
@@ -136,82 +163,87 @@ public class DogServiceImpl implements DogService {
                 .orElseThrow(() -> new UserNotFoundException("강아지를 찾을 수 없습니다."));
 
         if (dog.getPhotoUrl() != null && !dog.getPhotoUrl().isEmpty()) {
-            fileUploadService.deleteFile(dog.getPhotoUrl());
-            dog.updatePhotoUrl(null); // DB에서도 이미지 URL 제거
+            s3DeletionOutbox.enqueue(DogImageKeys.from(dog).allKeys());
+            dog.updatePhoto(null, null, null); // DB에서도 이미지 키 제거
+            eventPublisher.publishEvent(UserProfileChangedEvent.of(dog.getUser().getId()));
         }
     }
 
-    // 랭킹 관련 메서드들 구현
-    @Override
-    public List<DogRankingResponse> getTopDogsInRegion(String city, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        List<Object[]> topUsers = swipeRepository.findTopUsersByLikesInCity(city, pageable);
-        
-        return topUsers.stream()
-                .map(result -> {
-                    Long userId = (Long) result[0];
-                    Long likeCount = (Long) result[1];
-                    
-                    User user = userRepository.findById(userId)
-                            .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
-                    
-                    // 사용자의 대표 강아지 (첫 번째 강아지)
-                    if (user.getDogs().isEmpty()) {
-                        return null; // 강아지가 없는 사용자는 제외
-                    }
-                    
-                    Dog mainDog = user.getDogs().get(0);
-                    
-                    // DogRankingResponse에 Presigned URL 설정
-                    String photoUrl = null;
-                    if (mainDog.getPhotoUrl() != null && !mainDog.getPhotoUrl().isEmpty()) {
-                        photoUrl = fileUploadService.generatePresignedGetUrl(mainDog.getPhotoUrl(), PRESIGNED_URL_DURATION);
+    private void startPhotoUpload(Long dogId, Long userId, ImageUpload upload) {
+        // 완료 콜백은 SDK 스레드가 아닌 애플리케이션 실행기에서 실행 (DB 트랜잭션을 연다)
+        fileUploadService.uploadDogImageAsync(upload, userId, dogId)
+                .whenCompleteAsync((imageKeys, error) -> {
+                    if (error != null) {
+                        log.error("강아지 이미지 업로드 실패: dogId={}", dogId, error);
+                        return;
                     }
+                    applyUploadedPhoto(dogId, imageKeys);
+                }, appExecutor);
+    }
 
-                    return DogRankingResponse.builder()
-                            .dogId(mainDog.getId())
-                            .dogName(mainDog.getName())
-                            .breed(mainDog.getBreed())
-                            .age(mainDog.getAge())
-                            .photoUrl(photoUrl) // Presigned URL 설정
-                            .description(mainDog.getDescription())
-                            .ownerId(user.getId())
-                            .ownerNickname(user.getNickname())
-                            .ownerCity(user.getCity())
-                            .ownerDistrict(user.getDistrict())
-                            .likeCount(likeCount.intValue())
-                            .rank(0) // 순위는 나중에 설정
-                            .build();
-                })
-                .filter(response -> response != null) // null 제외
+    // 업로드가 끝난 이미지 키(변형 포함)를 별도 트랜잭션으로 반영
+    private void applyUploadedPhoto(Long dogId, DogImageKeys imageKeys) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Dog dog = dogRepository.findById(dogId).orElse(null);
+            if (dog == null) {
+                // 업로드 중 강아지가 삭제된 경우 업로드한 이미지도 삭제
+                s3DeletionOutbox.enqueue(imageKeys.allKeys());
+                return;
+            }
+            replacePhoto(dog, imageKeys);
+        });
+    }
+
+    // 사진 키를 교체하고, 더 이상 쓰지 않는 이전 키(변형 포함)는 같은 트랜잭션에서 삭제 예약
+    private void replacePhoto(Dog dog, DogImageKeys imageKeys) {
+        List<String> currentKeys = imageKeys.allKeys();
+        List<String> replacedKeys = DogImageKeys.from(dog).allKeys().stream()
+                .filter(key -> !currentKeys.contains(key))
                 .collect(Collectors.toList());
+        dog.updatePhoto(imageKeys.getOriginalKey(), imageKeys.getMediumKey(), imageKeys.getThumbnailKey());
+        s3DeletionOutbox.enqueue(replacedKeys);
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(dog.getUser().getId()));
+    }
+
+    // 랭킹 관련 메서드들 구현
+    @Override
+    public List<DogRankingResponse> getTopDogsInRegion(String city, int limit) {
+        List<RankingIndex.Entry> topUsers = likeRankingService.getTopUsersInCity(city, limit);
+        return toDogRankingResponses(topUsers);
     }
 
     @Override
     public List<DogRankingResponse> getAllDogsRanking(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        List<Object[]> allUsers = swipeRepository.findAllUsersByLikes(pageable);
-        
-        List<DogRankingResponse> rankings = allUsers.stream()
-                .map(result -> {
-                    Long userId = (Long) result[0];
-                    Long likeCount = (Long) result[1];
-                    
-                    User user = userRepository.findById(userId)
-                            .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
-                    
-                    // 사용자의 대표 강아지 (첫 번째 강아지)
-                    if (user.getDogs().isEmpty()) {
-                        return null; // 강아지가 없는 사용자는 제외
-                    }
-                    
-                    Dog mainDog = user.getDogs().get(0);
-                    
-                    // DogRankingResponse에 Presigned URL 설정
-                    String photoUrl = null;
-                    if (mainDog.getPhotoUrl() != null && !mainDog.getPhotoUrl().isEmpty()) {
-                        photoUrl = fileUploadService.generatePresignedGetUrl(mainDog.getPhotoUrl(), PRESIGNED_URL_DURATION);
-                    }
+        List<RankingIndex.Entry> allUsers = likeRankingService.getTopUsers(page * size, size);
+        List<DogRankingResponse> rankings = toDogRankingResponses(allUsers);
+
+        // 순위 부여 (페이지 offset 포함)
+        return IntStream.range(0, rankings.size())
+                .mapToObj(i -> rankings.get(i).toBuilder().rank(i + 1 + (page * size)).build())
+                .collect(Collectors.toList());
+    }
+
+    // 헬퍼 메소드: 랭킹 항목들의 대표 강아지(첫 번째 강아지)와 소유자를 한 번의 쿼리로 조회하여 변환
+    // 강아지가 없는 사용자는 제외하고, 랭킹 순서는 그대로 유지한다.
+    private List<DogRankingResponse> toDogRankingResponses(List<RankingIndex.Entry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> userIds = entries.stream()
+                .map(RankingIndex.Entry::getId)
+                .collect(Collectors.toList());
+        Map<Long, Dog> mainDogs = dogRepository.findMainDogsWithOwnerByUserIds(userIds).stream()
+                .collect(Collectors.toMap(dog -> dog.getUser().getId(), Function.identity()));
+
+        return entries.stream()
+                .filter(entry -> mainDogs.containsKey(entry.getId()))
+                .map(entry -> {
+                    Dog mainDog = mainDogs.get(entry.getId());
+                    User user = mainDog.getUser();
+
+                    // DogRankingResponse에 Presigned URL 설정 (변형이 없으면 원본 URL)
+                    String photoUrl = presign(mainDog.getPhotoUrl());
 
                     return DogRankingResponse.builder()
                             .dogId(mainDog.getId())
@@ -219,43 +251,23 @@ public class DogServiceImpl implements DogService {
                             .breed(mainDog.getBreed())
                             .age(mainDog.getAge())
                             .photoUrl(photoUrl) // Presigned URL 설정
+                            .mediumUrl(presignVariant(mainDog.getPhotoMediumUrl(), photoUrl))
+                            .thumbnailUrl(presignVariant(mainDog.getPhotoThumbnailUrl(), photoUrl))
                             .description(mainDog.getDescription())
                             .ownerId(user.getId())
                             .ownerNickname(user.getNickname())
                             .ownerCity(user.getCity())
                             .ownerDistrict(user.getDistrict())
-                            .likeCount(likeCount.intValue())
+                            .likeCount((int) entry.getScore())
                             .rank(0) // 순위는 나중에 설정
                             .build();
                 })
-                .filter(response -> response != null) // null 제외
-                .collect(Collectors.toList());
-        
-        // 순위 부여 (페이지 offset 포함)
-        return IntStream.range(0, rankings.size())
-                .mapToObj(i -> DogRankingResponse.builder()
-                        .dogId(rankings.get(i).getDogId())
-                        .dogName(rankings.get(i).getDogName())
-                        .breed(rankings.get(i).getBreed())
-                        .age(rankings.get(i).getAge())
-                        .photoUrl(rankings.get(i).getPhotoUrl())
-                        .description(rankings.get(i).getDescription())
-                        .ownerId(rankings.get(i).getOwnerId())
-                        .ownerNickname(rankings.get(i).getOwnerNickname())
-                        .ownerCity(rankings.get(i).getOwnerCity())
-                        .ownerDistrict(rankings.get(i).getOwnerDistrict())
-                        .likeCount(rankings.get(i).getLikeCount())
-                        .rank(i + 1 + (page * size))
-                        .build())
                 .collect(Collectors.toList());
     }
 
     // 헬퍼 메소드: Dog 엔티티를 DogResponse DTO로 변환하며 Presigned URL 설정
     private DogResponse toDogResponseWithPresignedUrl(Dog dog) {
-        String photoUrl = null;
-        if (dog.getPhotoUrl() != null && !dog.getPhotoUrl().isEmpty()) {
-            photoUrl = fileUploadService.generatePresignedGetUrl(dog.getPhotoUrl(), PRESIGNED_URL_DURATION);
-        }
+        String photoUrl = presign(dog.getPhotoUrl());
         return DogResponse.builder()
                 .id(dog.getId())
                 .name(dog.getName())
@@ -264,20 +276,35 @@ public class DogServiceImpl implements DogService {
                 .gender(dog.getGender()) // Presigned URL 설정
                 .description(dog.getDescription())
                 .photoUrl(photoUrl) // Presigned URL 설정
+                .mediumUrl(presignVariant(dog.getPhotoMediumUrl(), photoUrl))
+                .thumbnailUrl(presignVariant(dog.getPhotoThumbnailUrl(), photoUrl))
                 .build();
     }
 
+    private String presign(String key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        return fileUploadService.generatePresignedGetUrl(key, PRESIGNED_URL_DURATION);
+    }
+
+    // 변형 키가 없으면(변형 도입 이전 사진, 디코딩할 수 없는 형식) 원본 URL을 대신 사용
+    private String presignVariant(String variantKey, String originalUrl) {
+        String url = presign(variantKey);
+        return url != null ? url : originalUrl;
+    }
+
     // 헬퍼 메소드: Dog 엔티티를 DogProfileResponse DTO로 변환하며 Presigned URL 설정
     private DogProfileResponse toDogProfileResponseWithPresignedUrl(Dog dog) {
         User owner = dog.getUser();
-        int likeCount = swipeRepository.countByToUserAndLike(owner, true);
+        // 좋아요 토글 시 갱신되는 사전 집계 (swipes를 매번 세지 않는다)
+        int likeCount = userLikeCountRepository.findById(owner.getId())
+                .map(UserLikeCount::getLikeCount)
+                .orElse(0);
         int rank = 0; // 임시
         List<String> titles = List.of(); // 임시
 
-        String photoUrl = null;
-        if (dog.getPhotoUrl() != null && !dog.getPhotoUrl().isEmpty()) {
-            photoUrl = fileUploadService.generatePresignedGetUrl(dog.getPhotoUrl(), PRESIGNED_URL_DURATION);
-        }
+        String photoUrl = presign(dog.getPhotoUrl());
 
         return DogProfileResponse.builder()
                 .dogId(dog.getId())
@@ -286,6 +313,8 @@ public class DogServiceImpl implements DogService {
                 .age(dog.getAge())
                 .description(dog.getDescription())
                 .photoUrl(photoUrl) // Presigned URL 설정
+                .mediumUrl(presignVariant(dog.getPhotoMediumUrl(), photoUrl))
+                .thumbnailUrl(presignVariant(dog.getPhotoThumbnailUrl(), photoUrl))
                 .ownerId(owner.getId())
                 .ownerNickname(owner.getNickname())
                 .ownerGender(owner.getGender())
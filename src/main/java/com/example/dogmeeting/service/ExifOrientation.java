@@ -0,0 +1,136 @@
+package com.example.dogmeeting.service;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * JPEG EXIF Orientation 태그(0x0112) 읽기와 적용
+ * 휴대폰 사진은 센서 방향 그대로 저장하고 회전/반전 정보만 EXIF에 남기는 경우가 많아, 메타데이터를 지운 채
+ * 다시 인코딩하면 옆으로 눕거나 뒤집힌 이미지가 된다. 재인코딩 전에 픽셀을 표시 방향으로 돌려 둔다.
+ * APP1(Exif) 세그먼트의 첫 IFD만 읽으며, 태그가 없거나 손상된 경우 1(변환 없음)로 본다.
+ */
+final class ExifOrientation {
+
+    static final int NORMAL = 1;
+
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * JPEG 바이트에서 Orientation 값(1~8)을 읽는다. JPEG가 아니거나 값이 없으면 1
+     */
+    static int read(byte[] jpeg) {
+        if (jpeg.length < 4 || (jpeg[0] & 0xFF) != 0xFF || (jpeg[1] & 0xFF) != 0xD8) {
+            return NORMAL;
+        }
+        int pos = 2;
+        while (pos + 4 <= jpeg.length) {
+            if ((jpeg[pos] & 0xFF) != 0xFF) {
+                return NORMAL;
+            }
+            int marker = jpeg[pos + 1] & 0xFF;
+            if (marker == 0xFF) {
+                pos++; // 채움 바이트
+                continue;
+            }
+            if (marker == 0xDA || marker == 0xD9) {
+                return NORMAL; // 스캔 데이터(SOS) 이후에는 메타데이터가 없다
+            }
+            int length = readUnsignedShort(jpeg, pos + 2, false);
+            if (length < 2) {
+                return NORMAL;
+            }
+            int end = Math.min(jpeg.length, pos + 2 + length);
+            if (marker == 0xE1 && isExifHeader(jpeg, pos + 4, end)) {
+                return readTiffOrientation(jpeg, pos + 10, end);
+            }
+            pos += 2 + length;
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Orientation에 맞게 회전/반전한 이미지를 돌려준다. (5~8은 가로세로가 바뀐다)
+     */
+    static BufferedImage apply(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // 주대각선 반전
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 시계 방향 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // 부대각선 반전
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);   // 반시계 방향 90도
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+        boolean swap = orientation >= 5;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h,
+                source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static boolean isExifHeader(byte[] bytes, int offset, int end) {
+        return offset + 6 <= end
+                && bytes[offset] == 'E' && bytes[offset + 1] == 'x' && bytes[offset + 2] == 'i' && bytes[offset + 3] == 'f'
+                && bytes[offset + 4] == 0 && bytes[offset + 5] == 0;
+    }
+
+    // TIFF 헤더(바이트 순서 + 42 + 첫 IFD 오프셋) 이후 첫 IFD의 항목(12바이트)에서 Orientation을 찾는다
+    private static int readTiffOrientation(byte[] bytes, int tiffStart, int end) {
+        if (tiffStart + 8 > end) {
+            return NORMAL;
+        }
+        boolean littleEndian;
+        if (bytes[tiffStart] == 'I' && bytes[tiffStart + 1] == 'I') {
+            littleEndian = true;
+        } else if (bytes[tiffStart] == 'M' && bytes[tiffStart + 1] == 'M') {
+            littleEndian = false;
+        } else {
+            return NORMAL;
+        }
+        long ifdOffset = readUnsignedInt(bytes, tiffStart + 4, littleEndian);
+        if (ifdOffset < 8 || tiffStart + ifdOffset + 2 > end) {
+            return NORMAL;
+        }
+        int ifd = tiffStart + (int) ifdOffset;
+        int entries = readUnsignedShort(bytes, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                return NORMAL;
+            }
+            if (readUnsignedShort(bytes, entry, littleEndian) == TAG_ORIENTATION) {
+                // SHORT 값은 값 필드(entry + 8)의 앞 2바이트에 들어 있다
+                int value = readUnsignedShort(bytes, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : NORMAL;
+            }
+        }
+        return NORMAL;
+    }
+
+    private static int readUnsignedShort(byte[] bytes, int offset, boolean littleEndian) {
+        int b0 = bytes[offset] & 0xFF;
+        int b1 = bytes[offset + 1] & 0xFF;
+        return littleEndian ? b1 << 8 | b0 : b0 << 8 | b1;
+    }
+
+    private static long readUnsignedInt(byte[] bytes, int offset, boolean littleEndian) {
+        long high = readUnsignedShort(bytes, offset + (littleEndian ? 2 : 0), littleEndian);
+        long low = readUnsignedShort(bytes, offset + (littleEndian ? 0 : 2), littleEndian);
+        return high << 16 | low;
+    }
+}
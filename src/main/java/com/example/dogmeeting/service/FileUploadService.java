@@ -1,7 +1,13 @@
 package com.example.dogmeeting.service;
 
+import com.example.dogmeeting.dto.DogImageKeys;
+import com.example.dogmeeting.dto.ImageUpload;
+import com.example.dogmeeting.dto.StoredObjectPage;
 import org.springframework.web.multipart.MultipartFile;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface FileUploadService {
     /**
@@ -14,8 +20,32 @@ public interface FileUploadService {
      */
     String uploadProfileImage(MultipartFile file, Long userId);
 
+    /**
+     * Validates the image and buffers it in memory so it can be uploaded after the request ends.
+     */
+    ImageUpload prepareImage(MultipartFile file);
+
+    /**
+     * Normalizes a prepared image into original/medium/thumbnail variants and uploads them asynchronously
+     * with a bounded number of concurrent uploads.
+     * @return A future completed with the S3 object keys of the uploaded variants.
+     */
+    CompletableFuture<DogImageKeys> uploadDogImageAsync(ImageUpload image, Long userId, Long dogId);
+
     void deleteFile(String fileKey);
 
+    /**
+     * Deletes objects in batches of up to 1000 keys per request.
+     * @return Error messages keyed by the object keys that could not be deleted.
+     */
+    Map<String, String> deleteFiles(Collection<String> fileKeys);
+
+    /**
+     * Lists objects under a prefix in key order, starting after the given key (exclusive).
+     * @param startAfter The last key already seen, or null to start from the beginning.
+     */
+    StoredObjectPage listFiles(String prefix, String startAfter, int maxKeys);
+
     boolean isValidImageFile(MultipartFile file);
 
     /**
@@ -0,0 +1,257 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.exception.InvalidImageException;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 이미지 헤더만 읽어 실제 형식(JPEG/PNG/GIF/WebP)과 크기를 판별한다.
+ * 픽셀 데이터는 디코딩하지 않으며, PNG/GIF/WebP는 처음 30바이트 정도, JPEG는 SOF 세그먼트까지
+ * 세그먼트 길이만큼 건너뛰며 읽는다. 확장자나 Content-Type은 신뢰하지 않는다.
+ */
+public final class ImageHeaderSniffer {
+
+    // 헤더 탐색 중 읽을 수 있는 최대 바이트 (JPEG의 EXIF/ICC 세그먼트가 앞에 올 수 있다)
+    public static final int MAX_HEADER_BYTES = 256 * 1024;
+
+    private ImageHeaderSniffer() {
+    }
+
+    public static ImageInfo sniff(byte[] content) throws IOException {
+        return sniff(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * 스트림 앞부분에서 이미지 형식과 크기를 읽는다. 스트림은 헤더 이후 위치에 남는다.
+     * @throws InvalidImageException 지원하지 않는 형식이거나 헤더가 손상된 경우
+     */
+    public static ImageInfo sniff(InputStream input) throws IOException {
+        try {
+            return sniffHeader(new HeaderReader(input));
+        } catch (EOFException e) {
+            throw new InvalidImageException("손상된 이미지 파일입니다.");
+        }
+    }
+
+    private static ImageInfo sniffHeader(HeaderReader reader) throws IOException {
+        byte[] signature = reader.readBytes(12);
+
+        if (startsWith(signature, 0xFF, 0xD8, 0xFF)) {
+            reader.unread(signature, 2);
+            return sniffJpeg(reader);
+        }
+        if (startsWith(signature, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            // 첫 청크는 IHDR: 길이(4) + 타입(4) 뒤에 너비/높이 (빅 엔디언)
+            if (!(signature[8] == 0 && signature[9] == 0 && signature[10] == 0 && signature[11] == 13)) {
+                throw new InvalidImageException("손상된 PNG 이미지입니다.");
+            }
+            byte[] ihdr = reader.readBytes(12);
+            if (!startsWith(ihdr, 'I', 'H', 'D', 'R')) {
+                throw new InvalidImageException("손상된 PNG 이미지입니다.");
+            }
+            int width = (ihdr[4] & 0xFF) << 24 | (ihdr[5] & 0xFF) << 16 | (ihdr[6] & 0xFF) << 8 | ihdr[7] & 0xFF;
+            int height = (ihdr[8] & 0xFF) << 24 | (ihdr[9] & 0xFF) << 16 | (ihdr[10] & 0xFF) << 8 | ihdr[11] & 0xFF;
+            return new ImageInfo(ImageFormat.PNG, width, height);
+        }
+        if (startsWith(signature, 'G', 'I', 'F', '8') && (signature[4] == '7' || signature[4] == '9') && signature[5] == 'a') {
+            // 논리 화면 크기 (리틀 엔디언)
+            int width = (signature[6] & 0xFF) | (signature[7] & 0xFF) << 8;
+            int height = (signature[8] & 0xFF) | (signature[9] & 0xFF) << 8;
+            return new ImageInfo(ImageFormat.GIF, width, height);
+        }
+        if (startsWith(signature, 'R', 'I', 'F', 'F') && signature[8] == 'W' && signature[9] == 'E'
+                && signature[10] == 'B' && signature[11] == 'P') {
+            return sniffWebp(reader);
+        }
+        throw new InvalidImageException("지원하지 않는 이미지 형식입니다. (허용: jpg, jpeg, png, gif, webp)");
+    }
+
+    // SOI 이후 세그먼트를 길이만큼 건너뛰며 SOF(프레임 헤더)를 찾는다
+    private static ImageInfo sniffJpeg(HeaderReader reader) throws IOException {
+        while (true) {
+            int marker = reader.readUnsignedByte();
+            while (marker == 0xFF) {
+                marker = reader.readUnsignedByte();
+            }
+            if (marker == 0xD8 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                continue; // 길이가 없는 마커
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                throw new InvalidImageException("JPEG 이미지 크기를 확인할 수 없습니다.");
+            }
+            int length = reader.readUnsignedShort();
+            if (length < 2) {
+                throw new InvalidImageException("손상된 JPEG 이미지입니다.");
+            }
+            boolean startOfFrame = marker >= 0xC0 && marker <= 0xCF
+                    && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+            if (startOfFrame) {
+                reader.readUnsignedByte(); // 샘플 정밀도
+                int height = reader.readUnsignedShort();
+                int width = reader.readUnsignedShort();
+                return new ImageInfo(ImageFormat.JPEG, width, height);
+            }
+            reader.skip(length - 2);
+            if (reader.next() != 0xFF) {
+                throw new InvalidImageException("손상된 JPEG 이미지입니다.");
+            }
+        }
+    }
+
+    private static ImageInfo sniffWebp(HeaderReader reader) throws IOException {
+        byte[] chunk = reader.readBytes(4);
+        reader.readBytes(4); // 청크 길이
+        if (startsWith(chunk, 'V', 'P', '8', ' ')) {
+            // 손실 압축: 프레임 태그(3) + 시작 코드(3) 뒤 14비트 너비/높이
+            byte[] frame = reader.readBytes(10);
+            if ((frame[3] & 0xFF) != 0x9D || frame[4] != 0x01 || frame[5] != 0x2A) {
+                throw new InvalidImageException("손상된 WebP 이미지입니다.");
+            }
+            int width = ((frame[6] & 0xFF) | (frame[7] & 0xFF) << 8) & 0x3FFF;
+            int height = ((frame[8] & 0xFF) | (frame[9] & 0xFF) << 8) & 0x3FFF;
+            return new ImageInfo(ImageFormat.WEBP, width, height);
+        }
+        if (startsWith(chunk, 'V', 'P', '8', 'L')) {
+            // 무손실 압축: 시그니처(0x2F) 뒤 14비트씩 (너비-1), (높이-1)
+            byte[] header = reader.readBytes(5);
+            if ((header[0] & 0xFF) != 0x2F) {
+                throw new InvalidImageException("손상된 WebP 이미지입니다.");
+            }
+            int bits = (header[1] & 0xFF) | (header[2] & 0xFF) << 8 | (header[3] & 0xFF) << 16 | (header[4] & 0xFF) << 24;
+            return new ImageInfo(ImageFormat.WEBP, (bits & 0x3FFF) + 1, ((bits >>> 14) & 0x3FFF) + 1);
+        }
+        if (startsWith(chunk, 'V', 'P', '8', 'X')) {
+            // 확장 형식: 플래그(4) 뒤 24비트씩 (캔버스 너비-1), (캔버스 높이-1)
+            byte[] header = reader.readBytes(10);
+            int width = ((header[4] & 0xFF) | (header[5] & 0xFF) << 8 | (header[6] & 0xFF) << 16) + 1;
+            int height = ((header[7] & 0xFF) | (header[8] & 0xFF) << 8 | (header[9] & 0xFF) << 16) + 1;
+            return new ImageInfo(ImageFormat.WEBP, width, height);
+        }
+        throw new InvalidImageException("손상된 WebP 이미지입니다.");
+    }
+
+    private static boolean startsWith(byte[] bytes, int... prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((bytes[i] & 0xFF) != (prefix[i] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public enum ImageFormat {
+        JPEG("jpg", "image/jpeg"),
+        PNG("png", "image/png"),
+        GIF("gif", "image/gif"),
+        WEBP("webp", "image/webp");
+
+        private final String extension;
+        private final String contentType;
+
+        ImageFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+    }
+
+    public record ImageInfo(ImageFormat format, int width, int height) {
+
+        public long pixels() {
+            return (long) width * height;
+        }
+    }
+
+    // 읽은 바이트 수를 MAX_HEADER_BYTES로 제한하는 최소한의 리더
+    private static final class HeaderReader {
+
+        private final InputStream input;
+        private int consumed;
+        private byte[] pushback = new byte[0];
+        private int pushbackPos;
+
+        HeaderReader(InputStream input) {
+            this.input = input;
+        }
+
+        // 이미 읽은 바이트를 from 위치부터 다시 읽도록 되돌린다
+        void unread(byte[] bytes, int from) {
+            pushback = bytes;
+            pushbackPos = from;
+        }
+
+        int next() throws IOException {
+            if (pushbackPos < pushback.length) {
+                return pushback[pushbackPos++] & 0xFF;
+            }
+            reserve(1);
+            int value = input.read();
+            if (value < 0) {
+                throw new EOFException("이미지 헤더를 끝까지 읽지 못했습니다.");
+            }
+            return value;
+        }
+
+        int readUnsignedByte() throws IOException {
+            return next();
+        }
+
+        int readUnsignedShort() throws IOException {
+            return next() << 8 | next();
+        }
+
+        byte[] readBytes(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            int filled = 0;
+            while (filled < length && pushbackPos < pushback.length) {
+                bytes[filled++] = pushback[pushbackPos++];
+            }
+            reserve(length - filled);
+            if (input.readNBytes(bytes, filled, length - filled) < length - filled) {
+                throw new EOFException("이미지 헤더를 끝까지 읽지 못했습니다.");
+            }
+            return bytes;
+        }
+
+        // EXIF/ICC 세그먼트처럼 큰 구간은 바이트 단위로 읽지 않고 한 번에 건너뛴다
+        void skip(int length) throws IOException {
+            int remaining = length;
+            while (remaining > 0 && pushbackPos < pushback.length) {
+                pushbackPos++;
+                remaining--;
+            }
+            reserve(remaining);
+            while (remaining > 0) {
+                long skipped = input.skip(remaining);
+                if (skipped <= 0) {
+                    // skip은 끝에 도달해도 0을 돌려줄 수 있으므로 한 바이트 읽어 확인한다
+                    if (input.read() < 0) {
+                        throw new EOFException("이미지 헤더를 끝까지 읽지 못했습니다.");
+                    }
+                    skipped = 1;
+                }
+                remaining -= (int) skipped;
+            }
+        }
+
+        private void reserve(int length) {
+            consumed += length;
+            if (consumed > MAX_HEADER_BYTES) {
+                throw new InvalidImageException("이미지 헤더가 너무 큽니다.");
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.ImageUpload;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드 이미지 정규화 파이프라인
+ * 원본을 디코딩해 메타데이터(EXIF 등)를 제거한 정규화 원본과 medium/thumbnail 변형을 다시 인코딩한다.
+ * JPEG의 EXIF Orientation은 제거하기 전에 픽셀에 적용한다.
+ * 디코딩/리사이즈는 CPU와 메모리를 많이 쓰므로 고정 크기 워커 풀과 제한된 대기 큐에서만 실행한다.
+ * 디코딩할 수 없는 형식(WebP 등)이나 애니메이션이 있을 수 있는 GIF 원본은 그대로 둔다.
+ */
+@Slf4j
+@Component
+public class ImageVariantProcessor {
+
+    private final int maxOriginalSize;
+    private final int mediumSize;
+    private final int thumbnailSize;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor workers;
+
+    public ImageVariantProcessor(@Value("${app.image.variants.worker-threads:2}") int workerThreads,
+                                 @Value("${app.image.variants.queue-capacity:32}") int queueCapacity,
+                                 @Value("${app.image.variants.max-original-size:2048}") int maxOriginalSize,
+                                 @Value("${app.image.variants.medium-size:1024}") int mediumSize,
+                                 @Value("${app.image.variants.thumbnail-size:256}") int thumbnailSize,
+                                 @Value("${app.image.variants.jpeg-quality:0.85}") float jpegQuality) {
+        this.maxOriginalSize = maxOriginalSize;
+        this.mediumSize = mediumSize;
+        this.thumbnailSize = thumbnailSize;
+        this.jpegQuality = jpegQuality;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ImageIO.setUseCache(false);
+    }
+
+    /**
+     * 워커 풀에서 이미지를 처리한다. 결과의 첫 항목은 항상 원본(정규화되었거나 그대로인)이다.
+     */
+    public CompletableFuture<List<Variant>> process(ImageUpload image) {
+        CompletableFuture<List<Variant>> result = new CompletableFuture<>();
+        try {
+            workers.execute(() -> {
+                try {
+                    result.complete(createVariants(image));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new IllegalStateException("이미지 처리 대기열이 가득 찼습니다.", e));
+        }
+        return result;
+    }
+
+    public boolean hasCapacity() {
+        return workers.getQueue().remainingCapacity() > 0;
+    }
+
+    public int getQueuedImages() {
+        return workers.getQueue().size();
+    }
+
+    public int getActiveWorkers() {
+        return workers.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private List<Variant> createVariants(ImageUpload image) throws IOException {
+        String extension = image.getExtension();
+        Variant untouched = new Variant(Size.ORIGINAL, extension, image.getContentType(), image.getContent());
+
+        BufferedImage decoded;
+        try {
+            decoded = decode(image.getContent(), maxOriginalSize);
+        } catch (IOException | RuntimeException e) {
+            // 손상되었거나 ImageIO가 지원하지 않는 색 공간(CMYK JPEG 등)
+            log.warn("이미지 디코딩 실패, 원본만 저장합니다: {}", image.getOriginalFilename(), e);
+            decoded = null;
+        }
+        if (decoded == null) {
+            log.debug("디코딩할 수 없는 이미지 형식이라 원본만 저장합니다: {}", image.getOriginalFilename());
+            return List.of(untouched);
+        }
+        // 다시 인코딩하면 EXIF가 사라지므로 회전/반전 정보를 픽셀에 먼저 반영한다 (JPEG가 아니면 그대로)
+        decoded = ExifOrientation.apply(decoded, ExifOrientation.read(image.getContent()));
+
+        // 투명도가 있으면 PNG, 없으면 JPEG로 다시 인코딩
+        boolean alpha = decoded.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        String contentType = alpha ? "image/png" : "image/jpeg";
+
+        List<Variant> variants = new ArrayList<>(3);
+        if (extension.equals("gif")) {
+            variants.add(untouched);
+        } else {
+            BufferedImage normalized = resize(decoded, maxOriginalSize, alpha);
+            variants.add(new Variant(Size.ORIGINAL, format, contentType, encode(normalized, format)));
+        }
+        BufferedImage medium = resize(decoded, mediumSize, alpha);
+        variants.add(new Variant(Size.MEDIUM, format, contentType, encode(medium, format)));
+        // thumbnail은 medium에서 줄여 큰 원본을 한 번 더 훑지 않는다
+        BufferedImage thumbnail = resize(medium, thumbnailSize, alpha);
+        variants.add(new Variant(Size.THUMBNAIL, format, contentType, encode(thumbnail, format)));
+        return variants;
+    }
+
+    // 헤더에서 크기를 먼저 읽고, 목표 크기보다 훨씬 크면 서브샘플링해 디코딩 메모리를 줄인다
+    private BufferedImage decode(byte[] content, int targetSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, longEdge / targetSize);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxSize, boolean alpha) {
+        int longEdge = Math.max(source.getWidth(), source.getHeight());
+        double scale = longEdge > maxSize ? (double) maxSize / longEdge : 1.0;
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // 메타데이터 없이 픽셀만 인코딩한다
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (format.equals("jpg")) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    public enum Size {
+        ORIGINAL(""),
+        MEDIUM("_medium"),
+        THUMBNAIL("_thumb");
+
+        private final String keySuffix;
+
+        Size(String keySuffix) {
+            this.keySuffix = keySuffix;
+        }
+
+        public String keySuffix() {
+            return keySuffix;
+        }
+    }
+
+    public record Variant(Size size, String extension, String contentType, byte[] content) {
+    }
+}
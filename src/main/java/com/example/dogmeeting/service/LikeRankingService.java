@@ -0,0 +1,208 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.entity.UserLikeCount;
+import com.example.dogmeeting.event.LikeRankingReloadedEvent;
+import com.example.dogmeeting.repository.SwipeRepository;
+import com.example.dogmeeting.repository.UserLikeCountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 좋아요 수 기반 랭킹 저장소 (좋아요 수의 유일한 소유자, 사용자 랭킹도 이 인덱스의 값을 읽는다)
+ * user_like_counts 테이블(영속)과 전체/도시별 인메모리 정렬 인덱스를 함께 유지한다.
+ * 좋아요 토글 시 증분 갱신되며, 주기적인 재구성 작업으로 swipes 테이블과의 오차를 보정한다.
+ * 재구성은 집계 조회부터 인덱스 교체까지 반영된 변경을 모아 두었다가 새 인덱스에 다시 적용하므로
+ * 그 사이 커밋된 토글이 사라지지 않는다. (집계 조회 직전에 커밋되어 콜백만 늦게 실행된 변경은 한 번 더 반영될 수 있고,
+ * 다음 재구성에서 보정된다)
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class LikeRankingService {
+
+    private final UserLikeCountRepository userLikeCountRepository;
+    private final SwipeRepository swipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Indexes indexes = new Indexes(new RankingIndex(), new ConcurrentHashMap<>());
+
+    // 인덱스 변경과 재구성 중 변경 버퍼를 함께 보호
+    private final Object indexLock = new Object();
+    private final Object reloadLock = new Object();
+    private List<Consumer<Indexes>> changesDuringReload;
+
+    /**
+     * 전체 랭킹 조회 (offset부터 limit명)
+     */
+    public List<RankingIndex.Entry> getTopUsers(int offset, int limit) {
+        return indexes.global().range(offset, limit);
+    }
+
+    /**
+     * 도시별 랭킹 조회 (상위 limit명)
+     */
+    public List<RankingIndex.Entry> getTopUsersInCity(String city, int limit) {
+        RankingIndex index = indexes.cities().get(city);
+        return index != null ? index.range(0, limit) : List.of();
+    }
+
+    public int getLikeCount(Long userId) {
+        Long score = indexes.global().scoreOf(userId);
+        return score != null ? score.intValue() : 0;
+    }
+
+    /**
+     * 좋아요 수 증감을 기록한다.
+     * 집계 테이블은 현재 트랜잭션 안에서 갱신하고, 인메모리 인덱스는 커밋 이후에 반영한다.
+     */
+    @Transactional
+    public void recordLikeChange(User toUser, int delta) {
+        Long userId = toUser.getId();
+        // 증가는 upsert 한 문장, 감소는 행이 있을 때만 (좋아요 취소 전에는 항상 행이 있다)
+        if (delta > 0) {
+            userLikeCountRepository.upsertLikes(userId, delta, LocalDateTime.now());
+        } else {
+            userLikeCountRepository.addLikes(userId, delta, LocalDateTime.now());
+        }
+
+        String city = toUser.getCity();
+        TransactionCallbacks.afterCommit(() -> applyChange(target -> {
+            target.global().addScore(userId, delta);
+            if (city != null) {
+                target.cities().computeIfAbsent(city, c -> new RankingIndex()).addScore(userId, delta);
+            }
+        }));
+    }
+
+    /**
+     * 사용자의 도시가 바뀌면 도시별 인덱스에서 위치를 옮긴다.
+     */
+    public void moveUserCity(Long userId, String oldCity, String newCity) {
+        if (Objects.equals(oldCity, newCity)) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> applyChange(target -> {
+            Long score = target.global().scoreOf(userId);
+            if (oldCity != null) {
+                RankingIndex oldIndex = target.cities().get(oldCity);
+                if (oldIndex != null) {
+                    oldIndex.remove(userId);
+                }
+            }
+            if (score != null && newCity != null) {
+                target.cities().computeIfAbsent(newCity, c -> new RankingIndex()).put(userId, score);
+            }
+        }));
+    }
+
+    /**
+     * 서버 시작 시 집계 테이블로부터 인덱스를 적재한다. 테이블이 비어 있으면 swipes에서 재구성한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadOnStartup() {
+        if (userLikeCountRepository.count() == 0) {
+            rebuild();
+            return;
+        }
+        reloadIndexes(userLikeCountRepository::findAllPositiveWithCity);
+        log.info("좋아요 랭킹 인덱스 적재 완료: {}명", indexes.global().size());
+    }
+
+    /**
+     * swipes 테이블에서 좋아요 수를 다시 집계하여 집계 테이블과 인덱스를 재구성한다. (드리프트 보정)
+     * 집계 테이블 보정은 같은 스냅샷의 집계 값과의 차이만큼 증감하므로, 재구성 중 커밋된 토글의 증감도 유지된다.
+     */
+    @Scheduled(cron = "${app.ranking.rebuild-cron:0 0 4 * * *}")
+    @Transactional
+    public void rebuild() {
+        List<Object[]> rows = reloadIndexes(swipeRepository::countLikesGroupedByUser);
+
+        Map<Long, Integer> actualCounts = new HashMap<>();
+        for (Object[] row : rows) {
+            actualCounts.put((Long) row[0], ((Long) row[2]).intValue());
+        }
+
+        // 기존 집계 행 보정
+        LocalDateTime now = LocalDateTime.now();
+        for (UserLikeCount counter : userLikeCountRepository.findAll()) {
+            Integer actual = actualCounts.remove(counter.getUserId());
+            int expected = actual != null ? actual : 0;
+            if (counter.getLikeCount() != expected) {
+                userLikeCountRepository.addLikes(counter.getUserId(), expected - counter.getLikeCount(), now);
+            }
+        }
+
+        // 집계 행이 없던 사용자 추가 (그 사이 첫 좋아요로 행이 생겼으면 그 값에 더한다)
+        actualCounts.forEach((userId, likeCount) -> userLikeCountRepository.upsertLikes(userId, likeCount, now));
+
+        log.info("좋아요 랭킹 재구성 완료: {}명", indexes.global().size());
+    }
+
+    // 커밋된 변경을 현재 인덱스에 반영하고, 재구성 중이면 새 인덱스에 다시 적용하도록 모아 둔다
+    private void applyChange(Consumer<Indexes> change) {
+        synchronized (indexLock) {
+            change.accept(indexes);
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        }
+    }
+
+    // 행 형식: 사용자 ID, 도시, 좋아요 수
+    private List<Object[]> reloadIndexes(Supplier<List<Object[]>> query) {
+        synchronized (reloadLock) {
+            synchronized (indexLock) {
+                changesDuringReload = new ArrayList<>();
+            }
+            try {
+                List<Object[]> rows = query.get();
+                Indexes loaded = new Indexes(new RankingIndex(), new ConcurrentHashMap<>());
+                for (Object[] row : rows) {
+                    long userId = (Long) row[0];
+                    String city = (String) row[1];
+                    long likeCount = ((Number) row[2]).longValue();
+                    if (likeCount <= 0) {
+                        continue;
+                    }
+                    loaded.global().put(userId, likeCount);
+                    if (city != null) {
+                        loaded.cities().computeIfAbsent(city, c -> new RankingIndex()).put(userId, likeCount);
+                    }
+                }
+                synchronized (indexLock) {
+                    changesDuringReload.forEach(change -> change.accept(loaded));
+                    indexes = loaded;
+                    changesDuringReload = null;
+                }
+                eventPublisher.publishEvent(new LikeRankingReloadedEvent());
+                return rows;
+            } finally {
+                synchronized (indexLock) {
+                    changesDuringReload = null;
+                }
+            }
+        }
+    }
+
+    private record Indexes(RankingIndex global, Map<String, RankingIndex> cities) {
+    }
+}
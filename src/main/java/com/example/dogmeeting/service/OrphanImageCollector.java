@@ -0,0 +1,237 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.StoredObjectPage;
+import com.example.dogmeeting.entity.S3GcCheckpoint;
+import com.example.dogmeeting.repository.DogRepository;
+import com.example.dogmeeting.repository.S3GcCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * S3 고아 객체 정리
+ * dogs/ 아래 객체를 키 순서로 페이지 단위 조회하면서, 어떤 강아지에서도 참조하지 않고 유예 기간보다 오래된 객체를
+ * 삭제 outbox에 넣는다. 참조 키는 64비트 지문의 정렬 배열(키당 8바이트)로 메모리에 올려 이진 탐색한다.
+ * (지문 충돌은 고아를 남기는 쪽으로만 작용하므로 안전하다)
+ * 진행 위치는 페이지마다 s3_gc_checkpoints에 저장되어, 중단되거나 max-objects-per-run에 도달한 실행은 다음 실행에서 이어진다.
+ */
+@Slf4j
+@Service
+public class OrphanImageCollector {
+
+    private static final String PREFIX = "dogs/";
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final FileUploadService fileUploadService;
+    private final DogRepository dogRepository;
+    private final S3GcCheckpointRepository checkpointRepository;
+    private final S3DeletionOutboxService s3DeletionOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration gracePeriod;
+    private final int pageSize;
+    private final long minRequestIntervalNanos;
+    private final long maxObjectsPerRun;
+    private final boolean dryRun;
+
+    private final ExecutorService worker;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong runCount = new AtomicLong();
+    private final AtomicLong scannedObjects = new AtomicLong();
+    private final AtomicLong orphanObjects = new AtomicLong();
+    private final AtomicLong lastRunNanos = new AtomicLong();
+    private final AtomicLong lastReferencedKeys = new AtomicLong();
+
+    public OrphanImageCollector(FileUploadService fileUploadService,
+                                DogRepository dogRepository,
+                                S3GcCheckpointRepository checkpointRepository,
+                                S3DeletionOutboxService s3DeletionOutbox,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.s3.orphan-gc.enabled:true}") boolean enabled,
+                                @Value("${app.s3.orphan-gc.grace-period:PT24H}") Duration gracePeriod,
+                                @Value("${app.s3.orphan-gc.page-size:1000}") int pageSize,
+                                @Value("${app.s3.orphan-gc.max-list-requests-per-second:5}") double maxListRequestsPerSecond,
+                                @Value("${app.s3.orphan-gc.max-objects-per-run:200000}") long maxObjectsPerRun,
+                                @Value("${app.s3.orphan-gc.dry-run:false}") boolean dryRun) {
+        this.fileUploadService = fileUploadService;
+        this.dogRepository = dogRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.s3DeletionOutbox = s3DeletionOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.gracePeriod = gracePeriod;
+        this.pageSize = Math.min(pageSize, 1000); // ListObjectsV2 한 번에 최대 1000개
+        this.minRequestIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / maxListRequestsPerSecond);
+        this.maxObjectsPerRun = maxObjectsPerRun;
+        this.dryRun = dryRun;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "s3-orphan-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(cron = "${app.s3.orphan-gc.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            trigger();
+        }
+    }
+
+    /**
+     * 전용 스레드에서 정리를 시작한다. 이미 실행 중이면 false
+     */
+    public boolean trigger() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        worker.execute(() -> {
+            try {
+                runOnce();
+            } catch (Exception e) {
+                log.error("S3 고아 객체 정리 실패 (다음 실행에서 이어서 진행): {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        worker.shutdownNow();
+        worker.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public long getRunCount() {
+        return runCount.get();
+    }
+
+    public long getScannedObjects() {
+        return scannedObjects.get();
+    }
+
+    public long getOrphanObjects() {
+        return orphanObjects.get();
+    }
+
+    public long getLastRunNanos() {
+        return lastRunNanos.get();
+    }
+
+    public long getLastReferencedKeys() {
+        return lastReferencedKeys.get();
+    }
+
+    private void runOnce() throws InterruptedException {
+        long start = System.nanoTime();
+        long[] referenced = loadReferencedFingerprints();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+
+        S3GcCheckpoint checkpoint = checkpointRepository.findById(PREFIX)
+                .orElseGet(() -> S3GcCheckpoint.builder().prefix(PREFIX).build());
+        String startAfter = checkpoint.getLastKey();
+        long scanned = 0;
+        long orphans = 0;
+        boolean completed = false;
+        long lastRequest = 0;
+
+        while (scanned < maxObjectsPerRun && !Thread.currentThread().isInterrupted()) {
+            // 목록 조회 요청 간격 제한
+            long wait = lastRequest + minRequestIntervalNanos - System.nanoTime();
+            if (lastRequest != 0 && wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            lastRequest = System.nanoTime();
+            StoredObjectPage page = fileUploadService.listFiles(PREFIX, startAfter, pageSize);
+
+            List<String> pageOrphans = page.getObjects().stream()
+                    .filter(object -> object.lastModified() != null && object.lastModified().isBefore(cutoff))
+                    .map(StoredObjectPage.StoredObject::key)
+                    .filter(key -> Arrays.binarySearch(referenced, fingerprint(key)) < 0)
+                    .toList();
+            if (!page.getObjects().isEmpty()) {
+                startAfter = page.getObjects().get(page.getObjects().size() - 1).key();
+            }
+            scanned += page.getObjects().size();
+            orphans += pageOrphans.size();
+            scannedObjects.addAndGet(page.getObjects().size());
+            orphanObjects.addAndGet(pageOrphans.size());
+            completed = !page.isTruncated();
+
+            // 삭제 예약과 진행 위치를 함께 저장
+            S3GcCheckpoint current = checkpoint;
+            String lastKey = startAfter;
+            boolean done = completed;
+            checkpoint = transactionTemplate.execute(status -> {
+                if (!dryRun) {
+                    s3DeletionOutbox.enqueue(pageOrphans);
+                }
+                if (done) {
+                    current.complete();
+                } else {
+                    current.advanceTo(lastKey);
+                }
+                return checkpointRepository.save(current);
+            });
+            if (completed) {
+                break;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        runCount.incrementAndGet();
+        lastRunNanos.set(elapsed);
+        log.info("S3 고아 객체 정리 {}: 참조 키 {}개, {}개 확인, 고아 {}개{}, {}ms",
+                completed ? "완료" : "중단(다음 실행에서 계속)", referenced.length, scanned, orphans,
+                dryRun ? " (dry-run, 삭제하지 않음)" : " 삭제 예약", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    // 참조 중인 사진 키(원본, 변형)의 지문을 정렬된 배열로 만든다
+    private long[] loadReferencedFingerprints() {
+        List<Object[]> rows = dogRepository.findAllPhotoKeys();
+        long[] fingerprints = new long[rows.size() * 3];
+        int count = 0;
+        for (Object[] row : rows) {
+            for (Object key : row) {
+                if (key != null) {
+                    fingerprints[count++] = fingerprint((String) key);
+                }
+            }
+        }
+        long[] sorted = Arrays.copyOf(fingerprints, count);
+        Arrays.sort(sorted);
+        lastReferencedKeys.set(count);
+        return sorted;
+    }
+
+    // 64비트 FNV-1a
+    private static long fingerprint(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.dogmeeting.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * S3 객체 키별 Presigned URL 캐시
+ * 서명 유효 시간 중 설정한 비율(reuse-fraction)이 지날 때까지 같은 URL을 재사용하여
+ * SigV4 서명 비용을 줄이고, 클라이언트/CDN 캐시가 동작할 수 있도록 URL을 고정한다.
+ */
+@Slf4j
+@Component
+public class PresignedUrlCache {
+
+    private final Cache<String, CachedUrl> cache;
+
+    @Autowired
+    public PresignedUrlCache(@Value("${app.s3.presign-cache.max-size:10000}") long maxSize,
+                             @Value("${app.s3.presign-cache.reuse-fraction:0.5}") double reuseFraction) {
+        this(maxSize, reuseFraction, Ticker.systemTicker());
+    }
+
+    // 테스트에서 만료 시각을 직접 조정할 수 있도록 시계를 받는다
+    PresignedUrlCache(long maxSize, double reuseFraction, Ticker ticker) {
+        if (reuseFraction <= 0 || reuseFraction >= 1) {
+            throw new IllegalArgumentException("app.s3.presign-cache.reuse-fraction은 0과 1 사이여야 합니다.");
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedUrl>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedUrl value, long currentTime) {
+                        return (long) (value.duration.toNanos() * reuseFraction);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedUrl value, long currentTime, long currentDuration) {
+                        return (long) (value.duration.toNanos() * reuseFraction);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedUrl value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시에 재사용 가능한 URL이 있으면 반환하고, 없으면 signer로 새로 서명하여 저장한다.
+     */
+    public String get(String key, Duration duration, Function<String, String> signer) {
+        CachedUrl cached = cache.getIfPresent(key);
+        if (cached != null && cached.duration.equals(duration)) {
+            return cached.url;
+        }
+        String url = signer.apply(key);
+        if (url != null) {
+            cache.put(key, new CachedUrl(url, duration));
+        }
+        return url;
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Scheduled(fixedDelayString = "${app.s3.presign-cache.stats-log-interval-ms:300000}")
+    public void logStats() {
+        CacheStats stats = cache.stats();
+        log.info("Presigned URL 캐시 통계: size={}, hit={}, miss={}, hitRate={}, eviction={}",
+                cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                String.format("%.3f", stats.hitRate()), stats.evictionCount());
+    }
+
+    private static final class CachedUrl {
+        final String url;
+        final Duration duration;
+
+        CachedUrl(String url, Duration duration) {
+            this.url = url;
+            this.duration = duration;
+        }
+    }
+}
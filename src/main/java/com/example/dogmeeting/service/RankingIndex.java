@@ -0,0 +1,237 @@
+package com.example.dogmeeting.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 점수 내림차순(동점이면 ID 오름차순)으로 정렬된 인메모리 랭킹 인덱스
+ * 서브트리 크기를 가진 트립(treap)으로 구현하여
+ * 점수 갱신/순위 조회는 O(log n), 페이지 조회는 O(log n + page)에 처리한다.
+ */
+public class RankingIndex {
+
+    private final Map<Long, Long> scores = new HashMap<>();
+    private Node root;
+
+    /**
+     * 점수를 delta만큼 증감한다. 결과가 0 이하이면 인덱스에서 제거한다.
+     * @return 변경된 점수
+     */
+    public synchronized long addScore(long id, long delta) {
+        Long current = scores.get(id);
+        long updated = (current != null ? current : 0L) + delta;
+        if (updated <= 0) {
+            remove(id);
+            return 0L;
+        }
+        put(id, updated);
+        return updated;
+    }
+
+    /**
+     * 점수를 지정한 값으로 설정한다. (0점도 유지)
+     */
+    public synchronized void put(long id, long score) {
+        Long current = scores.put(id, score);
+        if (current != null) {
+            root = erase(root, current, id);
+        }
+        root = insert(root, new Node(id, score));
+    }
+
+    public synchronized void remove(long id) {
+        Long current = scores.remove(id);
+        if (current != null) {
+            root = erase(root, current, id);
+        }
+    }
+
+    public synchronized Long scoreOf(long id) {
+        return scores.get(id);
+    }
+
+    /**
+     * @return 1부터 시작하는 순위, 인덱스에 없으면 0
+     */
+    public synchronized int rankOf(long id) {
+        Long score = scores.get(id);
+        if (score == null) {
+            return 0;
+        }
+        int rank = 0;
+        Node t = root;
+        while (t != null) {
+            int c = compare(score, id, t.score, t.id);
+            if (c <= 0) {
+                if (c == 0) {
+                    return rank + size(t.left) + 1;
+                }
+                t = t.left;
+            } else {
+                rank += size(t.left) + 1;
+                t = t.right;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * offset 번째(0부터)부터 limit개의 항목을 순위 순서대로 반환
+     */
+    public synchronized List<Entry> range(int offset, int limit) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+        if (offset < 0 || limit <= 0 || offset >= size(root)) {
+            return result;
+        }
+
+        // offset 번째 노드까지 내려가면서 아직 방문하지 않은 상위 노드를 스택에 쌓는다
+        Deque<Node> stack = new ArrayDeque<>();
+        Node t = root;
+        int k = offset;
+        while (t != null) {
+            int leftSize = size(t.left);
+            if (k < leftSize) {
+                stack.push(t);
+                t = t.left;
+            } else if (k == leftSize) {
+                stack.push(t);
+                break;
+            } else {
+                k -= leftSize + 1;
+                t = t.right;
+            }
+        }
+
+        // 중위 순회로 limit개 수집
+        while (!stack.isEmpty() && result.size() < limit) {
+            Node node = stack.pop();
+            result.add(new Entry(node.id, node.score));
+            Node next = node.right;
+            while (next != null) {
+                stack.push(next);
+                next = next.left;
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final long id;
+        private final long score;
+    }
+
+    private static final class Node {
+        final long id;
+        final long score;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(long id, long score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    // 점수 내림차순, 동점이면 ID 오름차순
+    private static int compare(long aScore, long aId, long bScore, long bId) {
+        if (aScore != bScore) {
+            return Long.compare(bScore, aScore);
+        }
+        return Long.compare(aId, bId);
+    }
+
+    private static int size(Node t) {
+        return t == null ? 0 : t.size;
+    }
+
+    private static void update(Node t) {
+        t.size = 1 + size(t.left) + size(t.right);
+    }
+
+    private static Node insert(Node t, Node node) {
+        if (t == null) {
+            return node;
+        }
+        if (node.priority > t.priority) {
+            Node[] parts = split(t, node.score, node.id);
+            node.left = parts[0];
+            node.right = parts[1];
+            update(node);
+            return node;
+        }
+        if (compare(node.score, node.id, t.score, t.id) < 0) {
+            t.left = insert(t.left, node);
+        } else {
+            t.right = insert(t.right, node);
+        }
+        update(t);
+        return t;
+    }
+
+    private static Node erase(Node t, long score, long id) {
+        if (t == null) {
+            return null;
+        }
+        int c = compare(score, id, t.score, t.id);
+        if (c == 0) {
+            return merge(t.left, t.right);
+        }
+        if (c < 0) {
+            t.left = erase(t.left, score, id);
+        } else {
+            t.right = erase(t.right, score, id);
+        }
+        update(t);
+        return t;
+    }
+
+    // 키보다 앞선 노드들과 나머지로 분할
+    private static Node[] split(Node t, long score, long id) {
+        if (t == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(t.score, t.id, score, id) < 0) {
+            Node[] parts = split(t.right, score, id);
+            t.right = parts[0];
+            update(t);
+            return new Node[]{t, parts[1]};
+        }
+        Node[] parts = split(t.left, score, id);
+        t.left = parts[1];
+        update(t);
+        return new Node[]{parts[0], t};
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.entity.S3DeletionTask;
+import com.example.dogmeeting.repository.S3DeletionTaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * S3 객체 삭제 outbox
+ * 삭제할 키는 호출한 쪽의 DB 트랜잭션 안에서 s3_deletion_outbox에 기록되고(롤백되면 함께 취소),
+ * 백그라운드 워커가 DeleteObjects로 최대 batch-size개씩 삭제한다. 실패한 키는 지수 백오프로 재시도한다.
+ * S3 삭제는 멱등이므로 같은 키가 두 번 처리되어도 문제없다.
+ */
+@Slf4j
+@Service
+public class S3DeletionOutboxService {
+
+    private final S3DeletionTaskRepository taskRepository;
+    private final FileUploadService fileUploadService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long pollIntervalMs;
+    private final ScheduledExecutorService worker;
+
+    private final AtomicLong deletedObjects = new AtomicLong();
+    private final AtomicLong failedDeletions = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong totalBatchNanos = new AtomicLong();
+    private final AtomicLong lastBatchNanos = new AtomicLong();
+
+    public S3DeletionOutboxService(S3DeletionTaskRepository taskRepository,
+                                   FileUploadService fileUploadService,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${app.s3.deletion.batch-size:1000}") int batchSize,
+                                   @Value("${app.s3.deletion.initial-backoff-ms:1000}") long initialBackoffMs,
+                                   @Value("${app.s3.deletion.max-backoff-ms:3600000}") long maxBackoffMs,
+                                   @Value("${app.s3.deletion.poll-interval-ms:5000}") long pollIntervalMs) {
+        this.taskRepository = taskRepository;
+        this.fileUploadService = fileUploadService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.min(batchSize, 1000); // DeleteObjects 한 번에 최대 1000개
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "s3-deletion-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 삭제할 객체 키를 기록한다. 진행 중인 트랜잭션이 있으면 그 트랜잭션에 참여한다.
+     */
+    @Transactional
+    public void enqueue(Collection<String> objectKeys) {
+        List<S3DeletionTask> tasks = objectKeys.stream()
+                .filter(key -> key != null && !key.isBlank())
+                .distinct()
+                .map(key -> S3DeletionTask.builder().objectKey(key).build())
+                .collect(Collectors.toList());
+        if (!tasks.isEmpty()) {
+            taskRepository.saveAll(tasks);
+        }
+    }
+
+    /**
+     * 전용 워커 스레드를 시작한다. (S3 호출이 느려도 다른 스케줄 작업/STOMP 브로커 스케줄러를 막지 않도록 분리)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.scheduleWithFixedDelay(() -> {
+            try {
+                processDue();
+            } catch (Exception e) {
+                log.error("S3 삭제 outbox 처리 오류: {}", e.getMessage(), e);
+            }
+        }, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 시도 시각이 지난 항목을 배치 단위로 삭제한다. 한 배치가 가득 차면 남은 항목이 없을 때까지 이어서 처리한다.
+     */
+    public void processDue() {
+        while (true) {
+            List<S3DeletionTask> due = taskRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return;
+            }
+            processBatch(due);
+            if (due.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    public long getPendingTasks() {
+        return taskRepository.count();
+    }
+
+    public long getDeletedObjects() {
+        return deletedObjects.get();
+    }
+
+    public long getFailedDeletions() {
+        return failedDeletions.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getTotalBatchNanos() {
+        return totalBatchNanos.get();
+    }
+
+    public long getLastBatchNanos() {
+        return lastBatchNanos.get();
+    }
+
+    private void processBatch(List<S3DeletionTask> tasks) {
+        long start = System.nanoTime();
+        List<String> keys = tasks.stream().map(S3DeletionTask::getObjectKey).distinct().collect(Collectors.toList());
+        Map<String, String> failures = deleteFiles(keys);
+
+        List<Long> doneIds = tasks.stream()
+                .filter(task -> !failures.containsKey(task.getObjectKey()))
+                .map(S3DeletionTask::getId)
+                .collect(Collectors.toList());
+        List<Long> failedIds = tasks.stream()
+                .filter(task -> failures.containsKey(task.getObjectKey()))
+                .map(S3DeletionTask::getId)
+                .collect(Collectors.toList());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!doneIds.isEmpty()) {
+                taskRepository.deleteAllByIdInBatch(doneIds);
+            }
+            if (!failedIds.isEmpty()) {
+                LocalDateTime now = LocalDateTime.now();
+                for (S3DeletionTask task : taskRepository.findAllById(failedIds)) {
+                    long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(task.getAttempts(), 20));
+                    task.recordFailure(failures.get(task.getObjectKey()), now.plus(backoff, ChronoUnit.MILLIS));
+                }
+            }
+        });
+
+        long elapsed = System.nanoTime() - start;
+        deletedObjects.addAndGet(doneIds.size());
+        failedDeletions.addAndGet(failedIds.size());
+        batchCount.incrementAndGet();
+        totalBatchNanos.addAndGet(elapsed);
+        lastBatchNanos.set(elapsed);
+        if (!failedIds.isEmpty()) {
+            log.warn("S3 삭제 배치: {}개 삭제, {}개 실패 (재시도 예정)", doneIds.size(), failedIds.size());
+        } else {
+            log.debug("S3 삭제 배치: {}개 삭제", doneIds.size());
+        }
+    }
+
+    // 삭제 요청 자체가 실패하면 배치 전체를 실패로 돌려 백오프 후 재시도하게 한다
+    private Map<String, String> deleteFiles(List<String> keys) {
+        try {
+            return fileUploadService.deleteFiles(keys);
+        } catch (RuntimeException e) {
+            log.error("S3 삭제 배치 요청 실패: {}개", keys.size(), e);
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            return keys.stream().collect(Collectors.toMap(Function.identity(), key -> error));
+        }
+    }
+}
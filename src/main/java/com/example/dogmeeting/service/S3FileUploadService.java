@@ -1,39 +1,125 @@
 package com.example.dogmeeting.service;
 
-import lombok.RequiredArgsConstructor;
+import com.example.dogmeeting.dto.DogImageKeys;
+import com.example.dogmeeting.dto.ImageUpload;
+import com.example.dogmeeting.dto.StoredObjectPage;
+import com.example.dogmeeting.exception.InvalidImageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class S3FileUploadService implements FileUploadService {
 
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
     private final S3Presigner s3Presigner;
+    private final PresignedUrlCache presignedUrlCache;
+    private final ImageVariantProcessor imageVariantProcessor;
+    // 업로드 실패 후 정리용 (outbox가 이 서비스를 사용하므로 필요할 때 찾는다)
+    private final ObjectProvider<S3DeletionOutboxService> s3DeletionOutbox;
 
     @Value("${spring.cloud.aws.s3.bucket}")
     private String bucketName;
 
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png", "gif", "webp");
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
+    private static final int HEADER_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
+    // 헤더로 판별한 해상도 상한 (긴 변, 전체 픽셀 수)
+    private final int maxImageDimension;
+    private final long maxImagePixels;
+
+    // 비동기 업로드: 동시에 전송 중인 업로드 수(in-flight)와 대기 중인 업로드 수를 모두 제한
+    private final int maxInFlight;
+    private final Semaphore uploadPermits;
+    private final ThreadPoolExecutor uploadDispatcher;
+
+    // S3 호출 시간 (presign은 캐시에 없어 실제로 서명한 경우만)
+    private final OperationTimer putTimer;
+    private final OperationTimer deleteTimer;
+    private final OperationTimer deleteBatchTimer;
+    private final OperationTimer presignTimer;
+
+    public S3FileUploadService(S3Client s3Client,
+                               S3AsyncClient s3AsyncClient,
+                               S3Presigner s3Presigner,
+                               PresignedUrlCache presignedUrlCache,
+                               ImageVariantProcessor imageVariantProcessor,
+                               ObjectProvider<S3DeletionOutboxService> s3DeletionOutbox,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.s3.upload.max-in-flight:16}") int maxInFlight,
+                               @Value("${app.s3.upload.max-pending:32}") int maxPending,
+                               @Value("${app.s3.upload.max-image-dimension:10000}") int maxImageDimension,
+                               @Value("${app.s3.upload.max-image-pixels:40000000}") long maxImagePixels) {
+        this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
+        this.s3Presigner = s3Presigner;
+        this.presignedUrlCache = presignedUrlCache;
+        this.imageVariantProcessor = imageVariantProcessor;
+        this.s3DeletionOutbox = s3DeletionOutbox;
+        this.maxImageDimension = maxImageDimension;
+        this.maxImagePixels = maxImagePixels;
+        this.maxInFlight = maxInFlight;
+        this.uploadPermits = new Semaphore(maxInFlight);
+        // 단일 디스패처 스레드가 허용량이 생길 때까지 기다렸다가 전송을 시작한다 (전송 자체는 논블로킹)
+        this.uploadDispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxPending), runnable -> {
+                    Thread thread = new Thread(runnable, "s3-upload-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.putTimer = new OperationTimer(meterRegistry, "put");
+        this.deleteTimer = new OperationTimer(meterRegistry, "delete");
+        this.deleteBatchTimer = new OperationTimer(meterRegistry, "delete_batch");
+        this.presignTimer = new OperationTimer(meterRegistry, "presign");
+    }
 
     /**
      * @return The S3 object key of the uploaded file.
@@ -42,8 +128,7 @@ public class S3FileUploadService implements FileUploadService {
     public String uploadDogImage(MultipartFile file, Long userId, Long dogId) {
         log.info("S3 강아지 이미지 업로드 시작: userId={}, dogId={}, fileName={}", userId, dogId, file.getOriginalFilename());
         validateImageFile(file);
-        String fileName = generateFileName("dogs", userId, dogId, file.getOriginalFilename());
-        return uploadToS3(file, fileName);
+        return uploadToS3(file, "dogs", userId, dogId);
     }
 
     /**
@@ -53,31 +138,157 @@ public class S3FileUploadService implements FileUploadService {
     public String uploadProfileImage(MultipartFile file, Long userId) {
         log.info("S3 프로필 이미지 업로드 시작: userId={}, fileName={}", userId, file.getOriginalFilename());
         validateImageFile(file);
-        String fileName = generateFileName("profiles", userId, null, file.getOriginalFilename());
-        return uploadToS3(file, fileName);
+        return uploadToS3(file, "profiles", userId, null);
+    }
+
+    /**
+     * 이미지를 검증하고 메모리에 읽어 둔다. 이미지 처리 또는 업로드 대기열이 가득 차 있으면 바로 거부한다.
+     * 파일은 한 번만 읽고, 형식/크기 판별과 이후 처리·업로드는 모두 같은 바이트 배열을 사용한다.
+     */
+    @Override
+    public ImageUpload prepareImage(MultipartFile file) {
+        validateImageFile(file);
+        if (!imageVariantProcessor.hasCapacity() || uploadDispatcher.getQueue().remainingCapacity() == 0) {
+            throw new IllegalStateException("이미지 업로드 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        try {
+            byte[] content = file.getBytes();
+            ImageHeaderSniffer.ImageInfo info = inspectImage(new ByteArrayInputStream(content));
+            return ImageUpload.builder()
+                    .originalFilename(file.getOriginalFilename())
+                    .contentType(info.format().contentType())
+                    .extension(info.format().extension())
+                    .width(info.width())
+                    .height(info.height())
+                    .content(content)
+                    .build();
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 파일을 읽는데 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 준비된 이미지를 정규화 원본과 medium/thumbnail 변형으로 처리한 뒤 S3AsyncClient로 업로드한다.
+     * 요청/DB 트랜잭션 스레드를 점유하지 않으며, 동시 전송 수는 max-in-flight, 대기 수는 max-pending으로 제한된다.
+     * 일부 변형 업로드가 실패하면 이미 올라간 객체를 삭제 outbox에 넣고 실패로 완료한다.
+     * @return 업로드가 끝나면 원본/변형 S3 객체 키로 완료되는 future
+     */
+    @Override
+    public CompletableFuture<DogImageKeys> uploadDogImageAsync(ImageUpload image, Long userId, Long dogId) {
+        String baseName = generateBaseName("dogs", userId, dogId);
+        return imageVariantProcessor.process(image).thenCompose(variants -> {
+            Map<ImageVariantProcessor.Size, CompletableFuture<String>> uploads = new EnumMap<>(ImageVariantProcessor.Size.class);
+            for (ImageVariantProcessor.Variant variant : variants) {
+                String key = baseName + variant.size().keySuffix() + "." + variant.extension();
+                uploads.put(variant.size(), enqueueUpload(variant.content(), variant.contentType(), key));
+            }
+            return CompletableFuture.allOf(uploads.values().toArray(new CompletableFuture[0]))
+                    .handle((ignored, error) -> {
+                        if (error != null) {
+                            enqueueCleanup(uploads.values().stream()
+                                    .filter(upload -> !upload.isCompletedExceptionally())
+                                    .map(CompletableFuture::join)
+                                    .toList());
+                            throw new CompletionException(error);
+                        }
+                        return DogImageKeys.builder()
+                                .originalKey(uploads.get(ImageVariantProcessor.Size.ORIGINAL).join())
+                                .mediumKey(joinIfPresent(uploads.get(ImageVariantProcessor.Size.MEDIUM)))
+                                .thumbnailKey(joinIfPresent(uploads.get(ImageVariantProcessor.Size.THUMBNAIL)))
+                                .build();
+                    });
+        });
+    }
+
+    public int getUploadsInFlight() {
+        return maxInFlight - uploadPermits.availablePermits();
+    }
+
+    public int getPendingUploads() {
+        return uploadDispatcher.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdownUploads() throws InterruptedException {
+        uploadDispatcher.shutdown();
+        uploadDispatcher.awaitTermination(30, TimeUnit.SECONDS);
     }
 
     @Override
     public void deleteFile(String fileKey) {
+        long start = System.nanoTime();
         try {
             DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
                     .bucket(bucketName)
                     .key(fileKey)
                     .build();
             s3Client.deleteObject(deleteRequest);
+            deleteTimer.record(start, true);
+            presignedUrlCache.invalidate(fileKey);
             log.info("S3 파일 삭제 완료: {}", fileKey);
         } catch (Exception e) {
+            deleteTimer.record(start, false);
             log.error("S3 파일 삭제 실패: {}", fileKey, e);
             throw new RuntimeException("S3 파일 삭제에 실패했습니다.", e);
         }
     }
 
+    /**
+     * DeleteObjects로 최대 1000개씩 묶어 삭제한다. 요청 자체가 실패하면 그 묶음의 키 전체를 실패로 반환한다.
+     */
+    @Override
+    public Map<String, String> deleteFiles(Collection<String> fileKeys) {
+        Map<String, String> failures = new HashMap<>();
+        List<String> keys = new ArrayList<>(fileKeys);
+        for (int i = 0; i < keys.size(); i += MAX_KEYS_PER_DELETE) {
+            List<String> chunk = keys.subList(i, Math.min(i + MAX_KEYS_PER_DELETE, keys.size()));
+            long start = System.nanoTime();
+            try {
+                DeleteObjectsRequest deleteRequest = DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        .delete(Delete.builder()
+                                .objects(chunk.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                                .quiet(true)
+                                .build())
+                        .build();
+                DeleteObjectsResponse response = s3Client.deleteObjects(deleteRequest);
+                deleteBatchTimer.record(start, true);
+                response.errors().forEach(error -> failures.put(error.key(), error.code() + ": " + error.message()));
+            } catch (Exception e) {
+                deleteBatchTimer.record(start, false);
+                log.error("S3 일괄 삭제 실패: {}개", chunk.size(), e);
+                chunk.forEach(key -> failures.put(key, e.getMessage()));
+            }
+        }
+        keys.stream()
+                .filter(key -> !failures.containsKey(key))
+                .forEach(presignedUrlCache::invalidate);
+        return failures;
+    }
+
+    @Override
+    public StoredObjectPage listFiles(String prefix, String startAfter, int maxKeys) {
+        ListObjectsV2Request.Builder request = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .maxKeys(maxKeys);
+        if (startAfter != null) {
+            request.startAfter(startAfter);
+        }
+        ListObjectsV2Response response = s3Client.listObjectsV2(request.build());
+        List<StoredObjectPage.StoredObject> objects = response.contents().stream()
+                .map(object -> new StoredObjectPage.StoredObject(object.key(), object.lastModified()))
+                .toList();
+        return new StoredObjectPage(objects, Boolean.TRUE.equals(response.isTruncated()));
+    }
+
     @Override
     public boolean isValidImageFile(MultipartFile file) {
-        try {
+        try (InputStream input = file.getInputStream()) {
             validateImageFile(file);
+            inspectImage(input);
             return true;
-        } catch (IllegalArgumentException e) {
+        } catch (InvalidImageException | IOException e) {
             return false;
         }
     }
@@ -87,6 +298,11 @@ public class S3FileUploadService implements FileUploadService {
         if (key == null || key.isBlank()) {
             return null;
         }
+        return presignedUrlCache.get(key, duration, k -> presignGetUrl(k, duration));
+    }
+
+    private String presignGetUrl(String key, Duration duration) {
+        long start = System.nanoTime();
         try {
             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                     .bucket(bucketName)
@@ -98,8 +314,11 @@ public class S3FileUploadService implements FileUploadService {
                     .getObjectRequest(getObjectRequest)
                     .build();
 
-            return s3Presigner.presignGetObject(presignRequest).url().toExternalForm();
+            String url = s3Presigner.presignGetObject(presignRequest).url().toExternalForm();
+            presignTimer.record(start, true);
+            return url;
         } catch (Exception e) {
+            presignTimer.record(start, false);
             log.error("S3 Presigned URL 생성 실패: key={}", key, e);
             // In a production environment, you might want to return a default/placeholder image URL here
             return null;
@@ -108,31 +327,58 @@ public class S3FileUploadService implements FileUploadService {
 
     private void validateImageFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("업로드할 파일이 비어있습니다.");
+            throw new InvalidImageException("업로드할 파일이 비어있습니다.");
         }
         if (file.getSize() > MAX_FILE_SIZE) {
-            throw new IllegalArgumentException("파일 크기가 너무 큽니다. (최대 5MB)");
+            throw new InvalidImageException("파일 크기가 너무 큽니다. (최대 5MB)");
         }
         String extension = getFileExtension(file.getOriginalFilename()).toLowerCase();
         if (!ALLOWED_EXTENSIONS.contains(extension)) {
-            throw new IllegalArgumentException("허용되지 않는 파일 확장자입니다. (허용: jpg, jpeg, png, gif, webp)");
+            throw new InvalidImageException("허용되지 않는 파일 확장자입니다. (허용: jpg, jpeg, png, gif, webp)");
         }
     }
 
+    // 헤더만 읽어 실제 형식과 크기를 확인하고, 디코딩하기에 너무 큰 이미지는 여기서 거부한다
+    private ImageHeaderSniffer.ImageInfo inspectImage(InputStream input) throws IOException {
+        ImageHeaderSniffer.ImageInfo info = ImageHeaderSniffer.sniff(input);
+        if (info.width() <= 0 || info.height() <= 0) {
+            throw new InvalidImageException("이미지 크기를 확인할 수 없습니다.");
+        }
+        if (Math.max(info.width(), info.height()) > maxImageDimension || info.pixels() > maxImagePixels) {
+            throw new InvalidImageException(String.format("이미지 해상도가 너무 큽니다. (%dx%d)", info.width(), info.height()));
+        }
+        return info;
+    }
+
     /**
+     * 임시 파일을 한 번만 열어 헤더를 판별(mark/reset)한 뒤 같은 스트림을 그대로 S3로 전송한다.
      * @return The S3 object key of the uploaded file.
      */
-    private String uploadToS3(MultipartFile file, String fileName) {
-        log.info("Attempting to upload to S3: bucket={}, key={}", bucketName, fileName);
-        try {
+    private String uploadToS3(MultipartFile file, String folder, Long userId, Long dogId) {
+        String fileName = null;
+        try (InputStream input = new BufferedInputStream(file.getInputStream(), HEADER_BUFFER_SIZE)) {
+            input.mark(ImageHeaderSniffer.MAX_HEADER_BYTES);
+            ImageHeaderSniffer.ImageInfo info = inspectImage(input);
+            input.reset();
+
+            fileName = generateFileName(folder, userId, dogId, info.format().extension());
+            log.info("Attempting to upload to S3: bucket={}, key={}", bucketName, fileName);
             PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                     .bucket(bucketName)
                     .key(fileName)
-                    .contentType(file.getContentType())
+                    .contentType(info.format().contentType())
                     .contentLength(file.getSize())
                     .build();
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            long start = System.nanoTime();
+            try {
+                s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(input, file.getSize()));
+            } catch (RuntimeException e) {
+                putTimer.record(start, false);
+                throw e;
+            }
+            putTimer.record(start, true);
+            presignedUrlCache.invalidate(fileName);
             log.info("파일 업로드 완료: {}", fileName);
 
             // Return the object key instead of the full URL
@@ -143,8 +389,81 @@ public class S3FileUploadService implements FileUploadService {
         }
     }
 
-    private String generateFileName(String folder, Long userId, Long dogId, String originalFileName) {
-        String extension = getFileExtension(originalFileName);
+    private CompletableFuture<String> enqueueUpload(byte[] content, String contentType, String key) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        try {
+            uploadDispatcher.execute(() -> dispatchUpload(content, contentType, key, result));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new IllegalStateException("이미지 업로드 대기열이 가득 찼습니다.", e));
+        }
+        return result;
+    }
+
+    private void dispatchUpload(byte[] content, String contentType, String fileName, CompletableFuture<String> result) {
+        try {
+            uploadPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return;
+        }
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .contentType(contentType)
+                .contentLength((long) content.length)
+                .build();
+        long start = System.nanoTime();
+        CompletableFuture<PutObjectResponse> put;
+        try {
+            put = s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes(content));
+        } catch (RuntimeException e) {
+            // 요청 생성 단계에서 바로 실패하면 콜백이 불리지 않으므로 여기서 허용량을 돌려준다
+            uploadPermits.release();
+            putTimer.record(start, false);
+            log.error("S3 비동기 업로드 실패: {}", fileName, e);
+            result.completeExceptionally(e);
+            return;
+        }
+        put.whenComplete((response, error) -> {
+            uploadPermits.release();
+            putTimer.record(start, error == null);
+            if (error != null) {
+                log.error("S3 비동기 업로드 실패: {}", fileName, error);
+                result.completeExceptionally(error);
+                return;
+            }
+            presignedUrlCache.invalidate(fileName);
+            log.info("파일 업로드 완료: {}", fileName);
+            result.complete(fileName);
+        });
+    }
+
+    // SDK 완료 스레드에서 동기 S3 호출을 하지 않도록 삭제는 outbox 워커에 맡긴다
+    private void enqueueCleanup(List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            s3DeletionOutbox.getObject().enqueue(keys);
+        } catch (RuntimeException e) {
+            // 예약하지 못한 객체는 고아 객체 정리(OrphanImageCollector)가 회수한다
+            log.warn("업로드 실패 후 정리 예약 실패: {}", keys, e);
+        }
+    }
+
+    private static String joinIfPresent(CompletableFuture<String> upload) {
+        return upload != null ? upload.join() : null;
+    }
+
+    // 확장자를 제외한 객체 키 (변형은 같은 이름에 접미사를 붙인다)
+    private String generateBaseName(String folder, Long userId, Long dogId) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String uuid = UUID.randomUUID().toString().substring(0, 8);
+        return String.format("%s/user_%d/dog_%d/%s_%s", folder, userId, dogId, timestamp, uuid);
+    }
+
+    private String generateFileName(String folder, Long userId, Long dogId, String extension) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String uuid = UUID.randomUUID().toString().substring(0, 8);
 
@@ -161,4 +480,30 @@ public class S3FileUploadService implements FileUploadService {
         }
         return fileName.substring(fileName.lastIndexOf(".") + 1);
     }
+
+    /**
+     * S3 호출 종류별 성공/실패 타이머 (dogmeeting.s3.requests{operation, outcome})
+     */
+    private static final class OperationTimer {
+
+        private final Timer success;
+        private final Timer failure;
+
+        OperationTimer(MeterRegistry registry, String operation) {
+            this.success = register(registry, operation, "success");
+            this.failure = register(registry, operation, "failure");
+        }
+
+        private static Timer register(MeterRegistry registry, String operation, String outcome) {
+            return Timer.builder("dogmeeting.s3.requests")
+                    .description("S3 호출 시간")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        void record(long startNanos, boolean succeeded) {
+            (succeeded ? success : failure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
 }
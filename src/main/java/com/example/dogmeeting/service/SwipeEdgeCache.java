@@ -0,0 +1,79 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.repository.SwipeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 스와이프 관계(from -> to) 인메모리 캐시
+ * 사용자별로 스와이프한 상대 ID를 Roaring 비트맵으로 보관한다. 처음 조회될 때 DB에서 적재되고,
+ * 이후에는 스와이프 커밋 시 추가된다. 스와이프는 삭제되지 않으므로 "있음" 응답은 항상 정확하며,
+ * 커밋 직후 잠깐 동안은 "없음" 응답이 늦을 수 있다. (정확성이 필요한 곳은 DB로 확인)
+ */
+@Component
+public class SwipeEdgeCache {
+
+    private final SwipeRepository swipeRepository;
+    private final Cache<Long, Roaring64Bitmap> outgoing;
+
+    public SwipeEdgeCache(SwipeRepository swipeRepository,
+                          @Value("${app.swipe.edge-cache.max-size:100000}") long maxSize,
+                          @Value("${app.swipe.edge-cache.expire-after-access:PT30M}") Duration expireAfterAccess) {
+        this.swipeRepository = swipeRepository;
+        this.outgoing = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public boolean hasSwiped(Long fromUserId, Long toUserId) {
+        Roaring64Bitmap targets = outgoing.get(fromUserId, this::load);
+        synchronized (targets) {
+            return targets.contains(toUserId);
+        }
+    }
+
+    /**
+     * 이미 적재된 경우에만 캐시로 확인한다. DB를 읽지 않으며 적재되지 않았으면 false를 반환한다.
+     * (잠금 전에 일반 조회를 하면 MySQL REPEATABLE READ 스냅샷이 잠금 이전 시점으로 고정되므로 잠금 전 확인에 사용)
+     */
+    public boolean hasSwipedCached(Long fromUserId, Long toUserId) {
+        Roaring64Bitmap targets = outgoing.getIfPresent(fromUserId);
+        if (targets == null) {
+            return false;
+        }
+        synchronized (targets) {
+            return targets.contains(toUserId);
+        }
+    }
+
+    /**
+     * 스와이프를 기록한다. (트랜잭션 안이면 커밋 이후 반영)
+     */
+    public void recordSwipe(Long fromUserId, Long toUserId) {
+        TransactionCallbacks.afterCommit(() -> {
+            Roaring64Bitmap targets = outgoing.getIfPresent(fromUserId);
+            if (targets != null) {
+                synchronized (targets) {
+                    targets.addLong(toUserId);
+                }
+            }
+        });
+    }
+
+    public long size() {
+        return outgoing.estimatedSize();
+    }
+
+    private Roaring64Bitmap load(Long fromUserId) {
+        Roaring64Bitmap targets = new Roaring64Bitmap();
+        swipeRepository.findSwipedUserIds(fromUserId).forEach(targets::addLong);
+        targets.runOptimize();
+        return targets;
+    }
+}
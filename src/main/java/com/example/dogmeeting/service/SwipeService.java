@@ -1,5 +1,6 @@
 package com.example.dogmeeting.service;
 
+import com.example.dogmeeting.dto.CursorPageResponse;
 import com.example.dogmeeting.dto.MatchResponse;
 
 import com.example.dogmeeting.dto.SwipeResponse;
@@ -18,4 +19,8 @@ public interface SwipeService {
     // 스와이프 목록 조회
     List<SwipeResponse> getSentSwipes(Long userId);
     List<SwipeResponse> getReceivedSwipes(Long userId);
+
+    // 스와이프 목록 커서 페이지 조회 (최신순)
+    CursorPageResponse<SwipeResponse> getSentSwipesPage(Long userId, Long cursor, int size);
+    CursorPageResponse<SwipeResponse> getReceivedSwipesPage(Long userId, Long cursor, int size);
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.dogmeeting.service;
 
+import com.example.dogmeeting.dto.CursorPageResponse;
 import com.example.dogmeeting.dto.MatchResponse;
 
 import com.example.dogmeeting.dto.SwipeResponse;
@@ -7,6 +8,7 @@ import com.example.dogmeeting.dto.SwipeResponse;
 import com.example.dogmeeting.entity.Match;
 import com.example.dogmeeting.entity.Swipe;
 import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.event.UserProfileChangedEvent;
 import com.example.dogmeeting.exception.UserNotFoundException;
 import com.example.dogmeeting.entity.ChatRoom;
 import com.example.dogmeeting.repository.ChatRoomRepository;
@@ -14,55 +16,88 @@ import com.example.dogmeeting.repository.MatchRepository;
 import com.example.dogmeeting.repository.SwipeRepository;
 import com.example.dogmeeting.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
+@Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class SwipeServiceImpl implements SwipeService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final SwipeRepository swipeRepository;
     private final UserRepository userRepository;
     private final MatchRepository matchRepository;
     private final ChatRoomRepository chatRoomRepository;
+    private final LikeRankingService likeRankingService;
+    private final SwipeEdgeCache swipeEdgeCache;
+    private final UserRankingService userRankingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ActivityMetrics activityMetrics;
 
     @Override
     @Transactional
     public MatchResponse swipeUser(Long fromUserId, Long toUserId) {
-        User fromUser = userRepository.findById(fromUserId)
-                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
-        
-        User toUser = userRepository.findById(toUserId)
-                .orElseThrow(() -> new UserNotFoundException("대상 사용자를 찾을 수 없습니다."));
+        if (fromUserId.equals(toUserId)) {
+            throw new IllegalStateException("자기 자신은 스와이프할 수 없습니다.");
+        }
 
-        // 이미 스와이프했는지 확인
-        if (swipeRepository.existsByFromUserIdAndToUserIdAndSwipedAtIsNotNull(fromUserId, toUserId)) {
+        // 이미 스와이프했는지 캐시로만 확인 (잠금 전에는 DB를 읽지 않는다: MySQL REPEATABLE READ는
+        // 첫 일반 조회 시점에 스냅샷을 고정하므로, 잠금 전에 읽으면 잠금 이후에도 상대의 커밋이 보이지 않는다)
+        if (swipeEdgeCache.hasSwipedCached(fromUserId, toUserId)) {
             throw new IllegalStateException("이미 스와이프한 사용자입니다.");
         }
 
-        // 스와이프 기록 저장
-        Swipe swipe = Swipe.builder()
-                .fromUser(fromUser)
-                .toUser(toUser)
-                .build();
-        swipe.setSwipedAt(LocalDateTime.now());
-        swipeRepository.save(swipe);
+        // 두 사용자 행을 ID 순서로 잠가 서로 동시에 스와이프하는 경우를 직렬화
+        User[] lockedPair = lockPair(fromUserId, toUserId);
+        User fromUser = lockedPair[0];
+        User toUser = lockedPair[1];
+
+        // 스와이프 기록 저장 (좋아요만 있던 행은 스와이프로 전환, 중복은 유니크 제약으로 차단)
+        LocalDateTime now = LocalDateTime.now();
+        if (swipeRepository.markSwiped(fromUserId, toUserId, now) == 0) {
+            if (swipeRepository.findSwipedForShare(fromUserId, toUserId).isPresent()) {
+                throw new IllegalStateException("이미 스와이프한 사용자입니다.");
+            }
+            Swipe swipe = Swipe.builder()
+                    .fromUser(fromUser)
+                    .toUser(toUser)
+                    .build();
+            swipe.setSwipedAt(now);
+            try {
+                swipeRepository.saveAndFlush(swipe);
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalStateException("이미 스와이프한 사용자입니다.", e);
+            }
+        }
+        swipeEdgeCache.recordSwipe(fromUserId, toUserId);
+
+        // 상대방도 나를 스와이프했는지 확인 (잠금 읽기이므로 잠금을 기다리는 동안 커밋된 상대의 스와이프가 보인다)
+        boolean mutualSwipe = swipeEdgeCache.hasSwipedCached(toUserId, fromUserId)
+                || swipeRepository.findSwipedForShare(toUserId, fromUserId).isPresent();
 
-        // 상대방도 나를 스와이프했는지 확인
-        boolean mutualSwipe = swipeRepository.existsByFromUserIdAndToUserIdAndSwipedAtIsNotNull(toUserId, fromUserId);
-        
         if (mutualSwipe) {
-            // 매칭 생성
+            // 매칭 생성 (같은 쌍의 매칭은 pair_key 유니크 제약으로 한 번만 생성)
             Match match = Match.builder()
                     .user1(fromUser)
                     .user2(toUser)
                     .status("MATCHED")  // 매칭 완료 상태로 변경
+                    .pairKey(Match.pairKeyOf(fromUserId, toUserId))
                     .build();
             matchRepository.save(match);
 
@@ -71,35 +106,66 @@ public class SwipeServiceImpl implements SwipeService {
                     .match(match)
                     .build();
             chatRoomRepository.save(chatRoom);
-            
+            userRankingService.recordMatch(fromUserId, toUserId);
+            eventPublisher.publishEvent(UserProfileChangedEvent.of(fromUserId, toUserId));
+            TransactionCallbacks.afterCommit(() -> activityMetrics.swiped(true));
+
             return MatchResponse.from(match);
         }
-        
+
+        TransactionCallbacks.afterCommit(() -> activityMetrics.swiped(false));
         return null; // 매칭되지 않음
     }
 
     @Override
     public boolean hasAlreadySwiped(Long fromUserId, Long toUserId) {
-        return swipeRepository.existsByFromUserIdAndToUserIdAndSwipedAtIsNotNull(fromUserId, toUserId);
+        return swipeEdgeCache.hasSwiped(fromUserId, toUserId)
+                || swipeRepository.existsByFromUserIdAndToUserIdAndSwipedAtIsNotNull(fromUserId, toUserId);
+    }
+
+    /**
+     * pair_key 도입 이전 매칭 보정 (같은 쌍의 중복 매칭은 키 없이 남겨 두고 경고만 기록)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillMatchPairKeys() {
+        List<Match> matches = matchRepository.findByPairKeyIsNull();
+        if (matches.isEmpty()) {
+            return;
+        }
+        Set<String> assigned = new HashSet<>();
+        for (Match match : matches) {
+            String pairKey = Match.pairKeyOf(match.getUser1().getId(), match.getUser2().getId());
+            if (assigned.add(pairKey) && !matchRepository.existsByPairKey(pairKey)) {
+                match.assignPairKey();
+            } else {
+                log.warn("중복 매칭이 있어 pair_key를 지정하지 않습니다: matchId={}, pairKey={}", match.getId(), pairKey);
+            }
+        }
     }
 
     // 좋아요 관련 메서드들 구현
     @Override
     @Transactional
     public boolean toggleLike(Long fromUserId, Long toUserId) {
-        User fromUser = userRepository.findById(fromUserId)
-                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
-        User toUser = userRepository.findById(toUserId)
-                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
+        if (fromUserId.equals(toUserId)) {
+            throw new IllegalStateException("자기 자신에게는 좋아요를 누를 수 없습니다.");
+        }
+
+        // 스와이프와 같은 순서로 두 사용자 행을 잠가, 같은 쌍의 토글/첫 좋아요/스와이프를 직렬화
+        User[] lockedPair = lockPair(fromUserId, toUserId);
+        User fromUser = lockedPair[0];
+        User toUser = lockedPair[1];
 
-        // 기존 스와이프가 있는지 확인
-        Optional<Swipe> existingSwipe = swipeRepository.findByFromUserAndToUser(fromUser, toUser);
-        
+        // 기존 스와이프가 있는지 확인 (잠금 읽기로 최신 커밋을 읽는다)
+        Optional<Swipe> existingSwipe = swipeRepository.findByPairForUpdate(fromUserId, toUserId);
+
+        boolean liked;
         if (existingSwipe.isPresent()) {
             // 기존 스와이프가 있으면 좋아요 상태만 토글
             Swipe swipe = existingSwipe.get();
             swipe.toggleLike();
-            return swipe.getLike();
+            liked = swipe.getLike();
         } else {
             // 스와이프가 없으면 새로 생성하면서 좋아요 표시
             Swipe newSwipe = Swipe.builder()
@@ -107,9 +173,20 @@ public class SwipeServiceImpl implements SwipeService {
                     .toUser(toUser)
                     .build();
             newSwipe.setLike(true); // 좋아요와 likedAt 설정
-            swipeRepository.save(newSwipe);
-            return true;
+            try {
+                swipeRepository.saveAndFlush(newSwipe);
+            } catch (DataIntegrityViolationException e) {
+                // 잠금을 거치지 않은 쓰기와 겹친 경우 (트랜잭션은 롤백되고 요청은 재시도할 수 있다)
+                throw new IllegalStateException("좋아요 처리 중 충돌이 발생했습니다. 다시 시도해주세요.", e);
+            }
+            liked = true;
         }
+
+        likeRankingService.recordLikeChange(toUser, liked ? 1 : -1);
+        userRankingService.refreshLikeCount(toUserId);
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(toUserId));
+        TransactionCallbacks.afterCommit(() -> activityMetrics.likeToggled(liked));
+        return liked;
     }
 
     @Override
@@ -125,28 +202,66 @@ public class SwipeServiceImpl implements SwipeService {
 
     @Override
     public List<SwipeResponse> getSentSwipes(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
-
-        List<Swipe> sentSwipes = swipeRepository.findByFromUser(user);
-        return sentSwipes.stream()
-                .filter(swipe -> !matchRepository.findByUsers(swipe.getFromUser().getId(),
-                        swipe.getToUser().getId()).isPresent())
-                .map(SwipeResponse::from)
-                .collect(Collectors.toList());
+        validateUser(userId);
+        return swipeRepository.findUnmatchedSentBefore(userId, Long.MAX_VALUE, Pageable.unpaged());
     }
 
     @Override
     public List<SwipeResponse> getReceivedSwipes(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
+        validateUser(userId);
+        return swipeRepository.findUnmatchedReceivedBefore(userId, Long.MAX_VALUE, Pageable.unpaged());
+    }
+
+    /**
+     * 보낸 스와이프 중 매칭되지 않은 것을 최신순으로 페이지 조회
+     * 매칭 여부는 조회 쿼리 안에서 NOT EXISTS로 걸러지므로 스와이프 수와 관계없이 쿼리 수가 일정하다.
+     * @param cursor 이전 페이지의 nextCursor (처음이면 null)
+     */
+    @Override
+    public CursorPageResponse<SwipeResponse> getSentSwipesPage(Long userId, Long cursor, int size) {
+        validateUser(userId);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return toPage(swipeRepository.findUnmatchedSentBefore(
+                userId, cursor != null ? cursor : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    /**
+     * 받은 스와이프 중 매칭되지 않은 것을 최신순으로 페이지 조회
+     * @param cursor 이전 페이지의 nextCursor (처음이면 null)
+     */
+    @Override
+    public CursorPageResponse<SwipeResponse> getReceivedSwipesPage(Long userId, Long cursor, int size) {
+        validateUser(userId);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return toPage(swipeRepository.findUnmatchedReceivedBefore(
+                userId, cursor != null ? cursor : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1)), pageSize);
+    }
 
-        List<Swipe> receivedSwipes = swipeRepository.findByToUser(user);
-        return receivedSwipes.stream()
-                .filter(swipe -> !matchRepository.findByUsers(swipe.getFromUser().getId(),
-                        swipe.getToUser().getId()).isPresent())
-                .map(SwipeResponse::from)
-                .collect(Collectors.toList());
+    private void validateUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("사용자를 찾을 수 없습니다.");
+        }
+    }
+
+    // 다음 페이지 존재 여부 확인을 위해 pageSize + 1개를 조회한 결과를 페이지로 변환
+    private CursorPageResponse<SwipeResponse> toPage(List<SwipeResponse> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<SwipeResponse> items = rows.subList(0, Math.min(rows.size(), pageSize));
+        return CursorPageResponse.<SwipeResponse>builder()
+                .items(items)
+                .nextCursor(hasNext ? items.get(items.size() - 1).getId() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    // 두 사용자 행을 ID 순서로 잠근다 (교착 방지), 반환: [from, to]
+    private User[] lockPair(Long fromUserId, Long toUserId) {
+        List<User> lockedUsers = userRepository.findAllByIdForUpdate(List.of(fromUserId, toUserId));
+        if (lockedUsers.size() < 2) {
+            throw new UserNotFoundException("사용자를 찾을 수 없습니다.");
+        }
+        return lockedUsers.get(0).getId().equals(fromUserId)
+                ? new User[]{lockedUsers.get(0), lockedUsers.get(1)}
+                : new User[]{lockedUsers.get(1), lockedUsers.get(0)};
     }
 }
- 
\ No newline at end of file
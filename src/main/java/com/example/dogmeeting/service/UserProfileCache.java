@@ -0,0 +1,62 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.UserProfileResponse;
+import com.example.dogmeeting.event.UserProfileChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 사용자 ID별 홈 프로필(UserProfileResponse) read-through 캐시
+ * 프로필을 구성하는 데이터가 바뀌면 UserProfileChangedEvent로 해당 사용자 항목만 무효화한다.
+ * 무효화는 커밋 이후에 수행되며, 적재 중인 항목을 무효화하면 적재가 끝난 뒤 제거되므로
+ * 변경 이전 값이 남지 않는다. TTL은 이벤트가 누락된 경우의 안전장치이다.
+ */
+@Slf4j
+@Component
+public class UserProfileCache {
+
+    private final Cache<Long, UserProfileResponse> cache;
+
+    public UserProfileCache(@Value("${app.profile-cache.max-size:10000}") long maxSize,
+                            @Value("${app.profile-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public UserProfileResponse get(Long userId, Function<Long, UserProfileResponse> loader) {
+        return cache.get(userId, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        cache.invalidateAll(event.userIds());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Scheduled(fixedDelayString = "${app.profile-cache.stats-log-interval-ms:300000}")
+    public void logStats() {
+        CacheStats stats = cache.stats();
+        log.info("홈 프로필 캐시 통계: size={}, hit={}, miss={}, hitRate={}, eviction={}",
+                cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                String.format("%.3f", stats.hitRate()), stats.evictionCount());
+    }
+}
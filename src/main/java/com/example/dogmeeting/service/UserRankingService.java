@@ -0,0 +1,171 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.event.LikeRankingReloadedEvent;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 전체 사용자 랭킹 인덱스
+ * 모든 사용자를 (좋아요 수 내림차순, 매칭 수 내림차순, ID 오름차순)으로 정렬해 메모리에 유지한다.
+ * 두 값은 하나의 점수(상위 32비트: 좋아요 수, 하위 32비트: 매칭 수)로 합쳐 RankingIndex에 저장하므로
+ * 순위 조회와 페이지 조회가 O(log n)에 처리된다.
+ * 좋아요 수는 따로 세지 않고 LikeRankingService의 값을 읽어 오며, 좋아요 랭킹이 다시 적재될 때마다 함께 재구성한다.
+ * 가입/좋아요 토글/매칭 생성 시 커밋 이후 증분 갱신되고, 재구성 도중 반영된 변경은 새 인덱스에 다시 적용한다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class UserRankingService {
+
+    private static final long MATCH_MASK = 0xFFFFFFFFL;
+
+    private final UserRepository userRepository;
+    private final MatchRepository matchRepository;
+    private final LikeRankingService likeRankingService;
+
+    private volatile RankingIndex index = new RankingIndex();
+
+    // 재구성 중 반영된 변경 (this로 보호)
+    private List<Consumer<RankingIndex>> changesDuringRebuild;
+    private final Object rebuildLock = new Object();
+
+    /**
+     * offset 번째(0부터)부터 limit명을 순위 순서대로 조회
+     */
+    public List<RankingIndex.Entry> getRange(int offset, int limit) {
+        return index.range(offset, limit);
+    }
+
+    /**
+     * @return 1부터 시작하는 순위, 인덱스에 없으면 0
+     */
+    public int getRank(Long userId) {
+        return index.rankOf(userId);
+    }
+
+    /**
+     * @return 합산 점수 (likeCountOf/matchCountOf로 분리), 인덱스에 없으면 0
+     */
+    public long getScore(Long userId) {
+        Long score = index.scoreOf(userId);
+        return score != null ? score : 0L;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public static int likeCountOf(long score) {
+        return (int) (score >>> 32);
+    }
+
+    public static int matchCountOf(long score) {
+        return (int) (score & MATCH_MASK);
+    }
+
+    /**
+     * 신규 가입자를 0점으로 등록한다. (트랜잭션 안이면 커밋 이후 반영)
+     */
+    public void registerUser(Long userId) {
+        TransactionCallbacks.afterCommit(() -> apply(target -> update(target, userId, 0)));
+    }
+
+    /**
+     * 좋아요 수를 LikeRankingService의 현재 값으로 맞춘다.
+     * LikeRankingService.recordLikeChange 이후에 호출해야 커밋 콜백이 갱신된 값을 읽는다.
+     */
+    public void refreshLikeCount(Long userId) {
+        TransactionCallbacks.afterCommit(() -> apply(target -> update(target, userId, 0)));
+    }
+
+    public void recordMatch(Long user1Id, Long user2Id) {
+        TransactionCallbacks.afterCommit(() -> apply(target -> {
+            update(target, user1Id, 1);
+            update(target, user2Id, 1);
+        }));
+    }
+
+    /**
+     * 좋아요 랭킹이 (서버 시작 또는 드리프트 보정으로) 다시 적재되면 같은 좋아요 수로 재구성한다.
+     * 좋아요 랭킹 트랜잭션이 커밋된 뒤에 실행되므로 새 트랜잭션에서 읽는다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public void onLikeRankingReloaded(LikeRankingReloadedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * 사용자 목록, 매칭 집계와 좋아요 랭킹의 현재 값으로 인덱스를 다시 만든다. (드리프트 보정)
+     * 매칭 집계 조회 직전에 커밋되어 콜백만 늦게 실행된 매칭은 한 번 더 반영될 수 있고, 다음 재구성에서 보정된다.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                Map<Long, long[]> matchCounts = new HashMap<>();
+                for (Long userId : userRepository.findAllIds()) {
+                    matchCounts.put(userId, new long[1]);
+                }
+                // 행 형식: 사용자 ID, 매칭 수
+                for (List<Object[]> rows : List.of(matchRepository.countGroupedByUser1(), matchRepository.countGroupedByUser2())) {
+                    for (Object[] row : rows) {
+                        long[] userMatches = matchCounts.get((Long) row[0]);
+                        if (userMatches != null) {
+                            userMatches[0] += ((Number) row[1]).longValue();
+                        }
+                    }
+                }
+
+                RankingIndex newIndex = new RankingIndex();
+                matchCounts.forEach((userId, userMatches) ->
+                        newIndex.put(userId, scoreOf(likeRankingService.getLikeCount(userId), userMatches[0])));
+                synchronized (this) {
+                    changesDuringRebuild.forEach(change -> change.accept(newIndex));
+                    index = newIndex;
+                    changesDuringRebuild = null;
+                }
+                log.info("사용자 랭킹 인덱스 적재 완료: {}명", newIndex.size());
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    // 커밋된 변경을 현재 인덱스에 반영하고, 재구성 중이면 새 인덱스에 다시 적용하도록 모아 둔다
+    private synchronized void apply(Consumer<RankingIndex> change) {
+        change.accept(index);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    // 좋아요 수는 LikeRankingService에서 다시 읽고, 매칭 수는 0 미만이 되지 않도록 갱신
+    private void update(RankingIndex target, Long userId, int matchDelta) {
+        Long current = target.scoreOf(userId);
+        long score = current != null ? current : 0L;
+        long matches = Math.max(0L, matchCountOf(score) + (long) matchDelta);
+        target.put(userId, scoreOf(likeRankingService.getLikeCount(userId), matches));
+    }
+
+    private static long scoreOf(long likes, long matches) {
+        return (Math.min(Math.max(likes, 0L), Integer.MAX_VALUE) << 32) | Math.min(matches, Integer.MAX_VALUE);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.dogmeeting.service;
 
+import com.example.dogmeeting.dto.CursorPageResponse;
 import com.example.dogmeeting.dto.UserJoinRequest;
 import com.example.dogmeeting.dto.UserResponse;
 import com.example.dogmeeting.dto.UserProfileResponse;
@@ -15,11 +16,13 @@ public interface UserService {
     UserResponse getUserById(Long userId);
     UserResponse getUserByNickname(String nickname);
     List<UserResponse> getPotentialMatches(Long userId);
+    CursorPageResponse<UserResponse> getCandidateFeed(Long userId, Long cursor, int size);
     void updateUserProfile(Long userId, String nickname, String gender, String city, String district);
 
     // 홈 화면용 메서드들
     UserProfileResponse getUserProfile(Long userId);
     UserProfileResponse updateUserProfile(Long userId, UserUpdateRequest request);
     List<UserRankingResponse> getUserRanking(int page, int size);
+    UserRankingResponse getUserRank(Long userId);
     UserProfileResponse getUserDetailProfile(Long targetUserId);
 }
@@ -1,5 +1,6 @@
 package com.example.dogmeeting.service;
 
+import com.example.dogmeeting.dto.CursorPageResponse;
 import com.example.dogmeeting.dto.UserJoinRequest;
 import com.example.dogmeeting.dto.UserResponse;
 import com.example.dogmeeting.dto.UserProfileResponse;
@@ -7,6 +8,7 @@ import com.example.dogmeeting.dto.UserUpdateRequest;
 import com.example.dogmeeting.dto.UserRankingResponse;
 import com.example.dogmeeting.dto.DogResponse;
 import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.event.UserProfileChangedEvent;
 import com.example.dogmeeting.exception.DuplicateNicknameException;
 import com.example.dogmeeting.exception.UserNotFoundException;
 import com.example.dogmeeting.exception.PasswordMismatchException;
@@ -16,16 +18,23 @@ import com.example.dogmeeting.repository.MatchRepository;
 import com.example.dogmeeting.repository.SwipeRepository;
 import com.example.dogmeeting.service.RegionService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+@Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -36,6 +45,14 @@ public class UserServiceImpl implements UserService {
     private final RegionService regionService;
     private final MatchRepository matchRepository;
     private final SwipeRepository swipeRepository;
+    private final LikeRankingService likeRankingService;
+    private final CandidateFeedService candidateFeedService;
+    private final UserProfileCache userProfileCache;
+    private final UserRankingService userRankingService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    private static final int MAX_RANKING_PAGE_SIZE = 100;
 
     @Override
     @Transactional
@@ -44,6 +61,9 @@ public class UserServiceImpl implements UserService {
             throw new PasswordMismatchException("비밀번호와 비밀번호 확인이 일치하지 않습니다.");
         }
 
+        // 지역 검증 및 지역 ID 변환
+        RegionService.RegionCode region = regionService.resolve(request.getCity(), request.getDistrict());
+
         // userId 중복 체크
         userRepository.findByUserId(request.getUserId())
                 .ifPresent(u -> {
@@ -63,10 +83,14 @@ public class UserServiceImpl implements UserService {
                 .gender(request.getGender())
                 .city(request.getCity())
                 .district(request.getDistrict())
+                .cityId(region.cityId())
+                .regionId(region.regionId())
                 .build();
 
         newUser.encryptPassword(passwordEncoder);
         userRepository.save(newUser);
+        candidateFeedService.upsertUser(newUser.getId(), newUser.getCity(), newUser.getDistrict(), newUser.getGender());
+        userRankingService.registerUser(newUser.getId());
 
         return newUser;
     }
@@ -83,6 +107,40 @@ public class UserServiceImpl implements UserService {
         return user;
     }
 
+    /**
+     * 지역 ID 도입 이전 사용자 보정 (시작 시 실행)
+     * 구/군 지역 ID가 없는 (시/도, 구/군) 조합별로 한 번씩 일괄 UPDATE 한다.
+     * 시/도는 구/군과 따로 찾으므로, 구/군만 카탈로그에 없는 사용자도 시/도 ID는 지정된다.
+     * (구/군 지역 ID는 비워 두어 구/군 단위 매칭은 문자열 비교 쿼리로 계속 조회되고, 카탈로그에 추가되면 다음 시작 때 채워진다)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillRegionIds() {
+        int updated = 0;
+        // 행 형식: 시/도, 구/군
+        for (Object[] row : userRepository.findDistinctRegionsWithoutRegionId()) {
+            String city = (String) row[0];
+            String district = (String) row[1];
+            Optional<Integer> cityId = regionService.findCityId(city);
+            if (cityId.isEmpty()) {
+                log.warn("카탈로그에 없는 시/도라 지역 ID를 지정하지 않습니다: city={}, district={}", city, district);
+                continue;
+            }
+            Integer regionId = regionService.find(city, district).map(RegionService.RegionCode::regionId).orElse(null);
+            if (district == null || district.trim().isEmpty()) {
+                updated += userRepository.assignCityLevelRegionIds(city, cityId.get(), regionId);
+            } else {
+                if (regionId == null) {
+                    log.warn("카탈로그에 없는 구/군이라 시/도 ID만 지정합니다: city={}, district={}", city, district);
+                }
+                updated += userRepository.assignRegionIds(city, district, cityId.get(), regionId);
+            }
+        }
+        if (updated > 0) {
+            log.info("사용자 지역 ID 보정 완료: {}명", updated);
+        }
+    }
+
     @Override
     public UserResponse getUserById(Long userId) {
         User user = userRepository.findById(userId)
@@ -105,7 +163,13 @@ public class UserServiceImpl implements UserService {
         List<User> potentialMatches;
 
         // district가 있으면 같은 district 내에서, 없으면 같은 city 내에서 매칭
-        if (currentUser.getDistrict() != null && !currentUser.getDistrict().trim().isEmpty()) {
+        // (지역 ID 인덱스 사용, 카탈로그에 없는 구/군이라 지역 ID가 없으면 문자열 비교)
+        boolean hasDistrict = currentUser.getDistrict() != null && !currentUser.getDistrict().trim().isEmpty();
+        if (hasDistrict && currentUser.getRegionId() != null) {
+            potentialMatches = userRepository.findPotentialMatchesByRegionId(currentUser.getRegionId(), currentUser.getGender(), userId);
+        } else if (!hasDistrict && currentUser.getCityId() != null) {
+            potentialMatches = userRepository.findPotentialMatchesByCityId(currentUser.getCityId(), currentUser.getGender(), userId);
+        } else if (hasDistrict) {
             potentialMatches = userRepository.findPotentialMatchesInDistrict(
                     currentUser.getCity(), currentUser.getDistrict(), currentUser.getGender(), userId);
         } else {
@@ -118,20 +182,71 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 후보 피드 (이미 스와이프/매칭한 사용자 제외, ID 커서 기반 페이지)
+     */
+    @Override
+    public CursorPageResponse<UserResponse> getCandidateFeed(Long userId, Long cursor, int size) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("사용자를 찾을 수 없습니다.");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        CandidateFeedService.FeedPage page = candidateFeedService.getCandidateIds(userId, cursor, pageSize);
+
+        // 피드 순서를 유지하며 한 번의 쿼리로 사용자 정보 조회
+        Map<Long, User> users = userRepository.findAllById(page.userIds()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<UserResponse> items = page.userIds().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(UserResponse::from)
+                .collect(Collectors.toList());
+
+        return CursorPageResponse.<UserResponse>builder()
+                .items(items)
+                .nextCursor(page.nextCursor())
+                .hasNext(page.hasNext())
+                .build();
+    }
+
     @Override
     @Transactional
     public void updateUserProfile(Long userId, String nickname, String gender, String city, String district) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
 
+        assignRegionIfChanged(user, city, district);
+        String oldCity = user.getCity();
         user.updateProfile(nickname, gender, city, district);
+        likeRankingService.moveUserCity(userId, oldCity, city);
+        candidateFeedService.upsertUser(userId, city, district, gender);
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(userId));
+    }
+
+    // 지역을 바꿀 때만 카탈로그로 검증한다 (구/군이 카탈로그에 없는 기존 사용자도 닉네임 등은 수정할 수 있도록 저장된 지역은 그대로 둔다)
+    private void assignRegionIfChanged(User user, String city, String district) {
+        if (Objects.equals(user.getCity(), city) && Objects.equals(user.getDistrict(), district)) {
+            return;
+        }
+        RegionService.RegionCode region = regionService.resolve(city, district);
+        user.assignRegion(region.cityId(), region.regionId());
     }
 
     // 홈 화면용 메서드들 구현
     @Override
     public UserProfileResponse getUserProfile(Long userId) {
+        return userProfileCache.get(userId, this::loadUserProfile);
+    }
+
+    private UserProfileResponse loadUserProfile(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
+        return toUserProfile(user);
+    }
+
+    private UserProfileResponse toUserProfile(User user) {
+        Long userId = user.getId();
 
         // 강아지 정보 가져오기
         List<DogResponse> dogs = user.getDogs().stream()
@@ -167,57 +282,68 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
 
+        assignRegionIfChanged(user, request.getCity(), request.getDistrict());
+        String oldCity = user.getCity();
         user.updateProfile(request.getNickname(), request.getGender(),
                 request.getCity(), request.getDistrict());
+        likeRankingService.moveUserCity(userId, oldCity, request.getCity());
+        candidateFeedService.upsertUser(userId, request.getCity(), request.getDistrict(), request.getGender());
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(userId));
 
-        return getUserProfile(userId);
+        // 응답은 수정한 엔티티로 만들고 캐시에는 넣지 않는다 (커밋 전 값이 캐시에 남지 않도록 다음 조회 때 적재)
+        return toUserProfile(user);
     }
 
+    /**
+     * 전체 사용자 랭킹 페이지 조회
+     * 순위는 랭킹 인덱스(좋아요 수, 매칭 수, ID 순)에서 구하고, 사용자/강아지 정보는 한 번의 쿼리로 조회한다.
+     */
     @Override
     public List<UserRankingResponse> getUserRanking(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        List<User> users = userRepository.findAll(pageable).getContent();
-
-        List<UserRankingResponse> rankings = users.stream()
-                .map(user -> {
-                    int matchCount = matchRepository.countByUser1IdOrUser2Id(user.getId(), user.getId());
-                    int likeCount = swipeRepository.countLikesByUserId(user.getId());
-                    int rankingScore = likeCount;  // 좋아요 수가 곧 랭킹 점수
-
-                    // 대표 강아지 정보
-                    String mainDogPhotoUrl = user.getDogs().isEmpty() ? null : user.getDogs().get(0).getPhotoUrl();
-                    String mainDogName = user.getDogs().isEmpty() ? null : user.getDogs().get(0).getName();
-
-                    return UserRankingResponse.builder()
-                            .id(user.getId())
-                            .nickname(user.getNickname())
-                            .city(user.getCity())
-                            .district(user.getDistrict())
-                            .matchCount(matchCount)
-                            .rankingScore(rankingScore)
-                            .mainDogPhotoUrl(mainDogPhotoUrl)
-                            .mainDogName(mainDogName)
-                            .build();
-                })
-                .sorted((a, b) -> Integer.compare(b.getRankingScore(), a.getRankingScore()))
-                .collect(Collectors.toList());
+        int pageSize = Math.max(1, Math.min(size, MAX_RANKING_PAGE_SIZE));
+        int offset = Math.max(0, page) * pageSize;
+        List<RankingIndex.Entry> entries = userRankingService.getRange(offset, pageSize);
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, User> users = userRepository.findAllWithDogsByIdIn(
+                        entries.stream().map(RankingIndex.Entry::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
 
-        // 순위 부여
-        return IntStream.range(0, rankings.size())
-                .mapToObj(i -> UserRankingResponse.builder()
-                        .id(rankings.get(i).getId())
-                        .nickname(rankings.get(i).getNickname())
-                        .city(rankings.get(i).getCity())
-                        .district(rankings.get(i).getDistrict())
-                        .matchCount(rankings.get(i).getMatchCount())
-                        .rankingScore(rankings.get(i).getRankingScore())
-                        .rank(i + 1 + (page * size))
-                        .mainDogPhotoUrl(rankings.get(i).getMainDogPhotoUrl())
-                        .mainDogName(rankings.get(i).getMainDogName())
-                        .build())
+        return IntStream.range(0, entries.size())
+                .filter(i -> users.containsKey(entries.get(i).getId()))
+                .mapToObj(i -> toRankingResponse(users.get(entries.get(i).getId()), entries.get(i).getScore(), offset + i + 1))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public UserRankingResponse getUserRank(Long userId) {
+        int rank = userRankingService.getRank(userId);
+        User user = userRepository.findById(userId)
+                .filter(u -> rank > 0)
+                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
+        return toRankingResponse(user, userRankingService.getScore(userId), rank);
+    }
+
+    private UserRankingResponse toRankingResponse(User user, long score, int rank) {
+        // 대표 강아지 정보
+        String mainDogPhotoUrl = user.getDogs().isEmpty() ? null : user.getDogs().get(0).getPhotoUrl();
+        String mainDogName = user.getDogs().isEmpty() ? null : user.getDogs().get(0).getName();
+
+        return UserRankingResponse.builder()
+                .id(user.getId())
+                .nickname(user.getNickname())
+                .city(user.getCity())
+                .district(user.getDistrict())
+                .matchCount(UserRankingService.matchCountOf(score))
+                .rankingScore(UserRankingService.likeCountOf(score))  // 좋아요 수가 곧 랭킹 점수
+                .rank(rank)
+                .mainDogPhotoUrl(mainDogPhotoUrl)
+                .mainDogName(mainDogName)
+                .build();
+    }
+
     @Override
     public UserProfileResponse getUserDetailProfile(Long targetUserId) {
         return getUserProfile(targetUserId);
@@ -0,0 +1,80 @@
+package com.example.dogmeeting.config;
+
+import com.example.dogmeeting.exception.QueryBudgetExceededException;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * strict 모드에서 @QueryBudget을 넘는 요청은 QueryBudgetExceededException으로 실패해야 한다. (필터 + 인터셉터 + Hibernate 문 검사기)
+ * MockMvc 설정으로 컨텍스트가 따로 뜨므로, 다른 테스트가 쓰는 H2 DB와 채팅 저널을 건드리지 않게 분리한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget-test;MODE=MySQL",
+        "app.chat.write-behind.journal-dir=./build/test-chat-journal-query-budget"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryBudgetFilterTest.BudgetedController.class)
+class QueryBudgetFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void 예산을_넘는_SQL을_실행하면_요청이_실패한다() throws Exception {
+        MvcResult result = mockMvc.perform(get("/test/query-budget/over"))
+                .andExpect(status().isInternalServerError())
+                .andReturn();
+
+        // 리포지토리 예외 변환(InvalidDataAccessApiUsageException)을 거치지 않고 그대로 전달되어야 한다
+        assertThat(result.getResolvedException())
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("GET /test/query-budget/over");
+    }
+
+    @Test
+    void 예산_안의_요청은_통과한다() throws Exception {
+        mockMvc.perform(get("/test/query-budget/within"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryStatsHeaderAdvice.QUERY_COUNT_HEADER, "1"));
+    }
+
+    @RestController
+    static class BudgetedController {
+
+        private final UserRepository userRepository;
+        private final MatchRepository matchRepository;
+
+        BudgetedController(UserRepository userRepository, MatchRepository matchRepository) {
+            this.userRepository = userRepository;
+            this.matchRepository = matchRepository;
+        }
+
+        @GetMapping("/test/query-budget/over")
+        @QueryBudget(1)
+        public long over() {
+            return userRepository.count() + matchRepository.count();
+        }
+
+        @GetMapping("/test/query-budget/within")
+        @QueryBudget(1)
+        public long within() {
+            return userRepository.count();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.dogmeeting.config;
+
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.repository.ChatRoomRepository;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import com.example.dogmeeting.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 유니크 제약 없이 쌓인 중복 스와이프 행(좋아요만 있던 행 + 나중에 추가된 스와이프 행)을 합치고 제약을 추가한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SwipeUniqueKeyMigrationTest {
+
+    @Autowired
+    private SwipeUniqueKeyMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @AfterEach
+    void restoreConstraint() {
+        // 다른 테스트가 같은 DB를 쓰므로 실패해도 제약을 되돌려 둔다
+        if (!migration.hasUniqueKey()) {
+            migration.migrate();
+        }
+    }
+
+    @Test
+    void 중복_행을_합치고_유니크_제약을_추가한다() {
+        TestData testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+        User a = testData.user("서울");
+        User b = testData.user("서울");
+        User c = testData.user("서울");
+        LocalDateTime likedAt = LocalDateTime.now().minusDays(2).withNano(0);
+        LocalDateTime swipedAt = LocalDateTime.now().minusDays(1).withNano(0);
+
+        jdbcTemplate.execute("ALTER TABLE swipes DROP CONSTRAINT " + SwipeUniqueKeyMigration.CONSTRAINT_NAME);
+        assertThat(migration.hasUniqueKey()).isFalse();
+        // a -> b: 좋아요만 있던 행 뒤에 스와이프 행이 따로 추가된 경우
+        insertSwipe(a, b, null, true, likedAt);
+        insertSwipe(a, b, swipedAt, false, null);
+        // c -> b: 두 행 모두 좋아요로 집계되어 있던 경우
+        insertSwipe(c, b, null, true, likedAt);
+        insertSwipe(c, b, swipedAt, true, swipedAt);
+        jdbcTemplate.update("INSERT INTO user_like_counts (user_id, like_count, updated_at) VALUES (?, 3, ?)",
+                b.getId(), Timestamp.valueOf(swipedAt));
+
+        migration.migrate();
+
+        assertThat(migration.hasUniqueKey()).isTrue();
+        Map<String, Object> ab = single(a, b);
+        assertThat(ab.get("swiped_at")).isEqualTo(Timestamp.valueOf(swipedAt));
+        assertThat(ab.get("is_like")).isEqualTo(true);
+        assertThat(ab.get("liked_at")).isEqualTo(Timestamp.valueOf(likedAt));
+        Map<String, Object> cb = single(c, b);
+        assertThat(cb.get("is_like")).isEqualTo(true);
+        assertThat(cb.get("liked_at")).isEqualTo(Timestamp.valueOf(swipedAt));
+        // 좋아요한 사람은 a, c 두 명
+        assertThat(jdbcTemplate.queryForObject("SELECT like_count FROM user_like_counts WHERE user_id = ?",
+                Integer.class, b.getId())).isEqualTo(2);
+        assertThatThrownBy(() -> insertSwipe(a, b, null, true, likedAt))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private void insertSwipe(User from, User to, LocalDateTime swipedAt, boolean like, LocalDateTime likedAt) {
+        jdbcTemplate.update("INSERT INTO swipes (from_user_id, to_user_id, swiped_at, is_like, liked_at) VALUES (?, ?, ?, ?, ?)",
+                from.getId(), to.getId(), swipedAt != null ? Timestamp.valueOf(swipedAt) : null, like,
+                likedAt != null ? Timestamp.valueOf(likedAt) : null);
+    }
+
+    private Map<String, Object> single(User from, User to) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT swiped_at, is_like, liked_at FROM swipes WHERE from_user_id = ? AND to_user_id = ?",
+                from.getId(), to.getId());
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.dogmeeting.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 지역 API의 ETag/Cache-Control 응답과 If-None-Match 304 처리
+ * MockMvc 설정으로 컨텍스트가 따로 뜨므로, 다른 테스트가 쓰는 H2 DB와 채팅 저널을 건드리지 않게 분리한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:region-controller-test;MODE=MySQL",
+        "app.chat.write-behind.journal-dir=./build/test-chat-journal-region-controller"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RegionControllerTest {
+
+    private static final String DISTRICTS_PATH = "/api/regions/cities/{cityName}/districts";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void 응답에_ETag와_하루_공개_캐시_헤더를_담는다() throws Exception {
+        mockMvc.perform(get("/api/regions/cities"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public"))
+                .andExpect(content().contentTypeCompatibleWith("application/json"));
+    }
+
+    @Test
+    void ETag가_일치하면_본문_없이_304를_돌려준다() throws Exception {
+        for (String path : new String[]{"/api/regions/cities", "/api/regions/all"}) {
+            String etag = etagOf(mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn());
+
+            MvcResult notModified = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andReturn();
+            assertThat(notModified.getResponse().getContentAsByteArray()).isEmpty();
+
+            mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void 구군_목록은_시도마다_ETag가_다르다() throws Exception {
+        MvcResult jeju = mockMvc.perform(get(DISTRICTS_PATH, "제주특별자치도"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(jeju.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .isEqualTo("[\"제주시\",\"서귀포시\"]");
+        String seoulEtag = etagOf(mockMvc.perform(get(DISTRICTS_PATH, "서울특별시")).andReturn());
+        assertThat(seoulEtag).isNotEqualTo(etagOf(jeju));
+
+        // 다른 시/도의 ETag로는 304가 되지 않는다
+        mockMvc.perform(get(DISTRICTS_PATH, "제주특별자치도").header(HttpHeaders.IF_NONE_MATCH, seoulEtag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(DISTRICTS_PATH, "제주특별자치도").header(HttpHeaders.IF_NONE_MATCH, etagOf(jeju)))
+                .andExpect(status().isNotModified());
+    }
+
+    private static String etagOf(MvcResult result) {
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+}
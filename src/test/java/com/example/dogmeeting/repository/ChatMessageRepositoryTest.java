@@ -0,0 +1,138 @@
+package com.example.dogmeeting.repository;
+
+import com.example.dogmeeting.dto.ChatMessageResponse;
+import com.example.dogmeeting.entity.ChatRoom;
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.service.ChatMessageIdGenerator;
+import com.example.dogmeeting.service.ChatService;
+import com.example.dogmeeting.support.SqlStatementCounter;
+import com.example.dogmeeting.support.TestData;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메시지 ID 커서 페이지 조회: 커서 메시지는 어느 방향에서도 제외되고, 다른 채팅방 메시지는 섞이지 않는다.
+ * 메시지는 write-behind를 거치지 않고 바로 저장한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ChatMessageRepositoryTest {
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatMessageIdGenerator messageIdGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+    }
+
+    @Test
+    void 커서_이전_페이지는_커서보다_오래된_메시지를_최신순으로_조회한다() {
+        User sender = testData.user("서울");
+        ChatRoom chatRoom = testData.chatRoom(sender, testData.user("서울"));
+        List<Long> ids = insertMessages(chatRoom, sender, 5);
+        insertMessages(testData.chatRoom(sender, testData.user("서울")), sender, 2);
+
+        assertThat(idsOf(chatMessageRepository.findPageBefore(chatRoom.getId(), ids.get(3), PageRequest.of(0, 2))))
+                .containsExactly(ids.get(2), ids.get(1));
+        assertThat(idsOf(chatMessageRepository.findPageBefore(chatRoom.getId(), Long.MAX_VALUE, PageRequest.of(0, 2))))
+                .containsExactly(ids.get(4), ids.get(3));
+        assertThat(idsOf(chatMessageRepository.findPageBefore(chatRoom.getId(), ids.get(1), PageRequest.of(0, 10))))
+                .containsExactly(ids.get(0));
+        assertThat(chatMessageRepository.findPageBefore(chatRoom.getId(), ids.get(0), PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void 커서_이후_페이지는_커서보다_최신_메시지를_오래된_순으로_조회한다() {
+        User sender = testData.user("서울");
+        ChatRoom chatRoom = testData.chatRoom(sender, testData.user("서울"));
+        List<Long> ids = insertMessages(chatRoom, sender, 5);
+        insertMessages(testData.chatRoom(sender, testData.user("서울")), sender, 2);
+
+        assertThat(idsOf(chatMessageRepository.findPageAfter(chatRoom.getId(), ids.get(1), PageRequest.of(0, 2))))
+                .containsExactly(ids.get(2), ids.get(3));
+        assertThat(idsOf(chatMessageRepository.findPageAfter(chatRoom.getId(), 0L, PageRequest.of(0, 2))))
+                .containsExactly(ids.get(0), ids.get(1));
+        assertThat(idsOf(chatMessageRepository.findPageAfter(chatRoom.getId(), ids.get(3), PageRequest.of(0, 10))))
+                .containsExactly(ids.get(4));
+        assertThat(chatMessageRepository.findPageAfter(chatRoom.getId(), ids.get(4), PageRequest.of(0, 10))).isEmpty();
+
+        ChatMessageResponse first = chatMessageRepository.findPageAfter(chatRoom.getId(), 0L, PageRequest.of(0, 1)).get(0);
+        assertThat(first.getSenderId()).isEqualTo(sender.getId());
+        assertThat(first.getSenderNickname()).isEqualTo(sender.getNickname());
+        assertThat(first.getContent()).isEqualTo("message-0");
+    }
+
+    @Test
+    void 전체_내역은_500개씩_이어서_한_번씩만_읽는다() {
+        User sender = testData.user("서울");
+        User recipient = testData.user("서울");
+        ChatRoom chatRoom = testData.chatRoom(sender, recipient);
+        List<Long> ids = insertMessages(chatRoom, sender, 1001);
+        SqlStatementCounter counter = new SqlStatementCounter(entityManagerFactory);
+        // 참여자와 읽음 위치를 캐시에 적재해 둔다
+        chatService.getChatHistoryPage(chatRoom.getId(), recipient.getId(), null, 1);
+
+        SqlStatementCounter.Counted<List<ChatMessageResponse>> history =
+                counter.count(() -> chatService.getChatHistory(chatRoom.getId(), recipient.getId()));
+
+        // 500 + 500 + 1
+        assertThat(history.statements()).isEqualTo(3);
+        assertThat(idsOf(history.result())).containsExactlyElementsOf(ids);
+    }
+
+    // 메시지 ID 발급 순서대로 저장하고 ID를 반환
+    private List<Long> insertMessages(ChatRoom chatRoom, User sender, int count) {
+        LocalDateTime sentAt = LocalDateTime.now().withNano(0);
+        List<Object[]> rows = new ArrayList<>(count);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = messageIdGenerator.nextId();
+            ids.add(id);
+            rows.add(new Object[]{id, chatRoom.getId(), sender.getId(), "message-" + i, Timestamp.valueOf(sentAt), false});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO chat_messages (message_id, chatroom_id, sender_id, content, sent_at, is_read) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    private static List<Long> idsOf(List<ChatMessageResponse> messages) {
+        return messages.stream().map(ChatMessageResponse::getId).toList();
+    }
+}
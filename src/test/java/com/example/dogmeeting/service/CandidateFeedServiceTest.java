@@ -0,0 +1,121 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.repository.SwipeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 후보 피드 인덱스 (트랜잭션 밖에서 호출하므로 upsertUser는 바로 반영된다)
+ * 스와이프 기록은 메모리 가짜 리포지토리로 대신한다.
+ */
+class CandidateFeedServiceTest {
+
+    private final Map<Long, List<Long>> swiped = new HashMap<>();
+
+    @Test
+    void 커서로_다음_페이지를_이어서_조회한다() {
+        CandidateFeedService feed = feed(5000);
+        feed.upsertUser(1L, "서울특별시", "중구", "M");
+        for (long id = 10; id < 15; id++) {
+            feed.upsertUser(id, "서울특별시", "중구", "F");
+        }
+        feed.upsertUser(20L, "서울특별시", "중구", "M");   // 같은 성별
+        feed.upsertUser(21L, "서울특별시", "종로구", "F"); // 다른 구
+        feed.upsertUser(22L, "부산광역시", "중구", "F");   // 다른 도시
+        swiped.put(1L, List.of(11L));
+
+        CandidateFeedService.FeedPage first = feed.getCandidateIds(1L, null, 2);
+        assertThat(first.userIds()).containsExactly(10L, 12L);
+        assertThat(first.hasNext()).isTrue();
+
+        CandidateFeedService.FeedPage second = feed.getCandidateIds(1L, first.nextCursor(), 2);
+        assertThat(second.userIds()).containsExactly(13L, 14L);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void 구가_없으면_도시_전체에서_찾는다() {
+        CandidateFeedService feed = feed(5000);
+        feed.upsertUser(1L, "서울특별시", null, "M");
+        feed.upsertUser(10L, "서울특별시", "중구", "F");
+        feed.upsertUser(11L, "서울특별시", " ", "F");
+        feed.upsertUser(12L, "서울특별시", "종로구", "F");
+
+        assertThat(feed.getCandidateIds(1L, null, 10).userIds()).containsExactly(10L, 11L, 12L);
+    }
+
+    @Test
+    void 한_페이지의_확인_수_상한에_도달하면_커서를_돌려준다() {
+        CandidateFeedService feed = feed(3);
+        feed.upsertUser(1L, "서울특별시", "중구", "M");
+        for (long id = 10; id < 16; id++) {
+            feed.upsertUser(id, "서울특별시", "중구", "F");
+        }
+        swiped.put(1L, List.of(10L, 11L, 12L, 13L));
+
+        CandidateFeedService.FeedPage first = feed.getCandidateIds(1L, null, 10);
+        // 10~12만 확인하고 모두 스와이프한 상대라 빈 페이지지만, 남은 후보가 있으므로 이어서 조회할 수 있다
+        assertThat(first.userIds()).isEmpty();
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.nextCursor()).isEqualTo(12L);
+
+        CandidateFeedService.FeedPage second = feed.getCandidateIds(1L, first.nextCursor(), 10);
+        assertThat(second.userIds()).containsExactly(14L, 15L);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void 프로필을_바꾸면_이전_세그먼트에서_빠지고_새_세그먼트로_옮겨진다() {
+        CandidateFeedService feed = feed(5000);
+        feed.upsertUser(1L, "서울특별시", "중구", "M");
+        feed.upsertUser(2L, "부산광역시", "해운대구", "M");
+        feed.upsertUser(10L, "서울특별시", "중구", "F");
+
+        feed.upsertUser(10L, "부산광역시", "해운대구", "F");
+
+        assertThat(feed.getCandidateIds(1L, null, 10).userIds()).isEmpty();
+        assertThat(feed.getCandidateIds(2L, null, 10).userIds()).containsExactly(10L);
+
+        // 성별이 바뀌면 보는 쪽 조건도 바뀐다
+        feed.upsertUser(2L, "부산광역시", "해운대구", "F");
+        assertThat(feed.getCandidateIds(2L, null, 10).userIds()).isEmpty();
+    }
+
+    @Test
+    void 성별이_없는_사용자는_피드가_비어_있고_다른_피드에도_나오지_않는다() {
+        CandidateFeedService feed = feed(5000);
+        feed.upsertUser(1L, "서울특별시", "중구", null);
+        feed.upsertUser(2L, "서울특별시", "중구", "M");
+        feed.upsertUser(10L, "서울특별시", "중구", "F");
+
+        CandidateFeedService.FeedPage page = feed.getCandidateIds(1L, null, 10);
+        assertThat(page.userIds()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+        assertThat(feed.getCandidateIds(2L, null, 10).userIds()).containsExactly(10L);
+        assertThat(feed.getCandidateIds(10L, null, 10).userIds()).containsExactly(2L);
+    }
+
+    private CandidateFeedService feed(int maxScanPerPage) {
+        SwipeEdgeCache swipeEdgeCache = new SwipeEdgeCache(fakeSwipeRepository(), 1000, Duration.ofMinutes(30));
+        return new CandidateFeedService(null, swipeEdgeCache, maxScanPerPage);
+    }
+
+    // findSwipedUserIds만 지원하는 메모리 리포지토리
+    private SwipeRepository fakeSwipeRepository() {
+        return (SwipeRepository) Proxy.newProxyInstance(SwipeRepository.class.getClassLoader(),
+                new Class<?>[]{SwipeRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findSwipedUserIds")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return swiped.getOrDefault((Long) args[0], List.of());
+                });
+    }
+}
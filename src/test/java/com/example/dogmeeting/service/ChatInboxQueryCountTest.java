@@ -0,0 +1,120 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.ChatInboxResponse;
+import com.example.dogmeeting.dto.ChatMessageDto;
+import com.example.dogmeeting.entity.ChatRoom;
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.repository.ChatRoomRepository;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import com.example.dogmeeting.support.SqlStatementCounter;
+import com.example.dogmeeting.support.TestData;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 목록은 채팅방 수와 관계없이 일정한 쿼리 수로 조회되어야 한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ChatInboxQueryCountTest {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatMessageWriteBehindService writeBehindService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> chatroomIds = new ArrayList<>();
+    private TestData testData;
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+        counter = new SqlStatementCounter(entityManagerFactory);
+    }
+
+    @Test
+    void 채팅방_수와_관계없이_쿼리_수가_같다() {
+        User few = userWithRooms(3);
+        User many = userWithRooms(40);
+        awaitFlushed();
+
+        SqlStatementCounter.Counted<List<ChatInboxResponse>> fewInbox =
+                counter.count(() -> chatService.getChatInbox(few.getId()));
+        SqlStatementCounter.Counted<List<ChatInboxResponse>> manyInbox =
+                counter.count(() -> chatService.getChatInbox(many.getId()));
+
+        // 목록 1회 + 안 읽은 메시지 적재(읽음 위치, 안 읽은 메시지 ID) 2회
+        assertThat(fewInbox.statements()).isEqualTo(3);
+        assertThat(manyInbox.statements()).isEqualTo(fewInbox.statements());
+        assertThat(manyInbox.result()).hasSize(40)
+                .allSatisfy(room -> {
+                    assertThat(room.getUnreadCount()).isEqualTo(2);
+                    assertThat(room.getLastMessageContent()).isEqualTo("second");
+                    assertThat(room.getPartnerId()).isNotEqualTo(many.getId());
+                });
+
+        // 안 읽은 수가 적재된 뒤에는 목록 쿼리 한 번
+        assertThat(counter.count(() -> chatService.getChatInbox(many.getId())).statements()).isEqualTo(1);
+    }
+
+    // 채팅방마다 상대방이 메시지 두 개를 보낸 사용자
+    private User userWithRooms(int rooms) {
+        User owner = testData.user("서울");
+        for (int i = 0; i < rooms; i++) {
+            User partner = testData.user("서울");
+            ChatRoom chatRoom = testData.chatRoom(partner, owner);
+            chatroomIds.add(chatRoom.getId());
+            send(chatRoom, partner, "first");
+            send(chatRoom, partner, "second");
+        }
+        return owner;
+    }
+
+    private void send(ChatRoom chatRoom, User sender, String content) {
+        chatService.sendMessage(ChatMessageDto.builder()
+                .chatroomId(chatRoom.getId())
+                .senderId(sender.getId())
+                .content(content)
+                .build());
+    }
+
+    // 통계는 애플리케이션 전체 값이므로 write-behind 저장이 끝난 뒤에 센다
+    private void awaitFlushed() {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (chatroomIds.stream().anyMatch(id -> !writeBehindService.getPendingMessages(id).isEmpty())) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("10초 안에 채팅 메시지가 저장되지 않았습니다");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
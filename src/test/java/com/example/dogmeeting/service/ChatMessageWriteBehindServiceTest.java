@@ -0,0 +1,212 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.PendingChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * write-behind 파이프라인을 H2와 임시 저널 디렉터리로 실행한다 (스프링 컨텍스트 없이).
+ */
+class ChatMessageWriteBehindServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .build();
+
+    @TempDir
+    Path journalDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private final List<ChatMessageWriteBehindService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:write-behind-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE chat_rooms (chatroom_id BIGINT PRIMARY KEY, last_message_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE chat_messages (message_id BIGINT PRIMARY KEY, " +
+                "chatroom_id BIGINT NOT NULL REFERENCES chat_rooms (chatroom_id), sender_id BIGINT NOT NULL, " +
+                "content VARCHAR(1000), sent_at TIMESTAMP, is_read BOOLEAN)");
+        jdbcTemplate.update("INSERT INTO chat_rooms (chatroom_id) VALUES (1), (2)");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (ChatMessageWriteBehindService service : services) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void 큐에_쌓인_메시지를_배치_크기_단위로_저장하고_최근_메시지_포인터를_갱신한다() throws Exception {
+        ChatMessageWriteBehindService service = newService(new ChatMessageJournal(OBJECT_MAPPER,
+                journalDir.toString(), 1 << 20, false), 50);
+        for (long id = 1; id <= 120; id++) {
+            service.enqueue(message(id, id % 2 == 0 ? 2L : 1L));
+        }
+
+        service.start();
+        awaitUntil(() -> service.getFlushedMessages() == 120);
+
+        assertThat(service.getFlushCount()).isEqualTo(3);
+        assertThat(service.getQueueDepth()).isZero();
+        assertThat(count("SELECT COUNT(*) FROM chat_messages")).isEqualTo(120);
+        assertThat(count("SELECT last_message_id FROM chat_rooms WHERE chatroom_id = 1")).isEqualTo(119);
+        assertThat(count("SELECT last_message_id FROM chat_rooms WHERE chatroom_id = 2")).isEqualTo(120);
+    }
+
+    @Test
+    void 저장되지_못한_저널은_재시작_시_한_번만_복구된다() throws IOException {
+        // 이전 실행: 저널에만 기록되고 플러시 전에 종료, 그중 일부는 이미 저장된 상태
+        ChatMessageJournal crashedJournal = new ChatMessageJournal(OBJECT_MAPPER, journalDir.toString(), 1 << 20, false);
+        ChatMessageWriteBehindService crashed = new ChatMessageWriteBehindService(
+                crashedJournal, jdbcTemplate, transactionTemplate, 50, 20, 1000);
+        for (long id = 1; id <= 10; id++) {
+            crashed.enqueue(message(id, 1L));
+        }
+        crashedJournal.close();
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("INSERT INTO chat_messages (message_id, chatroom_id, sender_id, content, sent_at, is_read) " +
+                    "VALUES (?, 1, 100, 'saved', CURRENT_TIMESTAMP, FALSE)", id);
+        }
+
+        ChatMessageWriteBehindService restarted = newService(new ChatMessageJournal(OBJECT_MAPPER,
+                journalDir.toString(), 1 << 20, false), 50);
+        restarted.start();
+
+        assertThat(count("SELECT COUNT(*) FROM chat_messages")).isEqualTo(10);
+        assertThat(count("SELECT COUNT(*) FROM chat_messages WHERE content = 'saved'")).isEqualTo(3);
+        assertThat(count("SELECT last_message_id FROM chat_rooms WHERE chatroom_id = 1")).isEqualTo(10);
+        assertThat(segmentFiles()).hasSize(1); // 새로 연 현재 세그먼트만 남는다
+    }
+
+    @Test
+    void 저장할_수_없는_메시지만_버리고_나머지는_저장한다() throws Exception {
+        ChatMessageWriteBehindService service = newService(new ChatMessageJournal(OBJECT_MAPPER,
+                journalDir.toString(), 1 << 20, false), 50);
+        service.enqueue(message(1L, 1L));
+        service.enqueue(message(2L, 999L)); // 없는 채팅방
+        service.enqueue(message(3L, 2L));
+
+        service.start();
+        awaitUntil(() -> service.getFlushedMessages() == 3);
+
+        assertThat(service.getDroppedMessages()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT message_id FROM chat_messages ORDER BY message_id", Long.class))
+                .containsExactly(1L, 3L);
+    }
+
+    @Test
+    void 행_단위_저장_중_일시_오류가_나면_그_행을_재시도하고_모든_메시지를_정리한다() throws Exception {
+        // 무결성 오류로 행 단위 저장으로 넘어간 뒤, 첫 행 저장에서 연결 오류가 한 번 난다
+        FlakyJdbcTemplate flaky = new FlakyJdbcTemplate(jdbcTemplate.getDataSource(), 1);
+        ChatMessageJournal journal = new ChatMessageJournal(OBJECT_MAPPER, journalDir.toString(), 1 << 20, false);
+        ChatMessageWriteBehindService service = new ChatMessageWriteBehindService(
+                journal, flaky, transactionTemplate, 50, 20, 1000);
+        services.add(service);
+        service.enqueue(message(1L, 1L));
+        service.enqueue(message(2L, 999L)); // 없는 채팅방
+        service.enqueue(message(3L, 2L));
+
+        service.start();
+        awaitUntil(() -> service.getFlushedMessages() == 3);
+
+        assertThat(service.getFailedFlushCount()).isEqualTo(1);
+        assertThat(service.getDroppedMessages()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT message_id FROM chat_messages ORDER BY message_id", Long.class))
+                .containsExactly(1L, 3L);
+        // 저장/폐기가 확정된 메시지는 대기 목록에서 빠지고 저널 세그먼트도 풀린다
+        assertThat(service.getPendingMessages(1L)).isEmpty();
+        assertThat(service.getPendingMessages(2L)).isEmpty();
+        assertThat(service.getPendingMessages(999L)).isEmpty();
+        service.stop();
+        journal.close();
+        assertThat(segmentFiles()).isEmpty();
+    }
+
+    private ChatMessageWriteBehindService newService(ChatMessageJournal journal, int batchSize) {
+        ChatMessageWriteBehindService service = new ChatMessageWriteBehindService(
+                journal, jdbcTemplate, transactionTemplate, batchSize, 20, 1000);
+        services.add(service);
+        return service;
+    }
+
+    private PendingChatMessage message(long id, long chatroomId) {
+        return PendingChatMessage.builder()
+                .id(id)
+                .chatroomId(chatroomId)
+                .senderId(100L)
+                .content("message-" + id)
+                .sentAt(LocalDateTime.now())
+                .build();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.toList();
+        }
+    }
+
+    // 한 행짜리 INSERT를 처음 failures번 연결 오류로 실패시킨다
+    private static class FlakyJdbcTemplate extends JdbcTemplate {
+
+        private final AtomicInteger failures;
+
+        FlakyJdbcTemplate(DataSource dataSource, int failures) {
+            super(dataSource);
+            this.failures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            if (batchArgs.size() == 1 && failures.getAndDecrement() > 0) {
+                throw new TransientDataAccessResourceException("연결이 끊어졌습니다");
+            }
+            return super.batchUpdate(sql, batchArgs, batchSize, pss);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("10초 안에 조건을 만족하지 못했습니다");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
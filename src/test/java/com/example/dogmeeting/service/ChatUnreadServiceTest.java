@@ -0,0 +1,171 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.ChatMessageDto;
+import com.example.dogmeeting.entity.ChatRoom;
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.repository.ChatReadWatermarkRepository;
+import com.example.dogmeeting.repository.ChatRoomRepository;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import com.example.dogmeeting.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChatUnreadServiceTest {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatUnreadService chatUnreadService;
+
+    @Autowired
+    private ChatMessageWriteBehindService writeBehindService;
+
+    @Autowired
+    private ChatReadWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    private User sender;
+    private User recipient;
+    private Long chatroomId;
+
+    @BeforeEach
+    void setUp() {
+        TestData testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+        sender = testData.user("서울");
+        recipient = testData.user("서울");
+        ChatRoom chatRoom = testData.chatRoom(sender, recipient);
+        chatroomId = chatRoom.getId();
+    }
+
+    @Test
+    void 저장_대기_중인_메시지도_안_읽은_수에_포함된다() {
+        for (int i = 0; i < 5; i++) {
+            send(sender, "hello " + i);
+        }
+
+        // 수신자 상태는 아직 적재되지 않았으므로 대기 목록과 DB에서 함께 적재된다
+        assertThat(chatService.getUnreadMessageCount(chatroomId, recipient.getId())).isEqualTo(5);
+        assertThat(chatService.getUnreadMessageCount(chatroomId, sender.getId())).isZero();
+    }
+
+    @Test
+    void 읽음_처리_이후_도착한_메시지만_안_읽은_수로_남는다() {
+        send(sender, "first");
+        send(sender, "second");
+        chatService.markMessagesAsRead(chatroomId, recipient.getId());
+        send(sender, "third");
+
+        assertThat(chatService.getUnreadMessageCount(chatroomId, recipient.getId())).isEqualTo(1);
+        awaitFlushed();
+        assertThat(watermarkRepository.findByChatRoomIdAndUserId(chatroomId, recipient.getId()))
+                .hasValueSatisfying(watermark ->
+                        assertThat(watermark.getLastReadMessageId())
+                                .isEqualTo(chatUnreadService.getWatermark(chatroomId, recipient.getId())));
+    }
+
+    @Test
+    void 적재와_전송이_동시에_일어나도_메시지를_잃지_않는다() throws Exception {
+        int messages = 200;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> sending = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < messages; i++) {
+                    send(sender, "message " + i);
+                }
+                return null;
+            });
+            Future<?> reading = executor.submit(() -> {
+                start.await();
+                while (!sending.isDone()) {
+                    chatUnreadService.getUnreadCount(chatroomId, recipient.getId());
+                }
+                return null;
+            });
+            start.countDown();
+            sending.get();
+            reading.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(chatService.getUnreadMessageCount(chatroomId, recipient.getId())).isEqualTo(messages);
+    }
+
+    @Test
+    void 처음_읽음_처리가_동시에_들어와도_읽음_위치는_한_행이다() throws Exception {
+        send(sender, "hello");
+        awaitFlushed();
+
+        int readers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    chatService.markMessagesAsRead(chatroomId, recipient.getId());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(watermarkRepository.findByChatRoomId(chatroomId)).hasSize(1);
+        assertThat(chatService.getUnreadMessageCount(chatroomId, recipient.getId())).isZero();
+    }
+
+    private void send(User from, String content) {
+        chatService.sendMessage(ChatMessageDto.builder()
+                .chatroomId(chatroomId)
+                .senderId(from.getId())
+                .content(content)
+                .build());
+    }
+
+    private void awaitFlushed() {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!writeBehindService.getPendingMessages(chatroomId).isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("10초 안에 채팅 메시지가 저장되지 않았습니다");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.DogProfileResponse;
+import com.example.dogmeeting.entity.Dog;
+import com.example.dogmeeting.entity.S3DeletionTask;
+import com.example.dogmeeting.repository.ChatRoomRepository;
+import com.example.dogmeeting.repository.DogRepository;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.S3DeletionTaskRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import com.example.dogmeeting.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 강아지 사진 키 교체와 프로필 응답의 변형 URL
+ * (Presigned URL은 로컬에서 서명만 하므로 실제 S3 없이 확인할 수 있다)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DogPhotoServiceTest {
+
+    @Autowired
+    private DogService dogService;
+
+    @Autowired
+    private DogRepository dogRepository;
+
+    @Autowired
+    private S3DeletionTaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    private TestData testData;
+
+    // 테스트마다 다른 키 공간을 써서 공유 DB의 다른 삭제 예약과 섞이지 않게 한다
+    private final String base = "dogs/photo-" + System.nanoTime() + "/";
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+    }
+
+    @Test
+    void 단일_이미지_키로_교체하면_이전_원본과_변형을_삭제_예약한다() {
+        Dog dog = dog(base + "a.jpg", base + "a_medium.jpg", base + "a_thumb.jpg");
+
+        dogService.updateDogImage(dog.getId(), base + "b.jpg");
+
+        Dog updated = dogRepository.findById(dog.getId()).orElseThrow();
+        assertThat(updated.getPhotoUrl()).isEqualTo(base + "b.jpg");
+        assertThat(updated.getPhotoMediumUrl()).isNull();
+        assertThat(updated.getPhotoThumbnailUrl()).isNull();
+        assertThat(queuedKeys()).containsExactlyInAnyOrder(base + "a.jpg", base + "a_medium.jpg", base + "a_thumb.jpg");
+    }
+
+    @Test
+    void 같은_키로_교체하면_변형을_그대로_둔다() {
+        Dog dog = dog(base + "a.jpg", base + "a_medium.jpg", base + "a_thumb.jpg");
+
+        dogService.updateDogImage(dog.getId(), base + "a.jpg");
+
+        assertThat(dogRepository.findById(dog.getId()).orElseThrow().getPhotoMediumUrl()).isEqualTo(base + "a_medium.jpg");
+        assertThat(queuedKeys()).isEmpty();
+    }
+
+    @Test
+    void 프로필_응답은_변형_URL을_담고_변형이_없으면_원본_URL을_쓴다() {
+        Dog withVariants = dog(base + "a.jpg", base + "a_medium.jpg", base + "a_thumb.jpg");
+        Dog originalOnly = dog(base + "b.jpg", null, null);
+
+        DogProfileResponse profile = dogService.getDogProfile(withVariants.getId());
+        assertThat(profile.getPhotoUrl()).contains(base + "a.jpg");
+        assertThat(profile.getMediumUrl()).contains(base + "a_medium.jpg");
+        assertThat(profile.getThumbnailUrl()).contains(base + "a_thumb.jpg");
+
+        DogProfileResponse fallback = dogService.getDogProfile(originalOnly.getId());
+        assertThat(fallback.getMediumUrl()).isEqualTo(fallback.getPhotoUrl());
+        assertThat(fallback.getThumbnailUrl()).isEqualTo(fallback.getPhotoUrl());
+    }
+
+    private Dog dog(String photoKey, String mediumKey, String thumbnailKey) {
+        return dogRepository.save(Dog.builder()
+                .user(testData.user("서울"))
+                .name("초코")
+                .breed("푸들")
+                .age(3)
+                .gender("M")
+                .photoUrl(photoKey)
+                .photoMediumUrl(mediumKey)
+                .photoThumbnailUrl(thumbnailKey)
+                .build());
+    }
+
+    private List<String> queuedKeys() {
+        return taskRepository.findAll().stream()
+                .map(S3DeletionTask::getObjectKey)
+                .filter(key -> key.startsWith(base))
+                .toList();
+    }
+}
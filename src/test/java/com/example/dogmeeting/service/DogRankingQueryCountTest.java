@@ -0,0 +1,144 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.DogProfileResponse;
+import com.example.dogmeeting.dto.DogRankingResponse;
+import com.example.dogmeeting.entity.Dog;
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.entity.UserLikeCount;
+import com.example.dogmeeting.repository.DogRepository;
+import com.example.dogmeeting.repository.UserLikeCountRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import com.example.dogmeeting.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 랭킹 조회는 랭킹 항목 수와 관계없이 대표 강아지+소유자 조회 한 번으로 끝나야 한다.
+ * 프로필의 좋아요 수도 swipes를 세지 않고 사전 집계(user_like_counts)에서 읽는다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DogRankingQueryCountTest {
+
+    @Autowired
+    private DogService dogService;
+
+    @Autowired
+    private LikeRankingService likeRankingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DogRepository dogRepository;
+
+    @Autowired
+    private UserLikeCountRepository userLikeCountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SqlStatementCounter(entityManagerFactory);
+    }
+
+    @Test
+    void 지역_랭킹은_항목_수와_관계없이_쿼리_한_번이다() {
+        List<User> small = seedRankedOwners("랭킹시A", 3);
+        List<User> large = seedRankedOwners("랭킹시B", 30);
+
+        SqlStatementCounter.Counted<List<DogRankingResponse>> smallRanking =
+                counter.count(() -> dogService.getTopDogsInRegion("랭킹시A", 50));
+        SqlStatementCounter.Counted<List<DogRankingResponse>> largeRanking =
+                counter.count(() -> dogService.getTopDogsInRegion("랭킹시B", 50));
+
+        assertThat(smallRanking.statements()).isEqualTo(1);
+        assertThat(largeRanking.statements()).isEqualTo(smallRanking.statements());
+        assertRankedInLikeOrder(largeRanking.result(), large);
+        assertRankedInLikeOrder(smallRanking.result(), small);
+    }
+
+    @Test
+    void 전체_랭킹도_페이지_크기와_관계없이_쿼리_한_번이다() {
+        seedRankedOwners("랭킹시C", 40);
+
+        SqlStatementCounter.Counted<List<DogRankingResponse>> smallPage =
+                counter.count(() -> dogService.getAllDogsRanking(0, 5));
+        SqlStatementCounter.Counted<List<DogRankingResponse>> largePage =
+                counter.count(() -> dogService.getAllDogsRanking(0, 40));
+
+        assertThat(smallPage.statements()).isEqualTo(1);
+        assertThat(largePage.statements()).isEqualTo(smallPage.statements());
+        assertThat(largePage.result()).extracting(DogRankingResponse::getRank)
+                .startsWith(1, 2, 3, 4, 5);
+        assertThat(largePage.result()).extracting(DogRankingResponse::getLikeCount)
+                .isSortedAccordingTo((a, b) -> Integer.compare(b, a));
+    }
+
+    @Test
+    void 강아지_프로필의_좋아요_수는_사전_집계에서_읽는다() {
+        User owner = seedRankedOwners("랭킹시D", 1).get(0);
+        // swipes 행 없이 집계 테이블에만 있는 값: swipes를 세면 0이 나온다
+        userLikeCountRepository.save(UserLikeCount.builder().userId(owner.getId()).likeCount(7).build());
+        Long dogId = dogRepository.findByUserId(owner.getId()).get(0).getId();
+
+        SqlStatementCounter.Counted<DogProfileResponse> profile = counter.count(() -> dogService.getDogProfile(dogId));
+
+        assertThat(profile.result().getLikeCount()).isEqualTo(7);
+        assertThat(profile.statements()).isLessThanOrEqualTo(3);
+    }
+
+    // 도시마다 서로 다른 좋아요 수를 가진 소유자를 만들고, 각자 강아지를 두 마리씩(먼저 등록한 쪽이 대표) 등록한다
+    private List<User> seedRankedOwners(String city, int owners) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < owners; i++) {
+            User user = userRepository.save(User.builder()
+                    .userId(city + "-owner-" + i)
+                    .password("password")
+                    .nickname(city + " 보호자 " + i)
+                    .gender("M")
+                    .city(city)
+                    .district("중구")
+                    .build());
+            dogRepository.save(dog(user, "대표-" + i));
+            dogRepository.save(dog(user, "둘째-" + i));
+            likeRankingService.recordLikeChange(user, i + 1);
+            users.add(user);
+        }
+        return users;
+    }
+
+    private Dog dog(User user, String name) {
+        return Dog.builder()
+                .user(user)
+                .name(name)
+                .breed("진돗개")
+                .age(3)
+                .gender("M")
+                .build();
+    }
+
+    // 좋아요가 많은 순으로, 각 소유자의 대표 강아지가 나와야 한다
+    private void assertRankedInLikeOrder(List<DogRankingResponse> ranking, List<User> owners) {
+        assertThat(ranking).hasSize(owners.size());
+        for (int i = 0; i < ranking.size(); i++) {
+            int ownerIndex = owners.size() - 1 - i;
+            DogRankingResponse response = ranking.get(i);
+            assertThat(response.getOwnerId()).isEqualTo(owners.get(ownerIndex).getId());
+            assertThat(response.getDogName()).isEqualTo("대표-" + ownerIndex);
+            assertThat(response.getLikeCount()).isEqualTo(ownerIndex + 1);
+        }
+    }
+}
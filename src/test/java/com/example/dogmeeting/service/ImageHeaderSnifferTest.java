@@ -0,0 +1,84 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.exception.InvalidImageException;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageHeaderSnifferTest {
+
+    @Test
+    void 앞에_큰_EXIF_세그먼트가_있는_JPEG의_크기를_읽는다() throws IOException {
+        byte[] jpeg = encode(new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB), "jpg");
+        byte[] withExif = insertAfterSoi(jpeg, app1(60 * 1024));
+
+        ImageHeaderSniffer.ImageInfo info = ImageHeaderSniffer.sniff(withExif);
+
+        assertThat(info).isEqualTo(new ImageHeaderSniffer.ImageInfo(ImageHeaderSniffer.ImageFormat.JPEG, 300, 200));
+    }
+
+    @Test
+    void PNG와_GIF의_크기를_읽는다() throws IOException {
+        assertThat(ImageHeaderSniffer.sniff(encode(new BufferedImage(17, 9, BufferedImage.TYPE_INT_ARGB), "png")))
+                .isEqualTo(new ImageHeaderSniffer.ImageInfo(ImageHeaderSniffer.ImageFormat.PNG, 17, 9));
+        assertThat(ImageHeaderSniffer.sniff(encode(new BufferedImage(33, 21, BufferedImage.TYPE_BYTE_INDEXED), "gif")))
+                .isEqualTo(new ImageHeaderSniffer.ImageInfo(ImageHeaderSniffer.ImageFormat.GIF, 33, 21));
+    }
+
+    @Test
+    void WebP_확장_형식의_캔버스_크기를_읽는다() throws IOException {
+        // RIFF 헤더 + VP8X 청크 (플래그 4바이트, 24비트 너비-1 / 높이-1)
+        byte[] webp = {
+                'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P',
+                'V', 'P', '8', 'X', 10, 0, 0, 0,
+                0, 0, 0, 0,
+                (byte) 0xFF, 0x0F, 0,   // 4096 - 1
+                (byte) 0xFF, 0x0B, 0};  // 3072 - 1
+
+        assertThat(ImageHeaderSniffer.sniff(webp))
+                .isEqualTo(new ImageHeaderSniffer.ImageInfo(ImageHeaderSniffer.ImageFormat.WEBP, 4096, 3072));
+    }
+
+    @Test
+    void 지원하지_않는_형식이나_잘린_헤더는_거부한다() throws IOException {
+        assertThatThrownBy(() -> ImageHeaderSniffer.sniff("<svg xmlns=\"x\"></svg>".getBytes()))
+                .isInstanceOf(InvalidImageException.class);
+
+        byte[] jpeg = encode(new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB), "jpg");
+        byte[] truncated = Arrays.copyOf(insertAfterSoi(jpeg, app1(4096)), 1024);
+        assertThatThrownBy(() -> ImageHeaderSniffer.sniff(truncated))
+                .isInstanceOf(InvalidImageException.class);
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    // 길이 필드를 포함해 size 바이트인 APP1(Exif) 세그먼트
+    private static byte[] app1(int size) {
+        byte[] segment = new byte[2 + size];
+        segment[0] = (byte) 0xFF;
+        segment[1] = (byte) 0xE1;
+        segment[2] = (byte) (size >> 8);
+        segment[3] = (byte) size;
+        System.arraycopy(new byte[]{'E', 'x', 'i', 'f', 0, 0}, 0, segment, 4, 6);
+        return segment;
+    }
+
+    private static byte[] insertAfterSoi(byte[] jpeg, byte[] segment) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.writeBytes(segment);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+}
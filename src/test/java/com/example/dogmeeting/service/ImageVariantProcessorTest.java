@@ -0,0 +1,97 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.ImageUpload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageVariantProcessorTest {
+
+    private final ImageVariantProcessor processor = new ImageVariantProcessor(1, 8, 2048, 1024, 256, 0.95f);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        processor.shutdown();
+    }
+
+    @Test
+    void EXIF_회전_정보를_픽셀에_반영한_뒤_다시_인코딩한다() throws Exception {
+        // 왼쪽 절반이 빨강, 오른쪽 절반이 파랑인 가로 사진을 "시계 방향 90도 회전해서 표시"로 저장
+        byte[] jpeg = withOrientation(halfRedHalfBlue(80, 40), 6);
+
+        List<ImageVariantProcessor.Variant> variants = processor.process(upload(jpeg, 80, 40)).get();
+
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(variants.get(0).content()));
+        assertThat(original.getWidth()).isEqualTo(40);
+        assertThat(original.getHeight()).isEqualTo(80);
+        // 회전 후에는 빨강이 위, 파랑이 아래
+        assertThat(new Color(original.getRGB(20, 10)).getRed()).isGreaterThan(200);
+        assertThat(new Color(original.getRGB(20, 70)).getBlue()).isGreaterThan(200);
+        assertThat(ExifOrientation.read(variants.get(0).content())).isEqualTo(ExifOrientation.NORMAL);
+    }
+
+    @Test
+    void 반전_방향도_적용한다() throws Exception {
+        byte[] jpeg = withOrientation(halfRedHalfBlue(80, 40), 2);
+
+        List<ImageVariantProcessor.Variant> variants = processor.process(upload(jpeg, 80, 40)).get();
+
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(variants.get(0).content()));
+        assertThat(original.getWidth()).isEqualTo(80);
+        assertThat(new Color(original.getRGB(10, 20)).getBlue()).isGreaterThan(200);
+        assertThat(new Color(original.getRGB(70, 20)).getRed()).isGreaterThan(200);
+    }
+
+    private static BufferedImage halfRedHalfBlue(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(width / 2, 0, width - width / 2, height);
+        graphics.dispose();
+        return image;
+    }
+
+    // SOI 바로 뒤에 Orientation 태그 하나만 있는 APP1(Exif, 빅 엔디언) 세그먼트를 넣는다
+    private static byte[] withOrientation(BufferedImage image, int orientation) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", encoded);
+        byte[] jpeg = encoded.toByteArray();
+
+        byte[] tiff = {
+                'M', 'M', 0, 42, 0, 0, 0, 8,                    // 헤더, 첫 IFD 오프셋 8
+                0, 1,                                           // 항목 1개
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+                0, 0, 0, 0};                                    // 다음 IFD 없음
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        int length = 2 + 6 + tiff.length;
+        out.write(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) (length >> 8), (byte) length});
+        out.write(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        out.write(tiff);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+
+    private static ImageUpload upload(byte[] content, int width, int height) {
+        return ImageUpload.builder()
+                .originalFilename("dog.jpg")
+                .contentType("image/jpeg")
+                .extension("jpg")
+                .width(width)
+                .height(height)
+                .content(content)
+                .build();
+    }
+}
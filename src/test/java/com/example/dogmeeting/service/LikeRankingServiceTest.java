@@ -0,0 +1,106 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.repository.SwipeRepository;
+import com.example.dogmeeting.repository.UserLikeCountRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LikeRankingServiceTest {
+
+    @Autowired
+    private LikeRankingService likeRankingService;
+
+    @Autowired
+    private UserLikeCountRepository userLikeCountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void 첫_좋아요가_동시에_들어와도_모두_집계된다() throws Exception {
+        User user = userRepository.save(User.builder()
+                .userId("like-ranking-target")
+                .password("password")
+                .nickname("target")
+                .gender("F")
+                .city("서울")
+                .build());
+        int likes = 16;
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(likes);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < likes; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    likeRankingService.recordLikeChange(user, 1);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(userLikeCountRepository.findById(user.getId()))
+                .hasValueSatisfying(count -> assertThat(count.getLikeCount()).isEqualTo(likes));
+        assertThat(likeRankingService.getLikeCount(user.getId())).isEqualTo(likes);
+    }
+
+    @Test
+    void 재구성_중_커밋된_좋아요도_교체된_인덱스에_남는다() {
+        User user = User.builder().id(7L).city("서울").build();
+        AtomicReference<LikeRankingService> service = new AtomicReference<>();
+        // 집계 조회 시점에는 3개, 조회가 끝나기 전에 좋아요 하나가 커밋된다
+        SwipeRepository swipeRepository = fake(SwipeRepository.class, Map.of("countLikesGroupedByUser", args -> {
+            service.get().recordLikeChange(user, 1);
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{7L, "서울", 3L});
+            return rows;
+        }));
+        UserLikeCountRepository counts = fake(UserLikeCountRepository.class, Map.of(
+                "findAll", args -> List.of(),
+                "upsertLikes", args -> 1));
+        service.set(new LikeRankingService(counts, swipeRepository, event -> { }));
+
+        service.get().rebuild();
+
+        assertThat(service.get().getLikeCount(7L)).isEqualTo(4);
+        assertThat(service.get().getTopUsersInCity("서울", 10)).hasSize(1);
+    }
+
+    // 이름으로 등록한 메서드만 응답하는 메모리 리포지토리
+    @SuppressWarnings("unchecked")
+    private static <T> T fake(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = methods.get(method.getName());
+            if (handler == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return handler.apply(args);
+        });
+    }
+}
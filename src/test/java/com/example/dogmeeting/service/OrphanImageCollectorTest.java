@@ -0,0 +1,187 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.StoredObjectPage;
+import com.example.dogmeeting.entity.Dog;
+import com.example.dogmeeting.entity.S3DeletionTask;
+import com.example.dogmeeting.entity.S3GcCheckpoint;
+import com.example.dogmeeting.repository.ChatRoomRepository;
+import com.example.dogmeeting.repository.DogRepository;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.S3DeletionTaskRepository;
+import com.example.dogmeeting.repository.S3GcCheckpointRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import com.example.dogmeeting.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * S3 고아 객체 정리 (객체 저장소는 메모리 가짜, DB는 테스트 H2)
+ * 참조되지 않고 유예 기간이 지난 객체만 삭제 outbox에 들어가고, 진행 위치가 체크포인트에 남아야 한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrphanImageCollectorTest {
+
+    private static final String PREFIX = "dogs/";
+
+    @Autowired
+    private DogRepository dogRepository;
+
+    @Autowired
+    private S3GcCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private S3DeletionTaskRepository taskRepository;
+
+    @Autowired
+    private S3DeletionOutboxService s3DeletionOutbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    private TestData testData;
+    private OrphanImageCollector collector;
+
+    // 테스트마다 다른 키 공간을 써서 공유 DB의 다른 데이터와 섞이지 않게 한다
+    private final String base = PREFIX + "gc-" + System.nanoTime() + "/";
+    private final Instant old = Instant.now().minus(Duration.ofDays(3));
+    private final NavigableMap<String, Instant> objects = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+        checkpointRepository.deleteById(PREFIX);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (collector != null) {
+            collector.stop();
+        }
+    }
+
+    @Test
+    void 참조되지_않고_유예_기간이_지난_객체만_삭제를_예약한다() throws InterruptedException {
+        dog(base + "1/a.jpg", base + "1/a_medium.jpg", base + "1/a_thumb.jpg");
+        objects.put(base + "1/a.jpg", old);
+        objects.put(base + "1/a_medium.jpg", old);
+        objects.put(base + "1/a_thumb.jpg", old);
+        objects.put(base + "2/orphan.jpg", old);
+        objects.put(base + "2/orphan_thumb.jpg", old);
+        objects.put(base + "3/uploading.jpg", Instant.now()); // 아직 DB에 반영되지 않았을 수 있는 새 업로드
+        collector = collector(2, 1000);
+
+        runOnce();
+
+        assertThat(queuedKeys()).containsExactlyInAnyOrder(base + "2/orphan.jpg", base + "2/orphan_thumb.jpg");
+        assertThat(collector.getScannedObjects()).isEqualTo(6);
+        assertThat(collector.getOrphanObjects()).isEqualTo(2);
+        S3GcCheckpoint checkpoint = checkpointRepository.findById(PREFIX).orElseThrow();
+        assertThat(checkpoint.getLastKey()).isNull();
+        assertThat(checkpoint.getLastCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void 실행당_최대_개수에_도달하면_체크포인트에서_이어서_진행한다() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            objects.put(base + i + ".jpg", old);
+        }
+        collector = collector(2, 2);
+
+        runOnce();
+        S3GcCheckpoint checkpoint = checkpointRepository.findById(PREFIX).orElseThrow();
+        assertThat(checkpoint.getLastKey()).isEqualTo(base + "1.jpg");
+        assertThat(checkpoint.getLastCompletedAt()).isNull();
+        assertThat(queuedKeys()).containsExactlyInAnyOrder(base + "0.jpg", base + "1.jpg");
+
+        runOnce();
+        assertThat(checkpointRepository.findById(PREFIX).orElseThrow().getLastKey()).isEqualTo(base + "3.jpg");
+
+        runOnce();
+        checkpoint = checkpointRepository.findById(PREFIX).orElseThrow();
+        assertThat(checkpoint.getLastKey()).isNull();
+        assertThat(checkpoint.getLastCompletedAt()).isNotNull();
+        // 이미 확인한 객체를 다시 예약하지 않는다
+        assertThat(queuedKeys()).containsExactlyInAnyOrderElementsOf(objects.keySet());
+    }
+
+    private OrphanImageCollector collector(int pageSize, long maxObjectsPerRun) {
+        return new OrphanImageCollector(fakeObjectStore(), dogRepository, checkpointRepository, s3DeletionOutbox,
+                transactionTemplate, false, Duration.ofHours(24), pageSize, 1000.0, maxObjectsPerRun, false);
+    }
+
+    // listFiles만 지원하는 메모리 객체 저장소 (키 오름차순, startAfter 제외)
+    private FileUploadService fakeObjectStore() {
+        return (FileUploadService) Proxy.newProxyInstance(FileUploadService.class.getClassLoader(),
+                new Class<?>[]{FileUploadService.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("listFiles")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    String prefix = (String) args[0];
+                    String startAfter = (String) args[1];
+                    int maxKeys = (Integer) args[2];
+                    NavigableMap<String, Instant> rest = startAfter == null ? objects : objects.tailMap(startAfter, false);
+                    List<StoredObjectPage.StoredObject> page = rest.entrySet().stream()
+                            .filter(entry -> entry.getKey().startsWith(prefix))
+                            .limit(maxKeys)
+                            .map(entry -> new StoredObjectPage.StoredObject(entry.getKey(), entry.getValue()))
+                            .toList();
+                    boolean truncated = !page.isEmpty()
+                            && objects.higherKey(page.get(page.size() - 1).key()) != null;
+                    return new StoredObjectPage(page, truncated);
+                });
+    }
+
+    private void runOnce() throws InterruptedException {
+        long runs = collector.getRunCount();
+        assertThat(collector.trigger()).isTrue();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((collector.isRunning() || collector.getRunCount() == runs) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(collector.getRunCount()).isEqualTo(runs + 1);
+    }
+
+    private void dog(String photoKey, String mediumKey, String thumbnailKey) {
+        dogRepository.save(Dog.builder()
+                .user(testData.user("서울"))
+                .name("초코")
+                .breed("푸들")
+                .age(3)
+                .gender("M")
+                .photoUrl(photoKey)
+                .photoMediumUrl(mediumKey)
+                .photoThumbnailUrl(thumbnailKey)
+                .build());
+    }
+
+    private List<String> queuedKeys() {
+        return taskRepository.findAll().stream()
+                .map(S3DeletionTask::getObjectKey)
+                .filter(key -> key.startsWith(base))
+                .toList();
+    }
+}
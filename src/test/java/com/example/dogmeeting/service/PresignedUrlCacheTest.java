@@ -0,0 +1,66 @@
+package com.example.dogmeeting.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Presigned URL 재사용 기간 (서명 유효 시간 x reuse-fraction), 시계는 테스트에서 직접 움직인다.
+ */
+class PresignedUrlCacheTest {
+
+    private static final Duration TEN_MINUTES = Duration.ofMinutes(10);
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger signCount = new AtomicInteger();
+    private final PresignedUrlCache cache = new PresignedUrlCache(100, 0.5, now::get);
+
+    @Test
+    void 재사용_비율_안에서는_같은_URL을_돌려준다() {
+        String first = cache.get("dogs/a.jpg", TEN_MINUTES, this::sign);
+        now.addAndGet(Duration.ofMinutes(5).minusNanos(1).toNanos());
+
+        assertThat(cache.get("dogs/a.jpg", TEN_MINUTES, this::sign)).isEqualTo(first);
+        assertThat(signCount).hasValue(1);
+    }
+
+    @Test
+    void 재사용_비율이_지나면_다시_서명한다() {
+        String first = cache.get("dogs/a.jpg", TEN_MINUTES, this::sign);
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertThat(cache.get("dogs/a.jpg", TEN_MINUTES, this::sign)).isNotEqualTo(first);
+        assertThat(signCount).hasValue(2);
+    }
+
+    @Test
+    void 유효_시간이_다르면_다시_서명하고_새_유효_시간으로_재사용한다() {
+        String tenMinutes = cache.get("dogs/a.jpg", TEN_MINUTES, this::sign);
+        String oneHour = cache.get("dogs/a.jpg", Duration.ofHours(1), this::sign);
+        assertThat(oneHour).isNotEqualTo(tenMinutes);
+
+        // 1시간 URL은 30분까지 재사용된다
+        now.addAndGet(Duration.ofMinutes(20).toNanos());
+        assertThat(cache.get("dogs/a.jpg", Duration.ofHours(1), this::sign)).isEqualTo(oneHour);
+        assertThat(signCount).hasValue(2);
+    }
+
+    @Test
+    void 무효화하면_다시_서명하고_서명_실패는_저장하지_않는다() {
+        String first = cache.get("dogs/a.jpg", TEN_MINUTES, this::sign);
+        cache.invalidate("dogs/a.jpg");
+        assertThat(cache.get("dogs/a.jpg", TEN_MINUTES, this::sign)).isNotEqualTo(first);
+
+        assertThat(cache.get("dogs/b.jpg", TEN_MINUTES, key -> null)).isNull();
+        assertThat(cache.get("dogs/b.jpg", TEN_MINUTES, this::sign)).isNotNull();
+        assertThat(signCount).hasValue(3);
+    }
+
+    private String sign(String key) {
+        return "https://bucket.s3/" + key + "?sig=" + signCount.incrementAndGet();
+    }
+}
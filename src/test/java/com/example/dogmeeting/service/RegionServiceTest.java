@@ -0,0 +1,64 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.RegionData;
+import com.example.dogmeeting.exception.InvalidRegionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 지역 코드는 regions.json에 명시된 값이어야 한다. (이미 저장된 users.city_id/region_id와 같은 값)
+ */
+class RegionServiceTest {
+
+    private RegionService regionService;
+
+    @BeforeEach
+    void setUp() {
+        regionService = new RegionService(new ObjectMapper());
+        regionService.loadCatalogue();
+    }
+
+    @Test
+    void 데이터_파일의_코드로_지역을_찾는다() {
+        assertThat(regionService.resolve("서울특별시", "종로구")).isEqualTo(new RegionService.RegionCode(1, 1001));
+        assertThat(regionService.resolve("제주특별자치도", "제주시")).isEqualTo(new RegionService.RegionCode(17, 17001));
+        // 구/군이 없으면 시/도 단위 지역 코드
+        assertThat(regionService.resolve("세종특별자치시", null)).isEqualTo(new RegionService.RegionCode(8, 8000));
+        assertThat(regionService.resolve("부산광역시", " ")).isEqualTo(new RegionService.RegionCode(2, 2000));
+    }
+
+    @Test
+    void 시도는_구군과_따로_찾는다() {
+        assertThat(regionService.findCityId("서울특별시")).contains(1);
+        assertThat(regionService.find("서울특별시", "없는구")).isEmpty();
+        assertThat(regionService.findCityId("없는시")).isEmpty();
+        assertThatThrownBy(() -> regionService.resolve("서울특별시", "없는구"))
+                .isInstanceOf(InvalidRegionException.class);
+    }
+
+    @Test
+    void API_응답은_시도와_구군_이름만_담는다() {
+        String body = new String(regionService.getDistrictsJson("제주특별자치도").body());
+
+        assertThat(body).isEqualTo("[\"제주시\",\"서귀포시\"]");
+        assertThat(regionService.getCities()).hasSize(17).startsWith("서울특별시");
+    }
+
+    @Test
+    void 지역_데이터의_구군_목록은_바꿀_수_없다() {
+        List<String> districts = new ArrayList<>(List.of("중구"));
+        RegionData region = new RegionData("서울특별시", districts);
+        districts.add("없는구");
+
+        assertThat(region.districts()).containsExactly("중구");
+        assertThatThrownBy(() -> regionService.getAllRegions().get(0).districts().add("없는구"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.entity.S3DeletionTask;
+import com.example.dogmeeting.repository.S3DeletionTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * S3 삭제 outbox: 실패한 키의 백오프 기록, 롤백 시 취소, 배치 반복 처리
+ * S3 삭제는 가짜 FileUploadService로 대신하고, 공유 DB의 다른 삭제 항목과 섞이지 않도록 테스트마다 키 공간을 나눈다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class S3DeletionOutboxServiceTest {
+
+    private static final long INITIAL_BACKOFF_MS = 60_000;
+
+    @Autowired
+    private S3DeletionTaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String base = "outbox-" + System.nanoTime() + "/";
+    private final List<List<String>> deleteCalls = new CopyOnWriteArrayList<>();
+    private Function<List<String>, Map<String, String>> deleter = keys -> Map.of();
+    private S3DeletionOutboxService outbox;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        outbox.stop();
+    }
+
+    @Test
+    void 일부_키만_실패하면_실패한_키에_시도_횟수와_백오프를_기록한다() {
+        outbox = outbox(1000);
+        deleter = keys -> Map.of(base + "b.jpg", "AccessDenied: 거부");
+        outbox.enqueue(List.of(base + "a.jpg", base + "b.jpg", base + "c.jpg"));
+
+        LocalDateTime before = LocalDateTime.now();
+        outbox.processDue();
+
+        assertThat(ownKeys()).containsExactly(base + "b.jpg");
+        S3DeletionTask failed = ownTask(base + "b.jpg");
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isEqualTo("AccessDenied: 거부");
+        assertThat(failed.getNextAttemptAt()).isAfterOrEqualTo(before.plusNanos(INITIAL_BACKOFF_MS * 1_000_000));
+
+        // 시도 시각 전에는 다시 보내지 않고, 시도 시각이 지나 또 실패하면 백오프가 두 배가 된다
+        deleteCalls.clear();
+        outbox.processDue();
+        assertThat(ownDeleteCalls()).isEmpty();
+
+        makeDue(failed);
+        LocalDateTime retriedAt = LocalDateTime.now();
+        outbox.processDue();
+        S3DeletionTask retried = ownTask(base + "b.jpg");
+        assertThat(retried.getAttempts()).isEqualTo(2);
+        assertThat(retried.getNextAttemptAt()).isAfterOrEqualTo(retriedAt.plusNanos(2 * INITIAL_BACKOFF_MS * 1_000_000));
+    }
+
+    @Test
+    void 삭제_요청_자체가_실패하면_배치_전체를_실패로_기록한다() {
+        outbox = outbox(1000);
+        deleter = keys -> {
+            throw new IllegalStateException("S3 연결 실패");
+        };
+        outbox.enqueue(List.of(base + "a.jpg", base + "b.jpg"));
+
+        outbox.processDue();
+
+        assertThat(ownKeys()).containsExactlyInAnyOrder(base + "a.jpg", base + "b.jpg");
+        for (String key : List.of(base + "a.jpg", base + "b.jpg")) {
+            S3DeletionTask task = ownTask(key);
+            assertThat(task.getAttempts()).isEqualTo(1);
+            assertThat(task.getLastError()).isEqualTo("S3 연결 실패");
+            assertThat(task.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        }
+        assertThat(outbox.getFailedDeletions()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void 트랜잭션이_롤백되면_기록한_키도_취소된다() {
+        outbox = outbox(1000);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.enqueue(List.of(base + "a.jpg", base + "b.jpg"));
+            status.setRollbackOnly();
+        });
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            outbox.enqueue(List.of(base + "c.jpg"));
+            throw new IllegalStateException("업무 처리 실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(ownKeys()).isEmpty();
+    }
+
+    @Test
+    void 배치가_가득_차면_남은_항목이_없을_때까지_이어서_처리한다() {
+        outbox = outbox(2);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            keys.add(base + i + ".jpg");
+        }
+        outbox.enqueue(keys);
+
+        outbox.processDue();
+
+        assertThat(ownKeys()).isEmpty();
+        assertThat(deleteCalls).allSatisfy(call -> assertThat(call).hasSizeLessThanOrEqualTo(2));
+        assertThat(deleteCalls.stream().flatMap(List::stream).filter(key -> key.startsWith(base)))
+                .containsExactlyInAnyOrderElementsOf(keys);
+        assertThat(outbox.getBatchCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    private S3DeletionOutboxService outbox(int batchSize) {
+        FileUploadService fileUploadService = (FileUploadService) Proxy.newProxyInstance(
+                FileUploadService.class.getClassLoader(), new Class<?>[]{FileUploadService.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("deleteFiles")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    @SuppressWarnings("unchecked")
+                    List<String> keys = new ArrayList<>((Collection<String>) args[0]);
+                    deleteCalls.add(keys);
+                    return new HashMap<>(deleter.apply(keys));
+                });
+        return new S3DeletionOutboxService(taskRepository, fileUploadService, transactionTemplate,
+                batchSize, INITIAL_BACKOFF_MS, 3_600_000, 3_600_000);
+    }
+
+    private List<String> ownKeys() {
+        return taskRepository.findAll().stream()
+                .map(S3DeletionTask::getObjectKey)
+                .filter(key -> key.startsWith(base))
+                .toList();
+    }
+
+    private S3DeletionTask ownTask(String key) {
+        Optional<S3DeletionTask> task = taskRepository.findAll().stream()
+                .filter(t -> t.getObjectKey().equals(key))
+                .findFirst();
+        assertThat(task).isPresent();
+        return task.get();
+    }
+
+    private List<List<String>> ownDeleteCalls() {
+        return deleteCalls.stream()
+                .filter(call -> call.stream().anyMatch(key -> key.startsWith(base)))
+                .toList();
+    }
+
+    private void makeDue(S3DeletionTask task) {
+        jdbcTemplate.update("UPDATE s3_deletion_outbox SET next_attempt_at = ? WHERE task_id = ?",
+                LocalDateTime.now().minusSeconds(1), task.getId());
+    }
+}
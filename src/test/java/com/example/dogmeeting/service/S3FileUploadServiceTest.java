@@ -0,0 +1,181 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.DogImageKeys;
+import com.example.dogmeeting.dto.ImageUpload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * S3 비동기 업로드 실패 처리와 Presigned URL 캐시 무효화 (S3 클라이언트와 삭제 outbox는 가짜, 스프링 컨텍스트 없이)
+ */
+class S3FileUploadServiceTest {
+
+    private static final Duration TEN_MINUTES = Duration.ofMinutes(10);
+
+    private final ImageVariantProcessor variantProcessor = new ImageVariantProcessor(1, 8, 2048, 1024, 256, 0.85f);
+    private S3FileUploadService uploadService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        uploadService.shutdownUploads();
+        variantProcessor.shutdown();
+    }
+
+    @Test
+    void 요청_생성_중_바로_실패해도_허용량을_돌려주고_실패로_완료한다() throws IOException {
+        // putObject가 future를 돌려주기 전에 예외를 던지는 클라이언트 (설정 오류, 잘못된 요청 등)
+        S3AsyncClient failingClient = (S3AsyncClient) Proxy.newProxyInstance(S3AsyncClient.class.getClassLoader(),
+                new Class<?>[]{S3AsyncClient.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("putObject")) {
+                        throw SdkClientException.create("요청 생성 실패");
+                    }
+                    return null;
+                });
+        // 동시 전송 1개: 허용량이 새면 두 번째 업로드는 끝나지 않는다
+        uploadService = new S3FileUploadService(null, failingClient, null, null, variantProcessor,
+                null, new SimpleMeterRegistry(), 1, 8, 10000, 40_000_000L);
+        ReflectionTestUtils.setField(uploadService, "bucketName", "test-bucket");
+        ImageUpload image = pngUpload(64, 64);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> uploadService.uploadDogImageAsync(image, 1L, 1L).get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseInstanceOf(SdkClientException.class);
+        }
+        assertThat(uploadService.getUploadsInFlight()).isZero();
+    }
+
+    @Test
+    void 일부_변형만_올라가면_올라간_객체를_삭제_outbox에_넣는다() throws IOException, InterruptedException {
+        // thumbnail 전송만 실패하는 클라이언트
+        S3AsyncClient partialClient = (S3AsyncClient) Proxy.newProxyInstance(S3AsyncClient.class.getClassLoader(),
+                new Class<?>[]{S3AsyncClient.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("putObject")) {
+                        return null;
+                    }
+                    String key = ((PutObjectRequest) args[0]).key();
+                    return key.contains(ImageVariantProcessor.Size.THUMBNAIL.keySuffix() + ".")
+                            ? CompletableFuture.failedFuture(SdkClientException.create("전송 실패"))
+                            : CompletableFuture.completedFuture(PutObjectResponse.builder().build());
+                });
+        List<String> enqueued = new CopyOnWriteArrayList<>();
+        S3DeletionOutboxService outbox = new S3DeletionOutboxService(null, null, null, 1000, 1000, 3_600_000, 3_600_000) {
+            @Override
+            public void enqueue(Collection<String> objectKeys) {
+                enqueued.addAll(objectKeys);
+            }
+        };
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("s3DeletionOutboxService", outbox);
+        // 동기 S3 클라이언트는 없으므로 완료 스레드에서 바로 삭제하면 실패한다
+        uploadService = new S3FileUploadService(null, partialClient, null, new PresignedUrlCache(100, 0.5),
+                variantProcessor, beanFactory.getBeanProvider(S3DeletionOutboxService.class),
+                new SimpleMeterRegistry(), 4, 8, 10000, 40_000_000L);
+        ReflectionTestUtils.setField(uploadService, "bucketName", "test-bucket");
+
+        assertThatThrownBy(() -> uploadService.uploadDogImageAsync(pngUpload(64, 64), 1L, 1L).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(SdkClientException.class);
+
+        assertThat(enqueued).hasSize(2)
+                .allMatch(key -> key.startsWith("dogs/user_1/dog_1/"))
+                .noneMatch(key -> key.contains(ImageVariantProcessor.Size.THUMBNAIL.keySuffix()));
+        outbox.stop();
+    }
+
+    @Test
+    void 업로드가_끝나면_같은_키의_캐시된_URL을_버린다() throws Exception {
+        PresignedUrlCache cache = new PresignedUrlCache(100, 0.5);
+        // 전송 도중 같은 키로 서명된 URL이 캐시에 남아 있던 경우
+        S3AsyncClient client = (S3AsyncClient) Proxy.newProxyInstance(S3AsyncClient.class.getClassLoader(),
+                new Class<?>[]{S3AsyncClient.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("putObject")) {
+                        return null;
+                    }
+                    cache.get(((PutObjectRequest) args[0]).key(), TEN_MINUTES, key -> "stale");
+                    return CompletableFuture.completedFuture(PutObjectResponse.builder().build());
+                });
+        uploadService = service(null, client, cache);
+
+        DogImageKeys keys = uploadService.uploadDogImageAsync(pngUpload(64, 64), 1L, 1L).get(5, TimeUnit.SECONDS);
+
+        assertThat(keys.allKeys()).hasSize(3);
+        for (String key : keys.allKeys()) {
+            assertThat(cache.get(key, TEN_MINUTES, k -> "fresh")).isEqualTo("fresh");
+        }
+    }
+
+    @Test
+    void 삭제에_성공한_키만_캐시된_URL을_버린다() {
+        PresignedUrlCache cache = new PresignedUrlCache(100, 0.5);
+        S3Client client = (S3Client) Proxy.newProxyInstance(S3Client.class.getClassLoader(),
+                new Class<?>[]{S3Client.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "deleteObject" -> DeleteObjectResponse.builder().build();
+                    case "deleteObjects" -> DeleteObjectsResponse.builder()
+                            .errors(S3Error.builder().key("dogs/failed.jpg").code("AccessDenied").message("거부").build())
+                            .build();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        uploadService = service(client, null, cache);
+        for (String key : List.of("dogs/single.jpg", "dogs/batch.jpg", "dogs/failed.jpg")) {
+            cache.get(key, TEN_MINUTES, k -> "stale");
+        }
+
+        uploadService.deleteFile("dogs/single.jpg");
+        Map<String, String> failures = uploadService.deleteFiles(List.of("dogs/batch.jpg", "dogs/failed.jpg"));
+
+        assertThat(failures).containsOnlyKeys("dogs/failed.jpg");
+        assertThat(cache.get("dogs/single.jpg", TEN_MINUTES, k -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get("dogs/batch.jpg", TEN_MINUTES, k -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get("dogs/failed.jpg", TEN_MINUTES, k -> "fresh")).isEqualTo("stale");
+    }
+
+    private S3FileUploadService service(S3Client client, S3AsyncClient asyncClient, PresignedUrlCache cache) {
+        S3FileUploadService service = new S3FileUploadService(client, asyncClient, null, cache, variantProcessor,
+                new DefaultListableBeanFactory().getBeanProvider(S3DeletionOutboxService.class),
+                new SimpleMeterRegistry(), 4, 8, 10000, 40_000_000L);
+        ReflectionTestUtils.setField(service, "bucketName", "test-bucket");
+        return service;
+    }
+
+    private static ImageUpload pngUpload(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return ImageUpload.builder()
+                .originalFilename("dog.png")
+                .contentType("image/png")
+                .extension("png")
+                .width(width)
+                .height(height)
+                .content(out.toByteArray())
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.MatchResponse;
+import com.example.dogmeeting.entity.Match;
+import com.example.dogmeeting.entity.Swipe;
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.repository.ChatRoomRepository;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.SwipeRepository;
+import com.example.dogmeeting.repository.UserLikeCountRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import com.example.dogmeeting.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 사용자가 서로를 동시에 스와이프해도 매칭은 정확히 한 번 생성되어야 하고,
+ * 같은 쌍의 좋아요 토글/첫 좋아요/스와이프가 겹쳐도 행과 좋아요 수가 어긋나지 않아야 한다.
+ * 스와이프 캐시는 서버마다 따로 있으므로 두 방향을 캐시를 공유하지 않는 서비스 인스턴스 두 개로 보내
+ * 캐시의 커밋 후 반영 없이 DB 잠금과 잠금 읽기만으로 매칭이 판정되는지 확인한다.
+ * (H2의 REPEATABLE READ는 외래 키가 걸린 테이블에서 잠금 읽기도 트랜잭션 첫 문장 시점의 스냅샷을 읽어
+ * InnoDB와 동작이 달라서, 격리 수준은 H2 기본값으로 둔다)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SwipeConcurrencyTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private SwipeRepository swipeRepository;
+
+    @Autowired
+    private UserLikeCountRepository userLikeCountRepository;
+
+    @Autowired
+    private LikeRankingService likeRankingService;
+
+    @Autowired
+    private UserRankingService userRankingService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ActivityMetrics activityMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void 서버_두_대에서_서로_동시에_스와이프해도_매칭이_한_번_생성된다() throws Exception {
+        SwipeServiceImpl server1 = server();
+        SwipeServiceImpl server2 = server();
+        TestData testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+        int pairs = 30;
+        List<User[]> users = new ArrayList<>();
+        for (int i = 0; i < pairs; i++) {
+            users.add(new User[]{testData.user("서울"), testData.user("서울")});
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<MatchResponse>[]> futures = new ArrayList<>();
+        try {
+            for (User[] pair : users) {
+                Long a = pair[0].getId();
+                Long b = pair[1].getId();
+                @SuppressWarnings("unchecked")
+                Future<MatchResponse>[] swipes = new Future[]{
+                        executor.submit(() -> {
+                            start.await();
+                            return inTransaction(() -> server1.swipeUser(a, b));
+                        }),
+                        executor.submit(() -> {
+                            start.await();
+                            return inTransaction(() -> server2.swipeUser(b, a));
+                        })};
+                futures.add(swipes);
+            }
+            start.countDown();
+
+            for (int i = 0; i < pairs; i++) {
+                // 두 스와이프 모두 성공하고 그중 나중에 잠금을 얻은 쪽만 매칭을 만든다
+                MatchResponse first = futures.get(i)[0].get();
+                MatchResponse second = futures.get(i)[1].get();
+                assertThat(first == null ^ second == null).isTrue();
+
+                User[] pair = users.get(i);
+                assertThat(matchRepository.existsByPairKey(
+                        Match.pairKeyOf(pair[0].getId(), pair[1].getId()))).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void 같은_상대에게_동시에_좋아요를_토글해도_갱신이_사라지지_않는다() throws Exception {
+        SwipeServiceImpl server1 = server();
+        SwipeServiceImpl server2 = server();
+        TestData testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+        Long from = testData.user("서울").getId();
+        Long to = testData.user("서울").getId();
+        int toggles = 9; // 첫 좋아요(행 생성) 경합 포함, 홀수 번이므로 최종 상태는 좋아요
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(toggles);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < toggles; i++) {
+                SwipeServiceImpl server = i % 2 == 0 ? server1 : server2;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return inTransaction(() -> server.toggleLike(from, to));
+                }));
+            }
+            start.countDown();
+
+            int liked = 0;
+            for (Future<Boolean> future : futures) {
+                liked += future.get() ? 1 : 0; // 예외 없이 모두 성공
+            }
+            assertThat(liked).isEqualTo(toggles / 2 + 1);
+        } finally {
+            executor.shutdown();
+        }
+
+        Swipe swipe = swipeRepository.findByFromUserIdAndToUserId(from, to).orElseThrow();
+        assertThat(swipe.getLike()).isTrue();
+        assertThat(likeRankingService.getLikeCount(to)).isEqualTo(1);
+        assertThat(userLikeCountRepository.findById(to).orElseThrow().getLikeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 첫_좋아요와_스와이프가_동시에_들어와도_한_행으로_합쳐진다() throws Exception {
+        SwipeServiceImpl server1 = server();
+        SwipeServiceImpl server2 = server();
+        TestData testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+        int pairs = 20;
+        List<User[]> users = new ArrayList<>();
+        for (int i = 0; i < pairs; i++) {
+            users.add(new User[]{testData.user("서울"), testData.user("서울")});
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (User[] pair : users) {
+                Long a = pair[0].getId();
+                Long b = pair[1].getId();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return inTransaction(() -> server1.toggleLike(a, b));
+                }));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return inTransaction(() -> server2.swipeUser(a, b));
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (User[] pair : users) {
+            Swipe swipe = swipeRepository.findByFromUserIdAndToUserId(pair[0].getId(), pair[1].getId()).orElseThrow();
+            assertThat(swipe.getLike()).isTrue();
+            assertThat(swipe.getSwipedAt()).isNotNull();
+        }
+    }
+
+    // 서버 한 대에 해당하는 스와이프 서비스: 자기 스와이프 캐시를 갖는다
+    private SwipeServiceImpl server() {
+        return new SwipeServiceImpl(swipeRepository, userRepository, matchRepository,
+                chatRoomRepository, likeRankingService,
+                new SwipeEdgeCache(swipeRepository, 1000, Duration.ofMinutes(30)),
+                userRankingService, eventPublisher, activityMetrics);
+    }
+
+    // 빈과 같이 호출마다 트랜잭션을 연다
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
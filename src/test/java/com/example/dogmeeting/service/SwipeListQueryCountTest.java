@@ -0,0 +1,119 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.SwipeResponse;
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.repository.ChatRoomRepository;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import com.example.dogmeeting.support.SqlStatementCounter;
+import com.example.dogmeeting.support.TestData;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 보낸/받은 스와이프 목록은 스와이프 수와 매칭 수에 관계없이 일정한 쿼리 수로 조회되어야 한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SwipeListQueryCountTest {
+
+    @Autowired
+    private SwipeService swipeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestData testData;
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, matchRepository, chatRoomRepository);
+        counter = new SqlStatementCounter(entityManagerFactory);
+    }
+
+    @Test
+    void 보낸_스와이프_목록은_스와이프_수와_관계없이_쿼리_수가_같다() {
+        User few = userWithSwipes(3, 1);
+        User many = userWithSwipes(40, 10);
+
+        SqlStatementCounter.Counted<List<SwipeResponse>> fewSwipes =
+                counter.count(() -> swipeService.getSentSwipes(few.getId()));
+        SqlStatementCounter.Counted<List<SwipeResponse>> manySwipes =
+                counter.count(() -> swipeService.getSentSwipes(many.getId()));
+
+        // 사용자 확인 1회 + 매칭 제외 목록 1회
+        assertThat(fewSwipes.statements()).isEqualTo(2);
+        assertThat(manySwipes.statements()).isEqualTo(fewSwipes.statements());
+        assertThat(fewSwipes.result()).hasSize(2);
+        assertThat(manySwipes.result()).hasSize(30)
+                .allSatisfy(swipe -> {
+                    assertThat(swipe.getFromUserId()).isEqualTo(many.getId());
+                    assertThat(swipe.getToUserNickname()).isNotNull();
+                });
+        assertThat(manySwipes.result()).extracting(SwipeResponse::getId)
+                .isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void 받은_스와이프_목록은_스와이프_수와_관계없이_쿼리_수가_같다() {
+        User few = userWithReceivedSwipes(3);
+        User many = userWithReceivedSwipes(40);
+
+        SqlStatementCounter.Counted<List<SwipeResponse>> fewSwipes =
+                counter.count(() -> swipeService.getReceivedSwipes(few.getId()));
+        SqlStatementCounter.Counted<List<SwipeResponse>> manySwipes =
+                counter.count(() -> swipeService.getReceivedSwipes(many.getId()));
+
+        assertThat(fewSwipes.statements()).isEqualTo(2);
+        assertThat(manySwipes.statements()).isEqualTo(fewSwipes.statements());
+        assertThat(fewSwipes.result()).hasSize(3);
+        assertThat(manySwipes.result()).hasSize(40)
+                .allSatisfy(swipe -> {
+                    assertThat(swipe.getToUserId()).isEqualTo(many.getId());
+                    assertThat(swipe.getFromUserNickname()).isNotNull();
+                });
+    }
+
+    // swipes명에게 스와이프하고, 그중 matched명과는 상대도 스와이프해 매칭된 사용자 (매칭된 스와이프는 목록에서 제외된다)
+    private User userWithSwipes(int swipes, int matched) {
+        User owner = testData.user("서울");
+        for (int i = 0; i < swipes; i++) {
+            User target = testData.user("서울");
+            swipeService.swipeUser(owner.getId(), target.getId());
+            if (i < matched) {
+                swipeService.swipeUser(target.getId(), owner.getId());
+            }
+        }
+        return owner;
+    }
+
+    // swipes명에게서 스와이프를 받은 사용자 (매칭된 스와이프 한 건 포함, 목록에서는 제외된다)
+    private User userWithReceivedSwipes(int swipes) {
+        User owner = testData.user("서울");
+        for (int i = 0; i < swipes; i++) {
+            swipeService.swipeUser(testData.user("서울").getId(), owner.getId());
+        }
+        User matched = testData.user("서울");
+        swipeService.swipeUser(matched.getId(), owner.getId());
+        swipeService.swipeUser(owner.getId(), matched.getId());
+        return owner;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.dto.UserRankingResponse;
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.exception.UserNotFoundException;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.SwipeRepository;
+import com.example.dogmeeting.repository.UserLikeCountRepository;
+import com.example.dogmeeting.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 사용자 랭킹 점수 (상위 32비트: 좋아요 수, 하위 32비트: 매칭 수)
+ * 트랜잭션 밖에서 호출하므로 커밋 이후 반영되는 갱신도 바로 적용된다. 리포지토리는 메모리 가짜로 대신한다.
+ */
+class UserRankingServiceTest {
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Object[]> matchesAsUser1 = new ArrayList<>();
+    private Runnable duringMatchCount = () -> { };
+
+    private LikeRankingService likeRankingService;
+    private UserRankingService userRankingService;
+
+    @BeforeEach
+    void setUp() {
+        UserLikeCountRepository counts = fake(UserLikeCountRepository.class, Map.of(
+                "upsertLikes", args -> 1,
+                "addLikes", args -> 1));
+        likeRankingService = new LikeRankingService(counts, fake(SwipeRepository.class, Map.of()), event -> { });
+        UserRepository userRepository = fake(UserRepository.class, Map.of("findAllIds", args -> userIds));
+        MatchRepository matchRepository = fake(MatchRepository.class, Map.of(
+                "countGroupedByUser1", args -> {
+                    duringMatchCount.run();
+                    return matchesAsUser1;
+                },
+                "countGroupedByUser2", args -> List.of()));
+        userRankingService = new UserRankingService(userRepository, matchRepository, likeRankingService);
+    }
+
+    @Test
+    void 좋아요_수는_상위_32비트에_매칭_수는_하위_32비트에_담긴다() {
+        userRankingService.registerUser(1L);
+        like(1L, 3);
+        userRankingService.recordMatch(1L, 2L);
+        userRankingService.recordMatch(1L, 3L);
+
+        long score = userRankingService.getScore(1L);
+        assertThat(score).isEqualTo((3L << 32) | 2L);
+        assertThat(UserRankingService.likeCountOf(score)).isEqualTo(3);
+        assertThat(UserRankingService.matchCountOf(score)).isEqualTo(2);
+        // 좋아요 하나가 매칭 수보다 앞선다
+        assertThat(userRankingService.getRank(1L)).isEqualTo(1);
+        assertThat(userRankingService.getRank(2L)).isEqualTo(2);
+    }
+
+    @Test
+    void 점수가_같으면_ID_오름차순으로_정렬한다() {
+        for (long id : new long[]{5L, 3L, 4L}) {
+            userRankingService.registerUser(id);
+            like(id, 1);
+        }
+
+        assertThat(userRankingService.getRange(0, 10)).extracting(RankingIndex.Entry::getId).containsExactly(3L, 4L, 5L);
+        assertThat(userRankingService.getRank(4L)).isEqualTo(2);
+        assertThat(userRankingService.getRank(99L)).isZero();
+    }
+
+    @Test
+    void 좋아요를_모두_취소하면_0점으로_순위에_남는다() {
+        userRankingService.registerUser(1L);
+        userRankingService.registerUser(2L);
+        like(1L, 2);
+        like(1L, -1);
+        like(1L, -1);
+
+        assertThat(likeRankingService.getLikeCount(1L)).isZero();
+        assertThat(userRankingService.getScore(1L)).isZero();
+        assertThat(userRankingService.getRank(1L)).isEqualTo(1);
+        assertThat(userRankingService.size()).isEqualTo(2);
+    }
+
+    @Test
+    void 매칭_수가_32비트를_넘어도_좋아요_수_자리를_침범하지_않는다() {
+        userIds.add(1L);
+        matchesAsUser1.add(new Object[]{1L, 5_000_000_000L});
+
+        userRankingService.rebuild();
+
+        long score = userRankingService.getScore(1L);
+        assertThat(UserRankingService.likeCountOf(score)).isZero();
+        assertThat(UserRankingService.matchCountOf(score)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void 재구성_중_생긴_매칭과_좋아요도_새_인덱스에_남는다() {
+        userIds.addAll(List.of(1L, 2L));
+        matchesAsUser1.add(new Object[]{1L, 1L});
+        duringMatchCount = () -> {
+            userRankingService.recordMatch(2L, 1L);
+            like(2L, 1);
+        };
+
+        userRankingService.rebuild();
+
+        assertThat(userRankingService.getScore(1L)).isEqualTo(2L);
+        assertThat(userRankingService.getScore(2L)).isEqualTo((1L << 32) | 1L);
+    }
+
+    @Test
+    void 사용자_순위_조회는_순위와_분리한_점수를_돌려준다() {
+        User user = User.builder().id(1L).nickname("초코주인").city("서울특별시").dogs(new ArrayList<>()).build();
+        UserRepository users = fake(UserRepository.class, Map.of(
+                "findById", args -> args[0].equals(1L) ? Optional.of(user) : Optional.empty()));
+        UserServiceImpl userService = new UserServiceImpl(users, null, null, null, null, null, null, null,
+                userRankingService, null);
+        userRankingService.registerUser(1L);
+        userRankingService.registerUser(2L);
+        like(2L, 1);
+        userRankingService.recordMatch(1L, 2L);
+
+        UserRankingResponse response = userService.getUserRank(1L);
+
+        assertThat(response.getRank()).isEqualTo(2);
+        assertThat(response.getRankingScore()).isZero();
+        assertThat(response.getMatchCount()).isEqualTo(1);
+        // 랭킹 인덱스에 없는 사용자
+        assertThatThrownBy(() -> userService.getUserRank(3L)).isInstanceOf(UserNotFoundException.class);
+    }
+
+    // 좋아요 토글은 좋아요 랭킹에 먼저 기록한 뒤 사용자 랭킹이 그 값을 다시 읽는다 (SwipeServiceImpl과 같은 순서)
+    private void like(long userId, int delta) {
+        User target = User.builder().id(userId).city("서울특별시").build();
+        for (int i = 0; i < Math.abs(delta); i++) {
+            likeRankingService.recordLikeChange(target, Integer.signum(delta));
+            userRankingService.refreshLikeCount(userId);
+        }
+    }
+
+    // 이름으로 등록한 메서드만 응답하는 메모리 리포지토리
+    @SuppressWarnings("unchecked")
+    private static <T> T fake(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = methods.get(method.getName());
+            if (handler == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return handler.apply(args);
+        });
+    }
+}
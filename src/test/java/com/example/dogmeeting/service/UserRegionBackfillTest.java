@@ -0,0 +1,80 @@
+package com.example.dogmeeting.service;
+
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.exception.InvalidRegionException;
+import com.example.dogmeeting.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 지역 ID 도입 이전 사용자 보정: 시/도는 구/군과 따로 찾고,
+ * 구/군이 카탈로그에 없는 기존 사용자도 지역을 바꾸지 않는 프로필 수정은 할 수 있어야 한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRegionBackfillTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void 구군이_카탈로그에_없어도_시도_ID는_지정한다() {
+        User known = legacyUser("서울특별시", "종로구");
+        User unknownDistrict = legacyUser("서울특별시", "없는구");
+        User cityOnly = legacyUser("세종특별자치시", null);
+        User unknownCity = legacyUser("없는시", "중구");
+
+        userService.backfillRegionIds();
+
+        assertRegion(known, 1, 1001);
+        assertRegion(unknownDistrict, 1, null);
+        assertRegion(cityOnly, 8, 8000);
+        assertRegion(unknownCity, null, null);
+    }
+
+    @Test
+    void 지역을_바꾸지_않는_프로필_수정은_저장된_지역을_검증하지_않는다() {
+        User user = legacyUser("서울특별시", "없는구");
+        userService.backfillRegionIds();
+
+        userService.updateUserProfile(user.getId(), user.getNickname() + "-수정", "M", "서울특별시", "없는구");
+        assertRegion(user, 1, null);
+
+        assertThatThrownBy(() -> userService.updateUserProfile(user.getId(), user.getNickname(), "M", "서울특별시", "또없는구"))
+                .isInstanceOf(InvalidRegionException.class);
+
+        userService.updateUserProfile(user.getId(), user.getNickname(), "M", "서울특별시", "강남구");
+        assertRegion(user, 1, 1023);
+    }
+
+    // 지역 ID 없이 저장된 (보정 전) 사용자
+    private User legacyUser(String city, String district) {
+        long sequence = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .userId("region-user-" + sequence)
+                .password("password")
+                .nickname("지역사용자" + sequence)
+                .gender("M")
+                .city(city)
+                .district(district)
+                .build());
+    }
+
+    private void assertRegion(User user, Integer cityId, Integer regionId) {
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(stored.getCityId()).isEqualTo(cityId);
+        assertThat(stored.getRegionId()).isEqualTo(regionId);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.dogmeeting.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+/**
+ * Hibernate 통계로 작업 하나가 준비한 SQL 문 수를 센다.
+ * 통계는 애플리케이션 전체 값이므로 다른 스레드가 쿼리하지 않는 상태에서만 쓴다 (test 프로필은 주기 작업을 멈춰 둔다).
+ */
+public final class SqlStatementCounter {
+
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("hibernate.generate_statistics가 꺼져 있습니다");
+        }
+    }
+
+    public <T> Counted<T> count(Supplier<T> action) {
+        statistics.clear();
+        T result = action.get();
+        return new Counted<>(result, statistics.getPrepareStatementCount());
+    }
+
+    public record Counted<T>(T result, long statements) {
+    }
+}
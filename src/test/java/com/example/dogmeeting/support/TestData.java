@@ -0,0 +1,57 @@
+package com.example.dogmeeting.support;
+
+import com.example.dogmeeting.entity.ChatRoom;
+import com.example.dogmeeting.entity.Match;
+import com.example.dogmeeting.entity.User;
+import com.example.dogmeeting.repository.ChatRoomRepository;
+import com.example.dogmeeting.repository.MatchRepository;
+import com.example.dogmeeting.repository.UserRepository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 통합 테스트용 데이터 생성 (테스트 클래스끼리 같은 H2 DB를 공유하므로 로그인 ID는 항상 새로 만든다)
+ */
+public final class TestData {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final UserRepository userRepository;
+    private final MatchRepository matchRepository;
+    private final ChatRoomRepository chatRoomRepository;
+
+    public TestData(UserRepository userRepository, MatchRepository matchRepository,
+                    ChatRoomRepository chatRoomRepository) {
+        this.userRepository = userRepository;
+        this.matchRepository = matchRepository;
+        this.chatRoomRepository = chatRoomRepository;
+    }
+
+    public User user(String city) {
+        long sequence = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .userId("test-user-" + sequence)
+                .password("password")
+                .nickname("사용자" + sequence)
+                .gender(sequence % 2 == 0 ? "M" : "F")
+                .city(city)
+                .district("중구")
+                .build());
+    }
+
+    public Match match(User user1, User user2) {
+        Match match = Match.builder()
+                .user1(user1)
+                .user2(user2)
+                .status("MATCHED")
+                .build();
+        match.assignPairKey();
+        return matchRepository.save(match);
+    }
+
+    public ChatRoom chatRoom(User user1, User user2) {
+        return chatRoomRepository.save(ChatRoom.builder()
+                .match(match(user1, user2))
+                .build());
+    }
+}